@@ -0,0 +1,53 @@
+package com.teamwizardry.wizardry.api.spell.module;
+
+import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.spell.SpellRing;
+import com.teamwizardry.wizardry.api.spell.annotation.ModuleOverrideInterface;
+import com.teamwizardry.wizardry.benchmark.Benchmarks;
+import com.teamwizardry.wizardry.common.module.defaults.DefaultModuleOverrides;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calling a default override through the consumer interface of a chain,
+ * with the generated dispatcher and with the reflection proxy.
+ * Lives in this package to register the defaults without scanning annotations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OverrideDispatchBenchmark {
+
+	@Param({"true", "false"})
+	public boolean generated;
+
+	private IChargeupOverrides overrides;
+	private int time = 20;
+
+	@Setup
+	public void setup() throws ModuleInitException {
+		Benchmarks.init();
+
+		if (!ModuleRegistry.INSTANCE.IDtoOverrideDefaultMethod.containsKey("generic_chargeup_time"))
+			ModuleRegistry.INSTANCE.registerOverrideDefaults(DefaultModuleOverrides.class, new DefaultModuleOverrides());
+
+		ConfigValues.generatedOverrideDispatch = generated;
+		SpellRing ring = SpellRing.deserializeRing(new NBTTagCompound());
+		overrides = ring.getOverrideHandler().getConsumerInterface(IChargeupOverrides.class);
+	}
+
+	@Benchmark
+	public int dispatch() {
+		return overrides.modifyChargeupTime(time);
+	}
+
+	public interface IChargeupOverrides {
+		@ModuleOverrideInterface("generic_chargeup_time")
+		int modifyChargeupTime(int originalTime);
+	}
+}
@@ -0,0 +1,128 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.storage.SaveHandlerMP;
+import net.minecraft.world.storage.WorldInfo;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Server side world without a server, holding empty chunks in memory. <br/>
+ * Chunks are created on first access, blocks and entities are put into them directly,
+ * without light updates, neighbour notifications or events.
+ */
+public class BenchmarkWorld extends World {
+
+	public BenchmarkWorld() {
+		super(new SaveHandlerMP(), new WorldInfo(new WorldSettings(0, GameType.SURVIVAL, false, false, WorldType.FLAT), "benchmark"), new WorldProviderSurface(), new Profiler(), false);
+		provider.setWorld(this);
+		chunkProvider = createChunkProvider();
+	}
+
+	@Nonnull
+	@Override
+	protected IChunkProvider createChunkProvider() {
+		return new ChunkProvider();
+	}
+
+	@Override
+	protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+		return getChunkProvider().getLoadedChunk(x, z) != null;
+	}
+
+	/**
+	 * Loads the chunks from one position to the other, so lookups of loaded chunks find them.
+	 */
+	public void loadChunks(BlockPos from, BlockPos to) {
+		for (int x = Math.min(from.getX(), to.getX()) >> 4; x <= Math.max(from.getX(), to.getX()) >> 4; x++)
+			for (int z = Math.min(from.getZ(), to.getZ()) >> 4; z <= Math.max(from.getZ(), to.getZ()) >> 4; z++)
+				getChunkProvider().provideChunk(x, z);
+	}
+
+	public void setBlock(BlockPos pos, IBlockState state) {
+		ExtendedBlockStorage[] storage = getChunk(pos).getBlockStorageArray();
+		int section = pos.getY() >> 4;
+		if (storage[section] == Chunk.NULL_BLOCK_STORAGE)
+			storage[section] = new ExtendedBlockStorage(section << 4, provider.hasSkyLight());
+		storage[section].set(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+	}
+
+	/**
+	 * Adds the entity to the chunk it is in, without spawning it.
+	 */
+	public void addEntity(Entity entity) {
+		getChunk(entity.getPosition()).addEntity(entity);
+		loadedEntityList.add(entity);
+	}
+
+	private final class ChunkProvider implements IChunkProvider {
+		private final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+
+		@Nullable
+		@Override
+		public Chunk getLoadedChunk(int x, int z) {
+			return chunks.get(ChunkPos.asLong(x, z));
+		}
+
+		@Nonnull
+		@Override
+		public Chunk provideChunk(int x, int z) {
+			return chunks.computeIfAbsent(ChunkPos.asLong(x, z), key -> new Chunk(BenchmarkWorld.this, x, z));
+		}
+
+		@Override
+		public boolean tick() {
+			return false;
+		}
+
+		@Nonnull
+		@Override
+		public String makeString() {
+			return "BenchmarkChunkCache: " + chunks.size();
+		}
+
+		@Override
+		public boolean isChunkGeneratedAt(int x, int z) {
+			return chunks.containsKey(ChunkPos.asLong(x, z));
+		}
+	}
+
+	/**
+	 * Entity without behaviour, standing in for mobs and items.
+	 */
+	public static class BenchmarkEntity extends Entity {
+
+		public BenchmarkEntity(World world, double x, double y, double z) {
+			super(world);
+			setPosition(x, y, z);
+		}
+
+		@Override
+		protected void entityInit() {
+		}
+
+		@Override
+		protected void readEntityFromNBT(@Nonnull NBTTagCompound compound) {
+		}
+
+		@Override
+		protected void writeEntityToNBT(@Nonnull NBTTagCompound compound) {
+		}
+	}
+}
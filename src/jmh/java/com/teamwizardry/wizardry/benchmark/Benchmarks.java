@@ -0,0 +1,50 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import com.teamwizardry.wizardry.api.spell.DataInitException;
+import com.teamwizardry.wizardry.api.spell.ProcessData;
+import com.teamwizardry.wizardry.api.spell.SpellDataTypes;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.nbt.*;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.UUID;
+
+/**
+ * Setup shared by the benchmarks. Forge doesn't load the mod in a benchmark JVM,
+ * so whatever the benchmarks need from loading is done here by hand:
+ * the vanilla registries are bootstrapped and the plain spell data types registered.
+ * Modules are not loaded, spell rings refer to module ids which don't resolve.
+ * <br/>
+ * <b>NOTE</b>: Core mods don't run either, so nothing may depend on transformed classes.
+ */
+public final class Benchmarks {
+
+	private static boolean initialized = false;
+
+	private Benchmarks() {
+	}
+
+	public static synchronized void init() {
+		if (initialized) return;
+		initialized = true;
+
+		Bootstrap.register();
+
+		try {
+			ProcessData.INSTANCE.registerDataType(Integer.class, NBTTagInt.class, new SpellDataTypes.IntegerType());
+			ProcessData.INSTANCE.registerDataType(Float.class, NBTTagFloat.class, new SpellDataTypes.FloatType());
+			ProcessData.INSTANCE.registerDataType(Long.class, NBTTagLong.class, new SpellDataTypes.LongType());
+			ProcessData.INSTANCE.registerDataType(Vec3d.class, NBTTagCompound.class, new SpellDataTypes.Vec3dType());
+			ProcessData.INSTANCE.registerDataType(BlockPos.class, NBTTagLong.class, new SpellDataTypes.BlockPosType());
+			ProcessData.INSTANCE.registerDataType(EnumFacing.class, NBTTagString.class, new SpellDataTypes.EnumFacingType());
+			ProcessData.INSTANCE.registerDataType(UUID.class, NBTTagString.class, new SpellDataTypes.UUIDType());
+			ProcessData.INSTANCE.registerDataType(String.class, NBTTagString.class, new SpellDataTypes.CustomTagType());
+			ProcessData.INSTANCE.registerDataType(NBTTagCompound.class, NBTTagCompound.class, new SpellDataTypes.NBTTagCompoundType());
+			ProcessData.INSTANCE.registerDataType(NBTTagList.class, NBTTagList.class, new SpellDataTypes.NBTTagListType());
+		} catch (DataInitException e) {
+			throw new IllegalStateException("Couldn't register the spell data types.", e);
+		}
+	}
+}
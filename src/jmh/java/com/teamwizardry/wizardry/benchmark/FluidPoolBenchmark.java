@@ -0,0 +1,75 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import com.teamwizardry.wizardry.crafting.mana.FluidPoolCache;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.event.world.BlockEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the source blocks of a pool, as fluid recipes do every time they check their pool.
+ * Water stands in for the mod's fluids, which aren't registered in a benchmark.
+ * <br/>
+ * {@link #cached()} finds the pool in the cache, {@link #search()} searches it again after a block next to it changed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FluidPoolBenchmark {
+
+	private static final BlockPos CORNER = new BlockPos(0, 64, 0);
+
+	/**
+	 * Source blocks in the pool, a square one block deep.
+	 */
+	@Param({"9", "64", "256"})
+	public int poolSize;
+
+	private BenchmarkWorld world;
+	private BlockPos center;
+	private BlockEvent.NeighborNotifyEvent change;
+
+	@Setup
+	public void setup() {
+		Benchmarks.init();
+
+		world = new BenchmarkWorld();
+		int width = (int) Math.ceil(Math.sqrt(poolSize));
+		IBlockState water = Blocks.WATER.getDefaultState();
+		IBlockState stone = Blocks.STONE.getDefaultState();
+
+		int placed = 0;
+		for (int x = -1; x <= width; x++) {
+			for (int z = -1; z <= width; z++) {
+				world.setBlock(CORNER.add(x, -1, z), stone);
+				boolean inside = x >= 0 && z >= 0 && x < width && z < width && placed < poolSize;
+				world.setBlock(CORNER.add(x, 0, z), inside ? water : stone);
+				if (inside) placed++;
+			}
+		}
+
+		center = CORNER.add(width / 2, 0, width / 2);
+		BlockPos edge = CORNER.add(-1, 0, 0);
+		change = new BlockEvent.NeighborNotifyEvent(world, edge, stone, EnumSet.allOf(EnumFacing.class), false);
+	}
+
+	@Benchmark
+	public List<BlockPos> cached() {
+		return FluidPoolCache.getPool(world, center, Blocks.WATER).getSources(poolSize);
+	}
+
+	@Benchmark
+	public List<BlockPos> search() {
+		FluidPoolCache.onNeighborNotify(change);
+		return FluidPoolCache.getPool(world, center, Blocks.WATER).getSources(poolSize);
+	}
+}
@@ -0,0 +1,78 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import com.teamwizardry.wizardry.benchmark.BenchmarkWorld.BenchmarkEntity;
+import com.teamwizardry.wizardry.common.core.nemez.NemezManager;
+import com.teamwizardry.wizardry.common.core.nemez.NemezRecording;
+import com.teamwizardry.wizardry.common.core.nemez.NemezStore;
+import com.teamwizardry.wizardry.common.core.nemez.NemezTracker;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compressing a recording of time manipulation, with the stack of moments and with the per-track recording.
+ * Each run compresses a fresh recording of moving entities and changing blocks once,
+ * as compressing changes the recording.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NemezBenchmark {
+
+	private static final int ENTITIES = 16;
+	private static final int BLOCKS = 8;
+
+	@Param({"manager", "recording"})
+	public String store;
+
+	@Param({"600", "6000"})
+	public int moments;
+
+	private Entity[] entities;
+	private NemezStore nemez;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		Benchmarks.init();
+
+		BenchmarkWorld world = new BenchmarkWorld();
+		entities = new Entity[ENTITIES];
+		for (int i = 0; i < ENTITIES; i++)
+			entities[i] = new BenchmarkEntity(world, i, 64, 0);
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		nemez = "manager".equals(store) ? new NemezManager() : new NemezRecording(NemezTracker.MAXIMUM_MOMENTS);
+
+		IBlockState[] states = {Blocks.STONE.getDefaultState(), Blocks.AIR.getDefaultState()};
+		for (int moment = 0; moment < moments; moment++) {
+			for (int i = 0; i < ENTITIES; i++) {
+				Entity entity = entities[i];
+				entity.setPosition(i + Math.sin(moment * 0.1 + i), 64 + Math.cos(moment * 0.05), moment * 0.2);
+				entity.rotationYaw = moment % 360;
+				nemez.pushEntityData(entity);
+			}
+
+			// Blocks are only tracked when they change
+			if (moment % 20 == 0)
+				for (int i = 0; i < BLOCKS; i++)
+					nemez.pushBlockData(new BlockPos(i, 63, 0), states[(moment / 20 + i) % 2]);
+
+			nemez.pushMoment();
+		}
+	}
+
+	@Benchmark
+	public NemezStore collapse() {
+		nemez.collapse();
+		return nemez;
+	}
+}
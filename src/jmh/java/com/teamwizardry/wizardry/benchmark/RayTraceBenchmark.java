@@ -0,0 +1,53 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import com.teamwizardry.wizardry.api.util.RayTrace;
+import com.teamwizardry.wizardry.benchmark.BenchmarkWorld.BenchmarkEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracing a beam over its full range past a crowd of entities, none of which it hits,
+ * so every run walks the same blocks and tests every entity near the beam.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RayTraceBenchmark {
+
+	private static final double RANGE = 64;
+	private static final Vec3d ORIGIN = new Vec3d(0.5, 64.5, 0.5);
+	private static final Vec3d SLOPE = new Vec3d(1, 0, 0);
+
+	@Param({"0", "16", "256"})
+	public int entityCount;
+
+	private BenchmarkWorld world;
+
+	@Setup
+	public void setup() {
+		Benchmarks.init();
+
+		world = new BenchmarkWorld();
+		world.loadChunks(new BlockPos(ORIGIN).add(-16, 0, -16), new BlockPos(ORIGIN.add(SLOPE.scale(RANGE))).add(16, 0, 16));
+
+		Random random = new Random(0);
+		for (int i = 0; i < entityCount; i++) {
+			// Beside the beam, up to a few blocks away on either side
+			double side = (random.nextBoolean() ? 1 : -1) * (1.5 + random.nextDouble() * 6);
+			world.addEntity(new BenchmarkEntity(world, ORIGIN.x + random.nextDouble() * RANGE, ORIGIN.y - 4 + random.nextDouble() * 8, ORIGIN.z + side));
+		}
+	}
+
+	@Benchmark
+	public RayTraceResult trace() {
+		return new RayTrace(world, SLOPE, ORIGIN, RANGE).trace();
+	}
+}
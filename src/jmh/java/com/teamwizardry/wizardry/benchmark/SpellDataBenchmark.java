@@ -0,0 +1,70 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import com.teamwizardry.wizardry.api.spell.SpellCodec;
+import com.teamwizardry.wizardry.api.spell.SpellData;
+import com.teamwizardry.wizardry.api.spell.SpellData.DefaultKeys;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying and serializing the data of a spell as it looks after hitting a block,
+ * as every child ring copies the data of its parent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpellDataBenchmark {
+
+	private SpellData data;
+
+	@Setup
+	public void setup() {
+		Benchmarks.init();
+
+		data = new SpellData();
+		data.addData(DefaultKeys.CASTER, 42);
+		data.addData(DefaultKeys.YAW, 90f);
+		data.addData(DefaultKeys.PITCH, -15f);
+		data.addData(DefaultKeys.LOOK, new Vec3d(0.7, -0.2, 0.7));
+		data.addData(DefaultKeys.ORIGIN, new Vec3d(100.5, 64, -200.5));
+		data.addData(DefaultKeys.TARGET_HIT, new Vec3d(110.5, 62, -190.5));
+		data.addData(DefaultKeys.BLOCK_HIT, new BlockPos(110, 61, -191));
+		data.addData(DefaultKeys.FACE_HIT, EnumFacing.UP);
+		data.addData(DefaultKeys.SEED, 1234567890L);
+		data.addData(DefaultKeys.UUID, UUID.randomUUID());
+	}
+
+	@Benchmark
+	public SpellData copy() {
+		return data.copy();
+	}
+
+	/**
+	 * A copy written to right away, as a child ring setting its own target does.
+	 */
+	@Benchmark
+	public SpellData copyAndWrite() {
+		SpellData copy = data.copy();
+		copy.addData(DefaultKeys.TARGET_HIT, Vec3d.ZERO);
+		return copy;
+	}
+
+	@Benchmark
+	public NBTTagCompound serializeNBT() {
+		return data.serializeNBT();
+	}
+
+	@Benchmark
+	public byte[] writeBinary() {
+		return SpellCodec.toBytes(writer -> writer.writeData(data));
+	}
+}
@@ -0,0 +1,67 @@
+package com.teamwizardry.wizardry.benchmark;
+
+import com.teamwizardry.wizardry.api.spell.SpellCodec;
+import com.teamwizardry.wizardry.api.spell.SpellRing;
+import com.teamwizardry.wizardry.api.util.FixedPointUtils;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading spell chains of different lengths, from NBT as held items and saves store them,
+ * and from the binary form of {@link SpellCodec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpellRingBenchmark {
+
+	private static final String[] ATTRIBUTES = {"potency", "range", "duration", "area", "speed"};
+
+	@Param({"1", "4", "16"})
+	public int chainLength;
+
+	private NBTTagCompound tag;
+	private byte[] bytes;
+
+	@Setup
+	public void setup() {
+		Benchmarks.init();
+
+		tag = null;
+		for (int i = chainLength - 1; i >= 0; i--) {
+			NBTTagCompound ringTag = new NBTTagCompound();
+			ringTag.setString("module", "benchmark_module_" + i);
+
+			NBTTagCompound extra = new NBTTagCompound();
+			for (String attribute : ATTRIBUTES)
+				FixedPointUtils.setFixedToNBT(extra, attribute, i + 0.5f);
+			ringTag.setTag("extra", extra);
+
+			ringTag.setString("primary_color", String.valueOf(Color.CYAN.getRGB()));
+			ringTag.setString("secondary_color", String.valueOf(Color.MAGENTA.getRGB()));
+			ringTag.setString("uuid", UUID.randomUUID().toString());
+			if (tag != null) ringTag.setTag("child_ring", tag);
+			tag = ringTag;
+		}
+
+		SpellRing ring = SpellRing.deserializeRing(tag);
+		bytes = SpellCodec.toBytes(writer -> writer.writeRing(ring, true));
+	}
+
+	@Benchmark
+	public SpellRing deserializeNBT() {
+		return SpellRing.deserializeRing(tag);
+	}
+
+	@Benchmark
+	public SpellRing readBinary() {
+		return SpellCodec.fromBytes(bytes).readRing();
+	}
+}
@@ -80,4 +80,18 @@ public class ConfigValues {
 	@ConfigIntRange(min = 1, max = Integer.MAX_VALUE)
 	@ConfigProperty(category = "spells", comment = "Maximum number of ticks between Beam activations. Minimum of 1.")
 	public static int beamTimer = 10;
+
+	@ConfigIntRange(min = 1, max = Integer.MAX_VALUE)
+	@ConfigProperty(category = "spells", comment = "Maximum number of compiled spells kept in memory, so held spells don't get rebuilt from NBT every tick.")
+	public static int spellChainCacheSize = 512;
+
+	@ConfigProperty(category = "spells", comment = "If enabled, spell module overrides are called through generated classes instead of reflection proxies.\nDisable if a module addon fails to link.")
+	public static boolean generatedOverrideDispatch = true;
+
+	@ConfigProperty(category = "spells", comment = "If enabled, time manipulation is recorded into compact per-entity and per-block tracks instead of a stack of moments.\nDisable to go back to the old recording.")
+	public static boolean columnarNemezRecording = true;
+
+	@ConfigIntRange(min = 1, max = Integer.MAX_VALUE)
+	@ConfigProperty(category = "spells", comment = "Maximum number of blocks area spells edit per world and tick. Bigger jobs continue over the next ticks.")
+	public static int blockEditsPerTick = 512;
 }
@@ -1,16 +1,21 @@
 package com.teamwizardry.wizardry.api;
 
 import com.google.common.collect.ImmutableMap;
+import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.lifetimeobject.LifetimeObject;
 import com.teamwizardry.wizardry.api.lifetimeobject.LifetimeObjectManager;
+import com.teamwizardry.wizardry.api.spell.DataSerializationException;
 import com.teamwizardry.wizardry.api.spell.IDelayedModule;
+import com.teamwizardry.wizardry.api.spell.SpellCodec;
 import com.teamwizardry.wizardry.api.spell.SpellData;
+import com.teamwizardry.wizardry.api.spell.SpellProfiler;
 import com.teamwizardry.wizardry.api.spell.SpellRing;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 
+import javax.annotation.Nullable;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -20,6 +25,7 @@ public final class SpellObjectManager {
 	private static final ResourceLocation DELAYED = new ResourceLocation("wizardry", "delayed");
 	private static final String NBT_KEY_TYPE = "type";
 	private static final String NBT_KEY_DATA = "data";
+	private static final String NBT_KEY_SPELL = "spell";
 	private final ImmutableMap<ResourceLocation, Supplier<SpellObject>> factories = ImmutableMap.<ResourceLocation, Supplier<SpellObject>>builder()
 			.put(LINGERING, LingeringObject::new)
 			.put(DELAYED, DelayedObject::new)
@@ -38,7 +44,12 @@ public final class SpellObjectManager {
 			final Supplier<SpellObject> factory = factories.get(new ResourceLocation(nbt.getString(NBT_KEY_TYPE)));
 			if (factory != null) {
 				final SpellObject obj = factory.get();
-				obj.deserialize(nbt.getCompoundTag(NBT_KEY_DATA));
+				try {
+					obj.deserialize(nbt.getCompoundTag(NBT_KEY_DATA));
+				} catch (DataSerializationException | IndexOutOfBoundsException e) {
+					Wizardry.LOGGER.warn("Dropping unreadable spell object of type " + nbt.getString(NBT_KEY_TYPE), e);
+					return;
+				}
 				consumer.accept(obj);
 			}
 		}
@@ -56,6 +67,18 @@ public final class SpellObjectManager {
 		this.manager.tick(onChange);
 	}
 
+	/**
+	 * Writes the ring chain and the data of a spell object in the binary form of {@link SpellCodec}.
+	 */
+	private static byte[] writeSpell(@Nullable SpellRing ring, @Nullable SpellData data) {
+		return SpellCodec.toBytes(out -> {
+			out.writeBoolean(ring != null);
+			if (ring != null) out.writeRing(ring, true);
+			out.writeBoolean(data != null);
+			if (data != null) out.writeData(data);
+		});
+	}
+
 	private interface SpellObject extends LifetimeObject {
 		ResourceLocation getType();
 
@@ -90,7 +113,12 @@ public final class SpellObjectManager {
 
 		@Override
 		public void tick() {
-			ring.runSpellRing(world, data, false);
+			long profile = SpellProfiler.begin();
+			try {
+				ring.runSpellRing(world, data, false);
+			} finally {
+				SpellProfiler.end(profile, SpellProfiler.Section.LINGER, ring.getModule(), world, data);
+			}
 		}
 
 		@Override
@@ -100,10 +128,7 @@ public final class SpellObjectManager {
 		@Override
 		public NBTTagCompound serialize() {
 			NBTTagCompound compound = new NBTTagCompound();
-			if (ring != null)
-				compound.setTag("spell_ring", ring.serializeNBT());
-			if (data != null)
-				compound.setTag("spell_data", data.serializeNBT());
+			compound.setByteArray(NBT_KEY_SPELL, writeSpell(ring, data));
 			if (world != null) {
 				compound.setInteger("world", world.provider.getDimension());
 			}
@@ -112,10 +137,17 @@ public final class SpellObjectManager {
 
 		@Override
 		public void deserialize(NBTTagCompound nbt) {
-			if (nbt.hasKey("spell_ring"))
-				ring = SpellRing.deserializeRing(nbt.getCompoundTag("spell_ring"));
-			if (nbt.hasKey("spell_data"))
-				data = SpellData.deserializeData(nbt.getCompoundTag("spell_data"));
+			if (nbt.hasKey(NBT_KEY_SPELL)) {
+				SpellCodec.Reader in = SpellCodec.fromBytes(nbt.getByteArray(NBT_KEY_SPELL));
+				if (in.readBoolean()) ring = in.readRing();
+				if (in.readBoolean()) data = in.readData();
+			} else {
+				// Saved before spells were stored in binary
+				if (nbt.hasKey("spell_ring"))
+					ring = SpellRing.deserializeRing(nbt.getCompoundTag("spell_ring"));
+				if (nbt.hasKey("spell_data"))
+					data = SpellData.deserializeData(nbt.getCompoundTag("spell_data"));
+			}
 			if (nbt.hasKey("world"))
 				world = FMLCommonHandler.instance().getMinecraftServerInstance().getWorld(nbt.getInteger("world"));
 		}
@@ -149,19 +181,27 @@ public final class SpellObjectManager {
 		public void tick() {
 		}
 
+		@Override
+		public boolean isTicking() {
+			return false;
+		}
+
 		@Override
 		public void stop() {
-			if (ring.getModule() != null && ring.getModule().getModuleClass() instanceof IDelayedModule)
-				((IDelayedModule) ring.getModule().getModuleClass()).runDelayedEffect(world, data, ring);
+			if (ring.getModule() != null && ring.getModule().getModuleClass() instanceof IDelayedModule) {
+				long profile = SpellProfiler.begin();
+				try {
+					((IDelayedModule) ring.getModule().getModuleClass()).runDelayedEffect(world, data, ring);
+				} finally {
+					SpellProfiler.end(profile, SpellProfiler.Section.DELAYED, ring.getModule(), world, data);
+				}
+			}
 		}
 
 		@Override
 		public NBTTagCompound serialize() {
 			NBTTagCompound compound = new NBTTagCompound();
-			if (ring != null)
-				compound.setTag("spell_ring", ring.serializeNBT());
-			if (data != null)
-				compound.setTag("spell_data", data.serializeNBT());
+			compound.setByteArray(NBT_KEY_SPELL, writeSpell(ring, data));
 			if (world != null) {
 				compound.setInteger("world", world.provider.getDimension());
 			}
@@ -170,10 +210,17 @@ public final class SpellObjectManager {
 
 		@Override
 		public void deserialize(NBTTagCompound nbt) {
-			if (nbt.hasKey("spell_ring"))
-				ring = SpellRing.deserializeRing(nbt.getCompoundTag("spell_ring"));
-			if (nbt.hasKey("spell_data"))
-				data = SpellData.deserializeData(nbt.getCompoundTag("spell_data"));
+			if (nbt.hasKey(NBT_KEY_SPELL)) {
+				SpellCodec.Reader in = SpellCodec.fromBytes(nbt.getByteArray(NBT_KEY_SPELL));
+				if (in.readBoolean()) ring = in.readRing();
+				if (in.readBoolean()) data = in.readData();
+			} else {
+				// Saved before spells were stored in binary
+				if (nbt.hasKey("spell_ring"))
+					ring = SpellRing.deserializeRing(nbt.getCompoundTag("spell_ring"));
+				if (nbt.hasKey("spell_data"))
+					data = SpellData.deserializeData(nbt.getCompoundTag("spell_data"));
+			}
 			if (nbt.hasKey("world"))
 				world = FMLCommonHandler.instance().getMinecraftServerInstance().getWorld(nbt.getInteger("world"));
 		}
@@ -15,6 +15,7 @@ import com.teamwizardry.wizardry.api.util.RandUtil;
 import com.teamwizardry.wizardry.client.fx.LibParticles;
 import com.teamwizardry.wizardry.common.entity.angel.EntityAngel;
 import com.teamwizardry.wizardry.common.entity.angel.zachriel.EntityZachriel;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
@@ -27,7 +28,9 @@ import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import javax.annotation.Nullable;
 import java.awt.*;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -36,6 +39,8 @@ public class Arena implements INBTSerializable<NBTTagCompound> {
 
 	private transient World world;
 	private transient EntityAngel boss;
+	private transient int missingBossTicks = 0;
+	private UUID bossUUID;
 	@Save
 	private int worldID;
 	@Save
@@ -58,12 +63,22 @@ public class Arena implements INBTSerializable<NBTTagCompound> {
 	public Arena(int worldID, BlockPos center, double radius, double height, int bossID, Set<UUID> players) {
 		this.worldID = worldID;
 		this.world = DimensionManager.getWorld(worldID);
-		this.boss = (EntityAngel) world.getEntityByID(bossID);
 		this.center = center;
 		this.radius = radius;
 		this.height = height;
 		this.bossID = bossID;
 		this.players = players;
+		if (world != null) {
+			setBoss(world.getEntityByID(bossID));
+			startTick = world.getTotalWorldTime();
+		}
+	}
+
+	/**
+	 * For reading arenas back from their world.
+	 */
+	Arena() {
+		this.players = new HashSet<>();
 	}
 
 	public boolean sanityCheck() {
@@ -94,12 +109,15 @@ public class Arena implements INBTSerializable<NBTTagCompound> {
 	public void begin() {
 		isActive = true;
 		hasEnded = false;
-		startTick = System.currentTimeMillis();
+		startTick = world == null ? 0 : world.getTotalWorldTime();
 	}
 
-	public void tick(long timeMillis) {
+	/**
+	 * @param ticks The world ticks since the arena began.
+	 */
+	public void tick(long ticks) {
 
-		if (timeMillis % 500 == 0)
+		if (ticks % 10 == 0)
 			ClientRunnable.run(new ClientRunnable() {
 				@Override
 				@SideOnly(Side.CLIENT)
@@ -156,6 +174,10 @@ public class Arena implements INBTSerializable<NBTTagCompound> {
 		return world;
 	}
 
+	void setWorld(World world) {
+		this.world = world;
+	}
+
 	public int getWorldID() {
 		return worldID;
 	}
@@ -176,6 +198,33 @@ public class Arena implements INBTSerializable<NBTTagCompound> {
 		return bossID;
 	}
 
+	@Nullable
+	public UUID getBossUUID() {
+		return bossUUID;
+	}
+
+	/**
+	 * Binds the arena to the given entity, which keeps the arena across loads.
+	 */
+	void setBoss(@Nullable Entity entity) {
+		if (!(entity instanceof EntityAngel)) return;
+
+		boss = (EntityAngel) entity;
+		bossID = entity.getEntityId();
+		bossUUID = entity.getUniqueID();
+		missingBossTicks = 0;
+	}
+
+	/**
+	 * Counts a tick in which the boss could not be found while the arena was loaded.
+	 *
+	 * @return The number of such ticks in a row.
+	 */
+	int markBossMissing() {
+		boss = null;
+		return ++missingBossTicks;
+	}
+
 	public Set<UUID> getPlayers() {
 		return players;
 	}
@@ -200,12 +249,15 @@ public class Arena implements INBTSerializable<NBTTagCompound> {
 	public NBTTagCompound serializeNBT() {
 		NBTTagCompound compound = new NBTTagCompound();
 		compound.setTag("save", AbstractSaveHandler.writeAutoNBT(this, true));
+		if (bossUUID != null) compound.setUniqueId("boss", bossUUID);
 		return compound;
 	}
 
 	@Override
 	public void deserializeNBT(NBTTagCompound nbt) {
 		AbstractSaveHandler.readAutoNBT(this, nbt.getCompoundTag("save"), true);
+		bossUUID = nbt.hasUniqueId("boss") ? nbt.getUniqueId("boss") : null;
+		boss = null;
 	}
 
 	public EntityAngel getBoss() {
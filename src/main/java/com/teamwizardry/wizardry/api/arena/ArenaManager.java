@@ -1,156 +1,122 @@
 package com.teamwizardry.wizardry.api.arena;
 
-import com.teamwizardry.librarianlib.features.saving.Save;
-import com.teamwizardry.librarianlib.features.saving.SaveInPlace;
+import com.teamwizardry.wizardry.api.capability.world.WizardryWorld;
+import com.teamwizardry.wizardry.api.capability.world.WizardryWorldCapability;
 import com.teamwizardry.wizardry.common.entity.angel.EntityAngel;
 import com.teamwizardry.wizardry.common.entity.angel.zachriel.EntityZachriel;
-import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.MoverType;
-import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
-import net.minecraftforge.fml.relauncher.Side;
-import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.Nonnull;
-import java.util.HashSet;
-import java.util.Timer;
-import java.util.TimerTask;
 
-@SaveInPlace
+/**
+ * Hooks the {@link ArenaRegistry} of each server world into the game. <br/>
+ * Arenas tick with their world, and every handler looks up the one arena of its boss or player.
+ */
 public class ArenaManager {
 
 	public static ArenaManager INSTANCE = new ArenaManager();
 
-	@Save
-	private HashSet<Arena> arenas = new HashSet<>();
-
 	private ArenaManager() {
-		new Timer().scheduleAtFixedRate(new ArenaTicker(), 0, 1);
 	}
 
-	public boolean addArena(@Nonnull Arena arena) {
-		for (Arena arena1 : arenas) {
-			if (arena.getCenter().toLong() == arena1.getCenter().toLong()) return false;
-		}
-		arenas.add(arena);
+	@Nullable
+	private static ArenaRegistry getRegistry(@Nullable World world) {
+		if (world == null || world.isRemote) return null;
 
-		return true;
+		WizardryWorld cap = WizardryWorldCapability.get(world);
+		return cap == null ? null : cap.getArenas();
+	}
+
+	/**
+	 * @return Whether the arena was added. Arenas only exist on the server, and can't share their center.
+	 */
+	public boolean addArena(@Nonnull Arena arena) {
+		ArenaRegistry registry = getRegistry(arena.getWorld());
+		return registry != null && registry.add(arena);
 	}
 
 	@Nullable
 	public Arena getArena(@Nonnull EntityAngel boss) {
-		for (Arena arena : arenas) {
-			if (arena.getBossID() == boss.getEntityId()) return arena;
-		}
-		return null;
+		ArenaRegistry registry = getRegistry(boss.world);
+		return registry == null ? null : registry.getByBoss(boss.getEntityId());
+	}
+
+	@Nullable
+	public Arena getArena(@Nonnull EntityPlayer player) {
+		ArenaRegistry registry = getRegistry(player.world);
+		return registry == null ? null : registry.getByPlayer(player.getUniqueID());
 	}
 
 	@SubscribeEvent
-	public void tickBoss(LivingEvent.LivingUpdateEvent event) {
-		for (Arena arena : arenas) {
-			if (event.getEntityLiving().getEntityId() != arena.getBossID()) continue;
+	public void tickWorld(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) return;
 
-			if (event.getEntityLiving().getDistance(arena.getCenter().getX() + 0.5, arena.getCenter().getY(), arena.getCenter().getZ() + 0.5) > arena.getRadius()) {
-				event.getEntityLiving().move(MoverType.SELF, arena.getCenter().getX() + 0.5, arena.getCenter().getY() + 0.5, arena.getCenter().getZ() + 0.5);
-			}
-		}
+		ArenaRegistry registry = getRegistry(event.world);
+		if (registry != null) registry.tick(event.world);
 	}
 
 	@SubscribeEvent
-	public void tickPlayer(TickEvent.PlayerTickEvent event) {
-		for (Arena arena : arenas) {
-			if (!arena.getPlayers().contains(event.player.getUniqueID())) {
-				continue;
-			}
-			if (event.player.getDistance(arena.getCenter().getX() + 0.5, arena.getCenter().getY(), arena.getCenter().getZ() + 0.5) > arena.getRadius()) {
-				arena.end();
-				continue;
-			}
-			if (event.player.capabilities.isFlying) {
-				event.player.capabilities.isFlying = false;
-			}
-		}
+	public void bossJoin(EntityJoinWorldEvent event) {
+		if (!(event.getEntity() instanceof EntityAngel)) return;
+
+		ArenaRegistry registry = getRegistry(event.getWorld());
+		if (registry != null) registry.onBossJoined(event.getEntity());
 	}
 
 	@SubscribeEvent
-	public void blockBreak(BlockEvent.BreakEvent event) {
-		for (Arena arena : arenas) {
-			if (!arena.getPlayers().contains(event.getPlayer().getUniqueID()) || arena.getWorld() != event.getWorld())
-				continue;
-
-			if (!event.getWorld().isRemote && arena.getBoss() instanceof EntityZachriel)
-				((EntityZachriel) arena.getBoss()).nemezDrive.trackBlock(event.getPos(), event.getState());
+	public void tickBoss(LivingEvent.LivingUpdateEvent event) {
+		EntityLivingBase entity = event.getEntityLiving();
+		if (!(entity instanceof EntityAngel)) return;
 
+		Arena arena = getArena((EntityAngel) entity);
+		if (arena == null) return;
 
-//			if (!event.getWorld().isRemote)
-//				for (ZachTimeManager timeManager : zachHourGlasses) {
-//					if (timeManager.getEntityZachriel().getEntityId() == arena.getBossID()) {
-//						timeManager.trackBlock(event.getState(), event.getPos());
-//					}
-//				}
+		if (entity.getDistance(arena.getCenter().getX() + 0.5, arena.getCenter().getY(), arena.getCenter().getZ() + 0.5) > arena.getRadius()) {
+			entity.move(MoverType.SELF, arena.getCenter().getX() + 0.5, arena.getCenter().getY() + 0.5, arena.getCenter().getZ() + 0.5);
 		}
 	}
 
 	@SubscribeEvent
-	public void placeBlock(BlockEvent.PlaceEvent event) {
-		for (Arena arena : arenas) {
-			if (!arena.getPlayers().contains(event.getPlayer().getUniqueID()) || arena.getWorld() != event.getWorld())
-				continue;
-
-			if (!event.getWorld().isRemote && arena.getBoss() instanceof EntityZachriel)
-				((EntityZachriel) arena.getBoss()).nemezDrive.trackBlock(event.getPos(), event.getWorld().getBlockState(event.getPos()));
-
-			//if (!event.getWorld().isRemote)
-			//	for (ZachTimeManager timeManager : zachHourGlasses) {
-			//		if (timeManager.getEntityZachriel().getEntityId() == arena.getBossID()) {
-			//			timeManager.trackBlock(Blocks.AIR.getDefaultState(), event.getPos());
-			//		}
-			//	}
+	public void tickPlayer(TickEvent.PlayerTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) return;
+
+		Arena arena = getArena(event.player);
+		if (arena == null || arena.hasEnded()) return;
+
+		if (event.player.getDistance(arena.getCenter().getX() + 0.5, arena.getCenter().getY(), arena.getCenter().getZ() + 0.5) > arena.getRadius()) {
+			arena.end();
+			return;
+		}
+		if (event.player.capabilities.isFlying) {
+			event.player.capabilities.isFlying = false;
+			event.player.sendPlayerAbilities();
 		}
 	}
 
 	@SubscribeEvent
-	@SideOnly(Side.CLIENT)
-	public void renderWorld(RenderWorldLastEvent event) {
-		for (Arena arena : arenas) {
+	public void blockBreak(BlockEvent.BreakEvent event) {
+		Arena arena = getArena(event.getPlayer());
+		if (arena == null || arena.getWorld() != event.getWorld()) return;
 
-		}
+		if (arena.getBoss() instanceof EntityZachriel)
+			((EntityZachriel) arena.getBoss()).nemezDrive.trackBlock(event.getPos(), event.getState());
 	}
 
-	private class ArenaTicker extends TimerTask {
-
-		ArenaTicker() {
-		}
+	@SubscribeEvent
+	public void placeBlock(BlockEvent.PlaceEvent event) {
+		Arena arena = getArena(event.getPlayer());
+		if (arena == null || arena.getWorld() != event.getWorld()) return;
 
-		@Override
-		public void run() {
-			if (arenas.isEmpty()) return;
-
-			HashSet<Arena> trash = new HashSet<>();
-			for (Arena arena : arenas) {
-				if (arena == null) continue;
-				if (arena.hasEnded()) {
-					trash.add(arena);
-				}
-				if (!arena.isActive()) continue;
-				Entity entity = arena.getWorld().getEntityByID(arena.getBossID());
-				if (entity == null || entity.isDead) {
-					arena.end();
-					continue;
-				}
-				//if (!arena.sanityCheck()) {
-				//	arena.dealWithStructureConflict();
-				//	continue;
-				//}
-
-				arena.tick(System.currentTimeMillis() - arena.getStartTick());
-			}
-
-			arenas.removeAll(trash);
-		}
+		if (arena.getBoss() instanceof EntityZachriel)
+			((EntityZachriel) arena.getBoss()).nemezDrive.trackBlock(event.getPos(), event.getWorld().getBlockState(event.getPos()));
 	}
 }
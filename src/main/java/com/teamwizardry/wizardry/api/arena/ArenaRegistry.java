@@ -0,0 +1,158 @@
+package com.teamwizardry.wizardry.api.arena;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.util.INBTSerializable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * The arenas of one world, kept in its {@link com.teamwizardry.wizardry.api.capability.world.WizardryWorld}. <br/>
+ * Arenas are indexed by their center, the entity id and unique id of their boss, and their players,
+ * so event handlers only ever look up the one arena they care about.
+ * <br/>
+ * <b>NOTE</b>: Entity ids change between loads. After loading, an arena is indexed by the id of its boss
+ * once the boss joins the world again.
+ */
+public class ArenaRegistry implements INBTSerializable<NBTTagList> {
+
+	/**
+	 * Ticks an arena waits for its boss to be loaded again before it ends.
+	 */
+	private static final int BOSS_GRACE_TICKS = 100;
+
+	private final Map<Long, Arena> byCenter = new HashMap<>();
+	private final Map<Integer, Arena> byBoss = new HashMap<>();
+	private final Map<UUID, Arena> byBossUUID = new HashMap<>();
+	private final Map<UUID, Arena> byPlayer = new HashMap<>();
+
+	/**
+	 * @return Whether the arena was added, an arena can't share its center with another.
+	 */
+	public boolean add(@Nonnull Arena arena) {
+		if (byCenter.putIfAbsent(arena.getCenter().toLong(), arena) != null) return false;
+
+		if (arena.getBoss() != null) byBoss.put(arena.getBossID(), arena);
+		if (arena.getBossUUID() != null) byBossUUID.put(arena.getBossUUID(), arena);
+		for (UUID player : arena.getPlayers())
+			byPlayer.put(player, arena);
+		return true;
+	}
+
+	public void remove(@Nonnull Arena arena) {
+		if (!byCenter.remove(arena.getCenter().toLong(), arena)) return;
+
+		byBoss.remove(arena.getBossID(), arena);
+		if (arena.getBossUUID() != null) byBossUUID.remove(arena.getBossUUID(), arena);
+		for (UUID player : arena.getPlayers())
+			byPlayer.remove(player, arena);
+	}
+
+	@Nullable
+	public Arena getByBoss(int entityID) {
+		return byBoss.get(entityID);
+	}
+
+	@Nullable
+	public Arena getByPlayer(UUID player) {
+		return byPlayer.get(player);
+	}
+
+	public Collection<Arena> getArenas() {
+		return Collections.unmodifiableCollection(byCenter.values());
+	}
+
+	public boolean isEmpty() {
+		return byCenter.isEmpty();
+	}
+
+	/**
+	 * Points the arena of the given boss, if it has one, to the boss' current entity id.
+	 */
+	public void onBossJoined(Entity boss) {
+		Arena arena = byBossUUID.get(boss.getUniqueID());
+		if (arena == null || arena.getBoss() == boss) return;
+
+		byBoss.remove(arena.getBossID(), arena);
+		arena.setBoss(boss);
+		byBoss.put(arena.getBossID(), arena);
+	}
+
+	/**
+	 * Ticks every active arena whose center is loaded, and drops the ones which ended.
+	 * An arena ends when its boss dies, or can't be found for {@link #BOSS_GRACE_TICKS} while the arena is loaded.
+	 */
+	public void tick(World world) {
+		if (isEmpty()) return;
+
+		long now = world.getTotalWorldTime();
+		List<Arena> ended = null;
+		for (Arena arena : new ArrayList<>(byCenter.values())) {
+			arena.setWorld(world);
+			if (!arena.hasEnded() && arena.isActive() && world.isBlockLoaded(arena.getCenter())) {
+				Entity boss = findBoss(world, arena);
+				if (boss == null) {
+					byBoss.remove(arena.getBossID(), arena);
+					if (arena.getBossUUID() == null || arena.markBossMissing() > BOSS_GRACE_TICKS)
+						arena.end();
+				} else if (boss.isDead)
+					arena.end();
+				else
+					arena.tick(now - arena.getStartTick());
+			}
+
+			if (arena.hasEnded()) {
+				if (ended == null) ended = new ArrayList<>();
+				ended.add(arena);
+			}
+		}
+
+		if (ended != null)
+			for (Arena arena : ended)
+				remove(arena);
+	}
+
+	@Nullable
+	private Entity findBoss(World world, Arena arena) {
+		if (arena.getBoss() != null) {
+			Entity entity = world.getEntityByID(arena.getBossID());
+			if (entity == arena.getBoss()) return entity;
+		}
+
+		if (arena.getBossUUID() == null || !(world instanceof WorldServer)) return null;
+
+		Entity entity = ((WorldServer) world).getEntityFromUuid(arena.getBossUUID());
+		if (entity != null) onBossJoined(entity);
+		return entity;
+	}
+
+	@Override
+	public NBTTagList serializeNBT() {
+		NBTTagList list = new NBTTagList();
+		for (Arena arena : byCenter.values())
+			list.appendTag(arena.serializeNBT());
+		return list;
+	}
+
+	@Override
+	public void deserializeNBT(NBTTagList list) {
+		byCenter.clear();
+		byBoss.clear();
+		byBossUUID.clear();
+		byPlayer.clear();
+
+		for (NBTBase base : list) {
+			if (!(base instanceof NBTTagCompound)) continue;
+
+			Arena arena = new Arena();
+			arena.deserializeNBT((NBTTagCompound) base);
+			if (arena.getCenter() != null && !arena.hasEnded()) add(arena);
+		}
+	}
+}
@@ -3,32 +3,57 @@ package com.teamwizardry.wizardry.api.block;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimaps;
 import com.teamwizardry.wizardry.crafting.mana.FluidCraftInstance;
+import com.teamwizardry.wizardry.crafting.mana.FluidPoolCache;
+import net.minecraft.block.Block;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.fluids.Fluid;
 
 import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public class FluidTracker {
 	public static FluidTracker INSTANCE = new FluidTracker();
 	private HashMap<Integer, HashMultimap<BlockPos, FluidCraftInstance>> fluidCrafters = new HashMap<>();
 	
+	/**
+	 * Starts a craft at the given position, unless a craft of the same recipe is already running anywhere in the same pool.
+	 */
 	public synchronized void addManaCraft(World world, BlockPos pos, FluidCraftInstance crafter) {
+		addManaCraft(world, pos, crafter.getName(), crafter.getFluid(), () -> crafter);
+	}
+
+	/**
+	 * Starts a craft of the given recipe at the given position, unless one is already running anywhere in the same pool.
+	 * <br/>
+	 * Items in a pool collide with it every tick, so the craft is only built once it is known to start.
+	 */
+	public synchronized void addManaCraft(World world, BlockPos pos, String name, Fluid fluid, Supplier<FluidCraftInstance> crafter) {
+		// Only the server ticks crafts
+		if (world.isRemote) return;
+
+		Block block = fluid.getBlock();
+		if (block == null || world.getBlockState(pos).getBlock() != block) return;
+
 		int dim = world.provider.getDimension();
 		HashMultimap<BlockPos, FluidCraftInstance> worldCrafters = fluidCrafters.get(dim);
 		if (worldCrafters == null) {
 			worldCrafters = HashMultimap.create();
 			fluidCrafters.put(dim, worldCrafters);
 		}
-		Set<FluidCraftInstance> crafterList = worldCrafters.get(pos);
-		for (FluidCraftInstance manaCrafter : crafterList)
-			if (manaCrafter.equals(crafter))
-				return;
-		if (world.getBlockState(pos).getBlock() == crafter.getFluid().getBlock())
-			worldCrafters.put(pos, crafter);
+		FluidPoolCache.Pool pool = null;
+		for (Map.Entry<BlockPos, FluidCraftInstance> entry : worldCrafters.entries()) {
+			if (!entry.getValue().getName().equals(name)) continue;
+			if (entry.getKey().equals(pos)) return;
+
+			if (pool == null) pool = FluidPoolCache.getPool(world, pos, block);
+			if (pool.contains(entry.getKey())) return;
+		}
+		worldCrafters.put(pos, crafter.get());
 	}
 
 	public synchronized void tick(World tickedWorld) {
@@ -1,5 +1,6 @@
 package com.teamwizardry.wizardry.api.block;
 
+import com.teamwizardry.wizardry.api.structure.StructureTracker;
 import com.teamwizardry.wizardry.api.structure.WizardryStructure;
 import com.teamwizardry.wizardry.init.ModBlocks;
 import net.minecraft.block.BlockStairs;
@@ -155,6 +156,23 @@ public interface IStructure {
 		return errors;
 	}
 
+	/**
+	 * Same as {@link #testStructure(World, BlockPos)}, but the result is cached by {@link StructureTracker}
+	 * until a block of the structure changes. The returned set must not be modified. <br/>
+	 * <b>NOTE</b>: Changes made without notifying clients aren't seen, see {@link StructureTracker}.
+	 */
+	default Set<BlockPos> getStructureErrors(World world, BlockPos pos) {
+		return StructureTracker.getErrors(world, pos, this);
+	}
+
+	/**
+	 * Same as {@link #getStructureErrors(World, BlockPos)}, but tests the structure again,
+	 * for actions which must not rely on a stale result.
+	 */
+	default Set<BlockPos> retestStructureErrors(World world, BlockPos pos) {
+		return StructureTracker.retest(world, pos, this);
+	}
+
 	default boolean buildStructure(World world, BlockPos pos) {
 		if (world.isRemote) return true;
 
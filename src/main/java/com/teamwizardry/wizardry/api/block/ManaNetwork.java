@@ -0,0 +1,182 @@
+package com.teamwizardry.wizardry.api.block;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.capability.chunk.WizardryChunkCapability;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.*;
+
+/**
+ * The links between the {@link TileCachable}s of a world. <br/>
+ * Tiles are linked once, when they are loaded, to the tiles in range found through the chunk registry
+ * ({@link com.teamwizardry.wizardry.api.capability.chunk.WizardryChunk#getCachableTiles()}), and every link list is kept sorted by distance.
+ * Linked tiles form components. Mana flows through a whole component in one pass per tick,
+ * run by whichever of its nodes updates first.
+ * <br/>
+ * <b>NOTE</b>: Removing a tile only marks its component, which gets split up the next time any node of the world updates.
+ */
+public final class ManaNetwork {
+
+	private static final Map<World, ManaNetwork> networks = new MapMaker().weakKeys().makeMap();
+
+	private static final int LINK_DIST_SQ = ConfigValues.networkLinkDistance * ConfigValues.networkLinkDistance;
+	private static final int CHUNK_RANGE = (ConfigValues.networkLinkDistance >> 4) + 1;
+	private static final int CHUNK_DIST_SQ = CHUNK_RANGE * CHUNK_RANGE;
+
+	private final World world;
+
+	/**
+	 * Components which lost a member and may have fallen apart.
+	 */
+	private final Set<Component> brokenComponents = new HashSet<>();
+
+	private ManaNetwork(World world) {
+		this.world = world;
+	}
+
+	public static ManaNetwork get(World world) {
+		return networks.computeIfAbsent(world, ManaNetwork::new);
+	}
+
+	void join(TileCachable tile) {
+		if (tile.component != null) return;
+
+		BlockPos pos = tile.getPos();
+		int chunkX = pos.getX() >> 4;
+		int chunkZ = pos.getZ() >> 4;
+
+		Component component = new Component();
+		component.members.add(tile);
+		tile.component = component;
+
+		for (int x = -CHUNK_RANGE; x <= CHUNK_RANGE; x++) {
+			for (int z = -CHUNK_RANGE; z <= CHUNK_RANGE; z++) {
+				if (x * x + z * z > CHUNK_DIST_SQ) continue;
+				Chunk chunk = x == 0 && z == 0 ? world.getChunk(chunkX, chunkZ) : world.getChunkProvider().getLoadedChunk(chunkX + x, chunkZ + z);
+				if (chunk == null) continue;
+
+				for (TileCachable other : WizardryChunkCapability.get(chunk).getCachableTiles()) {
+					if (other == tile || other.component == null) continue;
+
+					double dist = other.getPos().distanceSq(pos);
+					if (dist > LINK_DIST_SQ) continue;
+
+					link(tile, other, dist);
+					link(other, tile, dist);
+					merge(tile.component, other.component);
+				}
+			}
+		}
+
+		WizardryChunkCapability.get(world.getChunk(chunkX, chunkZ)).addCachableTile(tile);
+	}
+
+	void leave(TileCachable tile) {
+		Component component = tile.component;
+		if (component == null) return;
+		tile.component = null;
+
+		// Tiles leave on chunk unload once their chunk is gone from the loaded chunks, don't load it again.
+		// An unloaded chunk drops its capability anyway.
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(tile.getPos().getX() >> 4, tile.getPos().getZ() >> 4);
+		if (chunk != null)
+			WizardryChunkCapability.get(chunk).removeCachableTile(tile);
+
+		for (Link link : tile.links) {
+			link.tile.links.removeIf(other -> other.tile == tile);
+			link.tile.onLinksChanged();
+		}
+		boolean hadLinks = !tile.links.isEmpty();
+		tile.links.clear();
+		tile.onLinksChanged();
+
+		component.members.remove(tile);
+		if (hadLinks && !component.members.isEmpty())
+			brokenComponents.add(component);
+	}
+
+	/**
+	 * Runs the mana flow of the component of the given node, unless it already ran this tick.
+	 */
+	void update(TileManaNode node) {
+		splitBrokenComponents();
+
+		Component component = node.component;
+		if (component == null) return;
+
+		long time = world.getTotalWorldTime();
+		if (component.lastUpdate == time) return;
+		component.lastUpdate = time;
+
+		// Mana flow can break blocks, which changes the members
+		for (TileCachable member : component.members.toArray(new TileCachable[0])) {
+			if (member instanceof TileManaNode && member.component == component && member.hasLinks())
+				((TileManaNode) member).flow();
+		}
+	}
+
+	private static void link(TileCachable tile, TileCachable other, double dist) {
+		Link link = new Link(other, dist);
+		int index = Collections.binarySearch(tile.links, link, Comparator.comparingDouble(l -> l.distanceSq));
+		tile.links.add(index < 0 ? -index - 1 : index, link);
+		tile.onLinksChanged();
+	}
+
+	private void merge(Component into, Component from) {
+		if (into == from) return;
+		if (into.members.size() < from.members.size()) {
+			merge(from, into);
+			return;
+		}
+
+		for (TileCachable member : from.members)
+			member.component = into;
+		into.members.addAll(from.members);
+		from.members.clear();
+		if (brokenComponents.remove(from))
+			brokenComponents.add(into);
+	}
+
+	private void splitBrokenComponents() {
+		if (brokenComponents.isEmpty()) return;
+
+		for (Component broken : brokenComponents) {
+			Set<TileCachable> remaining = new HashSet<>(broken.members);
+			for (TileCachable start : broken.members) {
+				if (!remaining.remove(start)) continue;
+
+				Component component = new Component();
+				component.lastUpdate = broken.lastUpdate;
+				Deque<TileCachable> queue = new ArrayDeque<>();
+				queue.add(start);
+				while (!queue.isEmpty()) {
+					TileCachable tile = queue.poll();
+					tile.component = component;
+					component.members.add(tile);
+					for (Link link : tile.links)
+						if (remaining.remove(link.tile))
+							queue.add(link.tile);
+				}
+			}
+		}
+		brokenComponents.clear();
+	}
+
+	static final class Link {
+		final TileCachable tile;
+		final double distanceSq;
+
+		Link(TileCachable tile, double distanceSq) {
+			this.tile = tile;
+			this.distanceSq = distanceSq;
+		}
+	}
+
+	static final class Component {
+		final List<TileCachable> members = new ArrayList<>();
+		long lastUpdate = Long.MIN_VALUE;
+	}
+}
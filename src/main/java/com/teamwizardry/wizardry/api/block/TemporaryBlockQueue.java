@@ -0,0 +1,107 @@
+package com.teamwizardry.wizardry.api.block;
+
+import net.minecraft.block.Block;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.INBTSerializable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * The temporary blocks of one chunk, ordered by the world tick they expire at.
+ * Stored in the chunk's {@link com.teamwizardry.wizardry.api.capability.chunk.WizardryChunk}, so it is saved with the chunk.
+ * On the client it only mirrors which positions hold temporary blocks.
+ *
+ * @see TemporaryBlocks
+ */
+public class TemporaryBlockQueue implements INBTSerializable<NBTTagList> {
+
+	private final TreeMap<Long, Set<BlockPos>> byDeadline = new TreeMap<>();
+	private final Map<BlockPos, Entry> entries = new HashMap<>();
+
+	/**
+	 * Adds a block, replacing the entry already at its position.
+	 */
+	public void add(BlockPos pos, Block block, long deadline) {
+		pos = pos.toImmutable();
+		remove(pos);
+		entries.put(pos, new Entry(block, deadline));
+		byDeadline.computeIfAbsent(deadline, key -> new HashSet<>()).add(pos);
+	}
+
+	public boolean remove(BlockPos pos) {
+		Entry entry = entries.remove(pos);
+		if (entry == null) return false;
+
+		Set<BlockPos> positions = byDeadline.get(entry.deadline);
+		positions.remove(pos);
+		if (positions.isEmpty()) byDeadline.remove(entry.deadline);
+		return true;
+	}
+
+	public void clear() {
+		entries.clear();
+		byDeadline.clear();
+	}
+
+	/**
+	 * @return The tick the next block expires at, or {@link Long#MAX_VALUE} if there is none.
+	 */
+	public long getNextDeadline() {
+		return byDeadline.isEmpty() ? Long.MAX_VALUE : byDeadline.firstKey();
+	}
+
+	/**
+	 * Removes every block expiring at or before the given tick and hands it over with the block it was added with.
+	 */
+	public void pollExpired(long tick, BiConsumer<BlockPos, Block> consumer) {
+		while (!byDeadline.isEmpty() && byDeadline.firstKey() <= tick) {
+			for (BlockPos pos : byDeadline.pollFirstEntry().getValue()) {
+				Entry entry = entries.remove(pos);
+				consumer.accept(pos, entry.block);
+			}
+		}
+	}
+
+	public Set<BlockPos> getPositions() {
+		return Collections.unmodifiableSet(entries.keySet());
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	@Override
+	public NBTTagList serializeNBT() {
+		NBTTagList list = new NBTTagList();
+		for (Map.Entry<BlockPos, Entry> entry : entries.entrySet()) {
+			NBTTagCompound compound = new NBTTagCompound();
+			compound.setLong("pos", entry.getKey().toLong());
+			compound.setInteger("block", Block.getIdFromBlock(entry.getValue().block));
+			compound.setLong("deadline", entry.getValue().deadline);
+			list.appendTag(compound);
+		}
+		return list;
+	}
+
+	@Override
+	public void deserializeNBT(NBTTagList list) {
+		clear();
+		for (int i = 0; i < list.tagCount(); i++) {
+			NBTTagCompound compound = list.getCompoundTagAt(i);
+			add(BlockPos.fromLong(compound.getLong("pos")), Block.getBlockById(compound.getInteger("block")), compound.getLong("deadline"));
+		}
+	}
+
+	private static final class Entry {
+		private final Block block;
+		private final long deadline;
+
+		Entry(Block block, long deadline) {
+			this.block = block;
+			this.deadline = deadline;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.teamwizardry.wizardry.api.block;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.librarianlib.features.network.PacketHandler;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.capability.chunk.WizardryChunkCapability;
+import com.teamwizardry.wizardry.common.network.capability.PacketSyncTemporaryBlocks;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.*;
+
+/**
+ * Blocks which turn back into air after a number of ticks, without a ticking tile entity. <br/>
+ * Each chunk keeps its temporary blocks in a {@link TemporaryBlockQueue}, saved with the chunk.
+ * The world only keeps a queue of the chunks by their next deadline, so a tick looks at nothing
+ * until a block is due. Due blocks are removed chunk by chunk, within {@link ConfigValues#blockEditsPerTick}.
+ * Blocks of chunks which were unloaded when they were due are removed right after the chunk loads again.
+ * <br/>
+ * Players watching a chunk are told which of its positions hold temporary blocks, so the client can
+ * emit particles for them. See {@code TemporaryBlockEmitter}.
+ * <br/>
+ * <b>NOTE</b>: A block is only removed if it is still the block that was registered.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class TemporaryBlocks {
+
+	private static final Map<World, TemporaryBlocks> registries = new MapMaker().weakKeys().makeMap();
+
+	private final World world;
+	private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+	private final Set<Deadline> scheduled = new HashSet<>();
+	private final Set<ChunkPos> changedChunks = new HashSet<>();
+
+	private TemporaryBlocks(World world) {
+		this.world = world;
+	}
+
+	private static TemporaryBlocks get(World world) {
+		return registries.computeIfAbsent(world, TemporaryBlocks::new);
+	}
+
+	/**
+	 * Places a block that turns back into air after the given number of ticks.
+	 *
+	 * @return Whether the block was placed.
+	 */
+	public static boolean place(World world, BlockPos pos, IBlockState state, int lifetime) {
+		if (world.isRemote) return false;
+		if (!world.setBlockState(pos, state)) return false;
+
+		register(world, pos, lifetime);
+		return true;
+	}
+
+	/**
+	 * Makes the block at the given position turn back into air after the given number of ticks.
+	 */
+	public static void register(World world, BlockPos pos, int lifetime) {
+		if (world.isRemote || !world.isBlockLoaded(pos)) return;
+
+		Chunk chunk = world.getChunk(pos);
+		TemporaryBlockQueue queue = WizardryChunkCapability.get(chunk).getTemporaryBlocks();
+		long deadline = world.getTotalWorldTime() + Math.max(lifetime, 1);
+		long next = queue.getNextDeadline();
+		queue.add(pos, world.getBlockState(pos).getBlock(), deadline);
+		chunk.markDirty();
+
+		TemporaryBlocks registry = get(world);
+		if (deadline < next) registry.schedule(deadline, chunk.x, chunk.z);
+		registry.changedChunks.add(chunk.getPos());
+	}
+
+	/**
+	 * Keeps the block at the given position, if it was temporary.
+	 */
+	public static void unregister(World world, BlockPos pos) {
+		if (world.isRemote || !world.isBlockLoaded(pos)) return;
+
+		Chunk chunk = world.getChunk(pos);
+		if (WizardryChunkCapability.get(chunk).getTemporaryBlocks().remove(pos)) {
+			chunk.markDirty();
+			get(world).changedChunks.add(chunk.getPos());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(ChunkEvent.Load event) {
+		World world = event.getWorld();
+		if (world.isRemote) return;
+
+		Chunk chunk = event.getChunk();
+		long next = WizardryChunkCapability.get(chunk).getTemporaryBlocks().getNextDeadline();
+		if (next != Long.MAX_VALUE)
+			get(world).schedule(next, chunk.x, chunk.z);
+	}
+
+	@SubscribeEvent
+	public static void onChunkWatch(ChunkWatchEvent.Watch event) {
+		EntityPlayerMP player = event.getPlayer();
+		ChunkPos pos = event.getChunk();
+		Chunk chunk = player.world.getChunkProvider().getLoadedChunk(pos.x, pos.z);
+		if (chunk == null) return;
+
+		TemporaryBlockQueue queue = WizardryChunkCapability.get(chunk).getTemporaryBlocks();
+		if (!queue.isEmpty())
+			PacketHandler.NETWORK.sendTo(new PacketSyncTemporaryBlocks(writeChunk(player.world, chunk)), player);
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+
+		TemporaryBlocks registry = registries.get(event.world);
+		if (registry != null) registry.tick();
+	}
+
+	private void tick() {
+		long now = world.getTotalWorldTime();
+		int budget = ConfigValues.blockEditsPerTick;
+
+		while (budget > 0 && !deadlines.isEmpty() && deadlines.peek().tick <= now) {
+			Deadline deadline = deadlines.poll();
+			scheduled.remove(deadline);
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(deadline.chunkX, deadline.chunkZ);
+			if (chunk == null) continue;
+
+			TemporaryBlockQueue queue = WizardryChunkCapability.get(chunk).getTemporaryBlocks();
+			// Chunks can be queued several times, only the entry matching its actual deadline removes anything.
+			// Entries left stale by an unregistered block move on to the chunk's actual deadline, which may not be queued otherwise.
+			long next = queue.getNextDeadline();
+			if (next != deadline.tick) {
+				if (next != Long.MAX_VALUE) schedule(next, chunk.x, chunk.z);
+				continue;
+			}
+
+			List<BlockPos> expired = new ArrayList<>();
+			queue.pollExpired(now, (pos, block) -> {
+				if (world.getBlockState(pos).getBlock() == block) expired.add(pos);
+			});
+			for (BlockPos pos : expired)
+				world.setBlockState(pos, Blocks.AIR.getDefaultState());
+			budget -= expired.size();
+
+			chunk.markDirty();
+			changedChunks.add(chunk.getPos());
+			if (!queue.isEmpty())
+				schedule(queue.getNextDeadline(), chunk.x, chunk.z);
+		}
+
+		if (!changedChunks.isEmpty()) {
+			for (ChunkPos pos : changedChunks)
+				sync(pos);
+			changedChunks.clear();
+		}
+	}
+
+	/**
+	 * Queues the chunk for the given tick, unless it already is.
+	 */
+	private void schedule(long tick, int chunkX, int chunkZ) {
+		Deadline deadline = new Deadline(tick, chunkX, chunkZ);
+		if (scheduled.add(deadline)) deadlines.add(deadline);
+	}
+
+	private void sync(ChunkPos pos) {
+		if (!(world instanceof WorldServer)) return;
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.x, pos.z);
+		if (chunk == null) return;
+
+		NBTTagCompound compound = null;
+		for (EntityPlayer player : world.playerEntities) {
+			if (!(player instanceof EntityPlayerMP) || player instanceof FakePlayer) continue;
+			if (!((WorldServer) world).getPlayerChunkMap().isPlayerWatchingChunk((EntityPlayerMP) player, pos.x, pos.z))
+				continue;
+
+			if (compound == null) compound = writeChunk(world, chunk);
+			PacketHandler.NETWORK.sendTo(new PacketSyncTemporaryBlocks(compound), (EntityPlayerMP) player);
+		}
+	}
+
+	private static NBTTagCompound writeChunk(World world, Chunk chunk) {
+		NBTTagCompound compound = new NBTTagCompound();
+		compound.setInteger("dimension", world.provider.getDimension());
+		compound.setInteger("x", chunk.x);
+		compound.setInteger("z", chunk.z);
+		compound.setTag("blocks", WizardryChunkCapability.get(chunk).getTemporaryBlocks().serializeNBT());
+		return compound;
+	}
+
+	/**
+	 * Replaces the temporary blocks of a chunk on the client.
+	 */
+	public static void apply(World world, NBTTagCompound compound) {
+		if (compound.getInteger("dimension") != world.provider.getDimension()) return;
+
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(compound.getInteger("x"), compound.getInteger("z"));
+		if (chunk == null) return;
+
+		WizardryChunkCapability.get(chunk).getTemporaryBlocks().deserializeNBT(compound.getTagList("blocks", Constants.NBT.TAG_COMPOUND));
+	}
+
+	private static final class Deadline implements Comparable<Deadline> {
+		private final long tick;
+		private final int chunkX;
+		private final int chunkZ;
+
+		Deadline(long tick, int chunkX, int chunkZ) {
+			this.tick = tick;
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+		}
+
+		@Override
+		public int compareTo(Deadline other) {
+			return Long.compare(tick, other.tick);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Deadline)) return false;
+			Deadline other = (Deadline) o;
+			return tick == other.tick && chunkX == other.chunkX && chunkZ == other.chunkZ;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(tick, chunkX, chunkZ);
+		}
+	}
+}
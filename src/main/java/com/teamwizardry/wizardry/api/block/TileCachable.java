@@ -1,79 +1,71 @@
 package com.teamwizardry.wizardry.api.block;
 
 import com.teamwizardry.librarianlib.features.base.block.tile.TileMod;
-import com.teamwizardry.wizardry.api.ConfigValues;
-import com.teamwizardry.wizardry.api.capability.chunk.WizardryChunk;
-import com.teamwizardry.wizardry.api.capability.chunk.WizardryChunkCapability;
-import net.minecraft.tileentity.TileEntity;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.WeakHashMap;
+import java.util.List;
 
+/**
+ * A tile which is part of its world's {@link ManaNetwork}. <br/>
+ * Tiles join the network when loaded and leave it when unloaded or removed,
+ * linking to every other cachable tile within {@link com.teamwizardry.wizardry.api.ConfigValues#networkLinkDistance}.
+ */
 public class TileCachable extends TileMod
 {
+	/**
+	 * Links to the tiles in range, nearest first. Maintained by {@link ManaNetwork}.
+	 */
 	@Nonnull
-	WeakHashMap<TileEntity, Double> distanceCache = new WeakHashMap<>();
-	
-	private static int LINK_DIST_SQ = ConfigValues.networkLinkDistance * ConfigValues.networkLinkDistance;
-	private static int CHUNK_RANGE = (ConfigValues.networkLinkDistance >> 4) + 1;
-	private static int CHUNK_DIST_SQ = CHUNK_RANGE * CHUNK_RANGE;
+	final ArrayList<ManaNetwork.Link> links = new ArrayList<>();
+
+	ManaNetwork.Component component = null;
 
 	@Override
 	public void onLoad()
 	{
 		super.onLoad();
+		ManaNetwork.get(world).join(this);
+	}
 
-		int chunkX = pos.getX() >> 4;
-		int chunkZ = pos.getZ() >> 4;
+	@Override
+	public void onChunkUnload()
+	{
+		super.onChunkUnload();
+		ManaNetwork.get(world).leave(this);
+	}
 
-		Queue<TileCachable> toCheck = new LinkedList<>();
-		
-		for (int x = -CHUNK_RANGE; x <= CHUNK_RANGE; x++)
-		{
-			for (int z = -CHUNK_RANGE; z <= CHUNK_RANGE; z++)
-			{
-				if (x*x + z*z > CHUNK_DIST_SQ) continue;
-				WizardryChunk chunk = WizardryChunkCapability.get(world.getChunk(chunkX + x, chunkZ + z));
-				toCheck.addAll(chunk.getCachableTiles());
-			}
-		}
-		
-		while (!toCheck.isEmpty())
-		{
-			TileCachable tile = toCheck.remove();
-			double dist = tile.getPos().distanceSq(pos);
-			if (dist <= LINK_DIST_SQ)
-			{
-				tile.distanceCache.put(this, dist);
-				distanceCache.put(tile, dist);
-			}
-		}
+	@Override
+	public void invalidate()
+	{
+		super.invalidate();
+		if (world != null)
+			ManaNetwork.get(world).leave(this);
+	}
 
-		WizardryChunk chunk = WizardryChunkCapability.get(world.getChunk(chunkX, chunkZ));
-		chunk.addCachableTile(this);
+	/**
+	 * Called whenever a link of this tile is added or removed.
+	 */
+	protected void onLinksChanged()
+	{
 	}
 
-	double getCachedDistanceSq(TileEntity tile) {
-		return distanceCache.getOrDefault(tile, Double.MAX_VALUE);
+	public boolean hasLinks()
+	{
+		return !links.isEmpty();
 	}
 
+	/**
+	 * @return the linked tiles of the given class, nearest first.
+	 */
 	@Nonnull
 	@SuppressWarnings("unchecked")
-	<T extends TileEntity> ArrayList<T> getNearestNodes(Class<T> clazz) {
-		ArrayList<T> poses = new ArrayList<>();
-		for (TileEntity tile : distanceCache.keySet()) {
-			if (tile == this) continue;
-			if (!tile.getClass().isAssignableFrom(clazz)) continue;
-			if (!world.isBlockLoaded(tile.getPos())) continue;
-
-			TileEntity tileCheck = world.getTileEntity(tile.getPos());
-			if (tileCheck != null && !tileCheck.getClass().isAssignableFrom(clazz)) continue;
-
-			poses.add((T) tileCheck);
+	<T extends TileCachable> List<T> getNearestNodes(Class<T> clazz) {
+		ArrayList<T> nodes = new ArrayList<>();
+		for (ManaNetwork.Link link : links) {
+			if (!link.tile.getClass().isAssignableFrom(clazz)) continue;
+			nodes.add((T) link.tile);
 		}
-		return poses;
+		return nodes;
 	}
 }
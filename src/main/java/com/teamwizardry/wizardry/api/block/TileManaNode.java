@@ -33,7 +33,9 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiPredicate;
 
 public class TileManaNode extends TileCachable implements ITickable {
@@ -102,6 +104,11 @@ public class TileManaNode extends TileCachable implements ITickable {
 	@Nullable
 	private BlockPos structurePos = null;
 
+	/**
+	 * The linked nodes each suck rule applies to, nearest first. Cleared whenever the links change.
+	 */
+	private final Map<SuckRule, List<TileManaNode>> nodesBySuckRule = new IdentityHashMap<>();
+
 	public TileManaNode(double maxMana, double maxBurnout) {
 		cap = new ManaModule(new CustomManaCapability(maxMana, maxBurnout));
 	}
@@ -112,11 +119,24 @@ public class TileManaNode extends TileCachable implements ITickable {
 
 	@Override
 	public void update() {
-		if (distanceCache.isEmpty()) return;
+		if (!hasLinks()) return;
+
+		ManaNetwork.get(world).update(this);
+	}
 
+	/**
+	 * Called by the {@link ManaNetwork} once per tick when mana flows through the component of this node.
+	 */
+	void flow() {
 		if (suckManaAutomatically()) suckMana(getWizardryCap());
 	}
 
+	@Override
+	protected void onLinksChanged() {
+		super.onLinksChanged();
+		nodesBySuckRule.clear();
+	}
+
 	public boolean suckManaAutomatically() {
 		return true;
 	}
@@ -136,8 +156,7 @@ public class TileManaNode extends TileCachable implements ITickable {
 		for (SuckRule suckRule : suckRules) {
 			if (getClass().isAssignableFrom(suckRule.thisClazz)) {
 
-				ArrayList<TileManaNode> nodes = getNearestNodes(suckRule.fromClazz);
-				nodes.sort(Comparator.comparingDouble(this::getCachedDistanceSq));
+				List<TileManaNode> nodes = nodesBySuckRule.computeIfAbsent(suckRule, rule -> getNearestNodes(rule.fromClazz));
 
 				int i = 0;
 				for (TileManaNode from : nodes) {
@@ -4,15 +4,18 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.WeakHashMap;
 
+import com.teamwizardry.wizardry.api.block.TemporaryBlockQueue;
 import com.teamwizardry.wizardry.api.block.TileCachable;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.Constants;
 
 public class StandardWizardryChunk implements WizardryChunk
 {
 	private Set<TileCachable> cachedTiles = Collections.newSetFromMap(new WeakHashMap<TileCachable, Boolean>());
+	private final TemporaryBlockQueue temporaryBlocks = new TemporaryBlockQueue();
 	
 	public static StandardWizardryChunk create()
 	{
@@ -35,11 +38,17 @@ public class StandardWizardryChunk implements WizardryChunk
 	@Override
 	public NBTTagCompound serializeNBT()
 	{
-		return new NBTTagCompound();
+		NBTTagCompound nbt = new NBTTagCompound();
+		if (!temporaryBlocks.isEmpty())
+			nbt.setTag("temporary_blocks", temporaryBlocks.serializeNBT());
+		return nbt;
 	}
 
 	@Override
-	public void deserializeNBT(NBTTagCompound nbt){}
+	public void deserializeNBT(NBTTagCompound nbt)
+	{
+		temporaryBlocks.deserializeNBT(nbt.getTagList("temporary_blocks", Constants.NBT.TAG_COMPOUND));
+	}
 
 	@Override
 	public void addCachableTile(TileCachable tile)
@@ -47,10 +56,22 @@ public class StandardWizardryChunk implements WizardryChunk
 		cachedTiles.add(tile);
 	}
 
+	@Override
+	public void removeCachableTile(TileCachable tile)
+	{
+		cachedTiles.remove(tile);
+	}
+
 	@Override
 	public Set<TileCachable> getCachableTiles()
 	{
 		return cachedTiles;
 	}
 
+	@Override
+	public TemporaryBlockQueue getTemporaryBlocks()
+	{
+		return temporaryBlocks;
+	}
+
 }
@@ -2,6 +2,7 @@ package com.teamwizardry.wizardry.api.capability.chunk;
 
 import java.util.Set;
 
+import com.teamwizardry.wizardry.api.block.TemporaryBlockQueue;
 import com.teamwizardry.wizardry.api.block.TileCachable;
 
 import net.minecraft.nbt.NBTTagCompound;
@@ -11,5 +12,9 @@ public interface WizardryChunk extends ICapabilitySerializable<NBTTagCompound>
 {
 	void addCachableTile(TileCachable tile);
 	
+	void removeCachableTile(TileCachable tile);
+	
 	Set<TileCachable> getCachableTiles();
+	
+	TemporaryBlockQueue getTemporaryBlocks();
 }
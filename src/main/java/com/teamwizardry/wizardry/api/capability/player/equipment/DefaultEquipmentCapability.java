@@ -0,0 +1,78 @@
+package com.teamwizardry.wizardry.api.capability.player.equipment;
+
+import com.teamwizardry.wizardry.api.item.BaublesSupport;
+import com.teamwizardry.wizardry.api.item.halo.HaloTier;
+import com.teamwizardry.wizardry.init.ModItems;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+
+public class DefaultEquipmentCapability implements IEquipmentCapability {
+
+	/**
+	 * Ticks after which the snapshot is rebuilt even without an invalidation,
+	 * for bauble slots changed by something that does not call the bauble hooks.
+	 */
+	private static final int MAX_AGE = 20;
+
+	@Nonnull
+	private ItemStack halo = ItemStack.EMPTY;
+	@Nonnull
+	private ItemStack cape = ItemStack.EMPTY;
+	@Nonnull
+	private HaloTier haloTier = HaloTier.NONE;
+
+	private boolean dirty = true;
+	private long builtAt;
+
+	@Nonnull
+	@Override
+	public HaloTier getHaloTier(EntityLivingBase entity) {
+		refresh(entity);
+		return haloTier;
+	}
+
+	@Nonnull
+	@Override
+	public ItemStack getHalo(EntityLivingBase entity) {
+		refresh(entity);
+		return halo;
+	}
+
+	@Nonnull
+	@Override
+	public ItemStack getCape(EntityLivingBase entity) {
+		refresh(entity);
+		return cape;
+	}
+
+	@Override
+	public void invalidate() {
+		dirty = true;
+	}
+
+	private void refresh(EntityLivingBase entity) {
+		long time = entity.world.getTotalWorldTime();
+		if (!isStale(time)) return;
+
+		halo = ItemStack.EMPTY;
+		cape = ItemStack.EMPTY;
+		for (ItemStack stack : BaublesSupport.getArmor(entity)) {
+			if (stack.isEmpty()) continue;
+
+			if (halo.isEmpty() && HaloTier.of(stack).isWorn()) halo = stack;
+			else if (cape.isEmpty() && stack.getItem() == ModItems.CAPE) cape = stack;
+		}
+		haloTier = HaloTier.of(halo);
+
+		dirty = false;
+		builtAt = time;
+	}
+
+	private boolean isStale(long time) {
+		if (dirty || time < builtAt || time - builtAt >= MAX_AGE) return true;
+		// A worn stack that got used up stays behind as an empty stack
+		return (haloTier.isWorn() && halo.isEmpty()) || (cape != ItemStack.EMPTY && cape.isEmpty());
+	}
+}
@@ -0,0 +1,42 @@
+package com.teamwizardry.wizardry.api.capability.player.equipment;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public class EquipmentCapabilityProvider implements ICapabilityProvider {
+
+	@CapabilityInject(IEquipmentCapability.class)
+	public static final Capability<IEquipmentCapability> equipmentCapability = null;
+	private final IEquipmentCapability capability;
+
+	public EquipmentCapabilityProvider() {
+		capability = new DefaultEquipmentCapability();
+	}
+
+	public EquipmentCapabilityProvider(IEquipmentCapability capability) {
+		this.capability = capability;
+	}
+
+	@Nullable
+	public static IEquipmentCapability getCap(Entity entity) {
+		return entity.getCapability(equipmentCapability, null);
+	}
+
+	@Override
+	public boolean hasCapability(@Nonnull Capability<?> capability, @Nullable EnumFacing facing) {
+		return capability == equipmentCapability;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T getCapability(@Nonnull Capability<T> capability, EnumFacing facing) {
+		if ((equipmentCapability != null) && (capability == equipmentCapability)) return (T) this.capability;
+		return null;
+	}
+}
@@ -0,0 +1,23 @@
+package com.teamwizardry.wizardry.api.capability.player.equipment;
+
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.Capability.IStorage;
+
+/**
+ * The snapshot is rebuilt from the equipment, so nothing is written.
+ */
+public class EquipmentCapabilityStorage implements IStorage<IEquipmentCapability> {
+
+	@Override
+	public NBTBase writeNBT(Capability<IEquipmentCapability> capability, IEquipmentCapability instance, EnumFacing side) {
+		return new NBTTagCompound();
+	}
+
+	@Override
+	public void readNBT(Capability<IEquipmentCapability> capability, IEquipmentCapability instance, EnumFacing side, NBTBase nbt) {
+		instance.invalidate();
+	}
+}
@@ -0,0 +1,84 @@
+package com.teamwizardry.wizardry.api.capability.player.equipment;
+
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.item.BaublesSupport;
+import com.teamwizardry.wizardry.api.item.halo.HaloTier;
+import com.teamwizardry.wizardry.init.ModItems;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reads halos and capes through the {@link IEquipmentCapability} snapshot of players,
+ * and keeps those snapshots up to date. <br/>
+ * Entities without the capability are scanned every time, which for mobs is only their armor.
+ * <br/>
+ * <b>NOTE</b>: Baubles has no event for slot changes, so the mana relevant baubles
+ * call {@link #invalidate(Entity)} from their equip and unequip hooks.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class EquipmentManager {
+
+	private EquipmentManager() {
+	}
+
+	@Nonnull
+	public static HaloTier getHaloTier(@Nullable Entity entity) {
+		if (!(entity instanceof EntityLivingBase)) return HaloTier.NONE;
+
+		IEquipmentCapability cap = EquipmentCapabilityProvider.getCap(entity);
+		if (cap != null) return cap.getHaloTier((EntityLivingBase) entity);
+		return HaloTier.of(BaublesSupport.getItem((EntityLivingBase) entity, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO));
+	}
+
+	public static boolean hasHalo(@Nullable Entity entity) {
+		return getHaloTier(entity).isWorn();
+	}
+
+	@Nonnull
+	public static ItemStack getHalo(@Nullable Entity entity) {
+		if (!(entity instanceof EntityLivingBase)) return ItemStack.EMPTY;
+
+		IEquipmentCapability cap = EquipmentCapabilityProvider.getCap(entity);
+		if (cap != null) return cap.getHalo((EntityLivingBase) entity);
+		return BaublesSupport.getItem((EntityLivingBase) entity, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO);
+	}
+
+	@Nonnull
+	public static ItemStack getCape(@Nullable Entity entity) {
+		if (!(entity instanceof EntityLivingBase)) return ItemStack.EMPTY;
+
+		IEquipmentCapability cap = EquipmentCapabilityProvider.getCap(entity);
+		if (cap != null) return cap.getCape((EntityLivingBase) entity);
+		return BaublesSupport.getItem((EntityLivingBase) entity, ModItems.CAPE);
+	}
+
+	public static void invalidate(@Nullable Entity entity) {
+		if (entity == null) return;
+
+		IEquipmentCapability cap = EquipmentCapabilityProvider.getCap(entity);
+		if (cap != null) cap.invalidate();
+	}
+
+	@SubscribeEvent
+	public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+		invalidate(event.getEntityLiving());
+	}
+
+	@SubscribeEvent
+	public static void onRespawn(PlayerEvent.PlayerRespawnEvent event) {
+		invalidate(event.player);
+	}
+
+	@SubscribeEvent
+	public static void onDimChange(PlayerEvent.PlayerChangedDimensionEvent event) {
+		invalidate(event.player);
+	}
+}
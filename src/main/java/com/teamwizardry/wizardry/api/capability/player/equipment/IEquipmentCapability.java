@@ -0,0 +1,26 @@
+package com.teamwizardry.wizardry.api.capability.player.equipment;
+
+import com.teamwizardry.wizardry.api.item.halo.HaloTier;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A snapshot of the mana relevant equipment of a player, taken from its armor and baubles. <br/>
+ * The snapshot is rebuilt lazily the first time it is read after {@link #invalidate()}.
+ * It is never saved, the equipment itself is.
+ */
+public interface IEquipmentCapability {
+
+	@Nonnull
+	HaloTier getHaloTier(EntityLivingBase entity);
+
+	@Nonnull
+	ItemStack getHalo(EntityLivingBase entity);
+
+	@Nonnull
+	ItemStack getCape(EntityLivingBase entity);
+
+	void invalidate();
+}
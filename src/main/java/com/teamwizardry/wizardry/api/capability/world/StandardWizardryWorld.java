@@ -1,9 +1,8 @@
 package com.teamwizardry.wizardry.api.capability.world;
 
-import com.teamwizardry.librarianlib.features.network.PacketHandler;
 import com.teamwizardry.wizardry.api.SpellObjectManager;
+import com.teamwizardry.wizardry.api.arena.ArenaRegistry;
 import com.teamwizardry.wizardry.common.core.nemez.NemezTracker;
-import com.teamwizardry.wizardry.common.network.capability.PacketSyncWizardryWorld;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -22,6 +21,7 @@ import java.util.UUID;
 public class StandardWizardryWorld implements WizardryWorld {
 	private World world;
 	private SpellObjectManager spellObjectManager = new SpellObjectManager();
+	private final ArenaRegistry arenas = new ArenaRegistry();
 	public HashMap<BlockPos, NemezTracker> blockNemezDrives = new HashMap<>();
 	public HashMap<UUID, NemezTracker> entityNemezDrives = new HashMap<>();
 	public HashMap<UUID, Integer> zombieBackupTracker = new HashMap<>();
@@ -36,17 +36,21 @@ public class StandardWizardryWorld implements WizardryWorld {
 		return new StandardWizardryWorld();
 	}
 
-	//		PacketHandler.NETWORK.sendToDimension(new PacketSyncWizardryWorld(serializeNBT()), world.provider.getDimension());
 	@Override
 	public SpellObjectManager getSpellObjectManager() {
 		return spellObjectManager;
 	}
 
+	@Override
+	public ArenaRegistry getArenas() {
+		return arenas;
+	}
+
 	@Override
 	public NemezTracker addNemezDrive(BlockPos pos, NemezTracker nemezDrive) {
 		blockNemezDrives.put(pos, nemezDrive);
 
-		PacketHandler.NETWORK.sendToDimension(new PacketSyncWizardryWorld(serializeNBT()), world.provider.getDimension());
+		WizardryWorldSync.markDriveChanged(world, pos);
 
 		return nemezDrive;
 	}
@@ -54,9 +58,6 @@ public class StandardWizardryWorld implements WizardryWorld {
 	@Override
 	public NemezTracker addNemezDrive(UUID uuid, NemezTracker nemezDrive) {
 		entityNemezDrives.put(uuid, nemezDrive);
-
-		PacketHandler.NETWORK.sendToDimension(new PacketSyncWizardryWorld(serializeNBT()), world.provider.getDimension());
-
 		return nemezDrive;
 	}
 
@@ -64,14 +65,18 @@ public class StandardWizardryWorld implements WizardryWorld {
 	public void removeNemezDrive(BlockPos pos) {
 		blockNemezDrives.remove(pos);
 
-		PacketHandler.NETWORK.sendToDimension(new PacketSyncWizardryWorld(serializeNBT()), world.provider.getDimension());
+		WizardryWorldSync.markDriveChanged(world, pos);
 	}
 
 	@Override
 	public void removeNemezDrive(UUID uuid) {
 		entityNemezDrives.remove(uuid);
+	}
 
-		PacketHandler.NETWORK.sendToDimension(new PacketSyncWizardryWorld(serializeNBT()), world.provider.getDimension());
+	@Override
+	public void markNemezDriveDirty(BlockPos pos) {
+		if (blockNemezDrives.containsKey(pos))
+			WizardryWorldSync.markDriveChanged(world, pos);
 	}
 
 	@Override
@@ -143,6 +148,9 @@ public class StandardWizardryWorld implements WizardryWorld {
 		}
 
 		compound.setTag("drives", driveNBT);
+
+		if (!arenas.isEmpty())
+			compound.setTag("arenas", arenas.serializeNBT());
 		return compound;
 	}
 
@@ -167,6 +175,9 @@ public class StandardWizardryWorld implements WizardryWorld {
 				}
 			}
 		}
+
+		if (compound.hasKey("arenas"))
+			arenas.deserializeNBT(compound.getTagList("arenas", Constants.NBT.TAG_COMPOUND));
 	}
 
 	@Override
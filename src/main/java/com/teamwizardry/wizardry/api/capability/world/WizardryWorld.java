@@ -1,6 +1,7 @@
 package com.teamwizardry.wizardry.api.capability.world;
 
 import com.teamwizardry.wizardry.api.SpellObjectManager;
+import com.teamwizardry.wizardry.api.arena.ArenaRegistry;
 import com.teamwizardry.wizardry.common.core.nemez.NemezTracker;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
@@ -13,6 +14,8 @@ public interface WizardryWorld extends ICapabilitySerializable<NBTTagCompound> {
 
 	SpellObjectManager getSpellObjectManager();
 
+	ArenaRegistry getArenas();
+
 	NemezTracker addNemezDrive(BlockPos pos, NemezTracker nemezDrive);
 
 	NemezTracker addNemezDrive(UUID uuid, NemezTracker nemezDrive);
@@ -21,6 +24,11 @@ public interface WizardryWorld extends ICapabilitySerializable<NBTTagCompound> {
 
 	void removeNemezDrive(UUID uuid);
 
+	/**
+	 * Marks the contents of the block nemez drive at the given position as changed, so that it gets synced to clients.
+	 */
+	void markNemezDriveDirty(BlockPos pos);
+
 	HashMap<BlockPos, NemezTracker> getBlockNemezDrives();
 
 	HashMap<UUID, NemezTracker> getEntityNemezDrives();
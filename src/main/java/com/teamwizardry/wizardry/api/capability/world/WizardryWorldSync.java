@@ -0,0 +1,244 @@
+package com.teamwizardry.wizardry.api.capability.world;
+
+import com.teamwizardry.librarianlib.features.network.PacketHandler;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.common.core.nemez.NemezTracker;
+import com.teamwizardry.wizardry.common.network.capability.PacketSyncWizardryWorld;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.*;
+
+/**
+ * Syncs the block nemez drives of a {@link WizardryWorld} to clients. <br/>
+ * Changes are collected per player during a tick and only for players watching the chunk of the drive.
+ * At the end of the tick every player gets at most one {@link PacketSyncWizardryWorld} holding the changed drives.
+ * Players get the drives of a chunk once they start watching it, so logging in or changing dimension only resets the client.
+ * <br/>
+ * <b>NOTE</b>: Spell objects are not synced. Nothing on the client reads them,
+ * and deserializing them needs the server to look up their worlds.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class WizardryWorldSync {
+
+	private static final String NBT_DIMENSION = "dimension";
+	private static final String NBT_RESET = "reset";
+	private static final String NBT_DRIVES = "drives";
+	private static final String NBT_REMOVED = "removed";
+	private static final String NBT_UNWATCHED = "unwatched";
+
+	private static final Map<UUID, PendingSync> pending = new HashMap<>();
+
+	private WizardryWorldSync() {
+	}
+
+	/**
+	 * Queues the drive at the given position, or its removal, for every player watching its chunk.
+	 */
+	static void markDriveChanged(World world, BlockPos pos) {
+		if (!(world instanceof WorldServer)) return;
+
+		int chunkX = pos.getX() >> 4;
+		int chunkZ = pos.getZ() >> 4;
+		for (EntityPlayer player : world.playerEntities) {
+			if (!(player instanceof EntityPlayerMP) || player instanceof FakePlayer) continue;
+			if (!((WorldServer) world).getPlayerChunkMap().isPlayerWatchingChunk((EntityPlayerMP) player, chunkX, chunkZ))
+				continue;
+
+			getPending(player).drives.add(pos);
+		}
+	}
+
+	private static PendingSync getPending(EntityPlayer player) {
+		PendingSync sync = pending.get(player.getUniqueID());
+		if (sync == null || sync.dimension != player.dimension) {
+			// Changes of a world the player just left are of no use to its client
+			sync = new PendingSync(player.dimension);
+			pending.put(player.getUniqueID(), sync);
+		}
+		return sync;
+	}
+
+	/**
+	 * Has the client drop its drives before the queued ones arrive.
+	 * Players are added to the chunk map before these events, so drives of the chunks they watch right away are already queued and kept.
+	 */
+	private static void reset(EntityPlayer player) {
+		if (player.world.isRemote) return;
+
+		getPending(player).reset = true;
+	}
+
+	@SubscribeEvent
+	public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
+		reset(event.player);
+	}
+
+	@SubscribeEvent
+	public static void onDimChange(PlayerEvent.PlayerChangedDimensionEvent event) {
+		reset(event.player);
+	}
+
+	@SubscribeEvent
+	public static void onRespawn(PlayerEvent.PlayerRespawnEvent event) {
+		reset(event.player);
+	}
+
+	@SubscribeEvent
+	public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		pending.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public static void onChunkWatch(ChunkWatchEvent.Watch event) {
+		EntityPlayerMP player = event.getPlayer();
+		Map<BlockPos, NemezTracker> drives = WizardryWorldCapability.get(player.world).getBlockNemezDrives();
+		if (drives.isEmpty()) return;
+
+		PendingSync sync = getPending(player);
+		ChunkPos chunk = event.getChunk();
+		for (BlockPos pos : drives.keySet()) {
+			if (pos.getX() >> 4 == chunk.x && pos.getZ() >> 4 == chunk.z)
+				sync.drives.add(pos);
+		}
+		sync.unwatched.remove(ChunkPos.asLong(chunk.x, chunk.z));
+	}
+
+	@SubscribeEvent
+	public static void onChunkUnwatch(ChunkWatchEvent.UnWatch event) {
+		PendingSync sync = getPending(event.getPlayer());
+		ChunkPos chunk = event.getChunk();
+		sync.drives.removeIf(pos -> pos.getX() >> 4 == chunk.x && pos.getZ() >> 4 == chunk.z);
+		sync.unwatched.add(ChunkPos.asLong(chunk.x, chunk.z));
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) return;
+		if (pending.isEmpty()) return;
+
+		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		if (server == null) return;
+
+		// Drives changed for several players are serialized once
+		Map<World, Map<BlockPos, NBTTagCompound>> serialized = new HashMap<>();
+
+		for (Iterator<Map.Entry<UUID, PendingSync>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<UUID, PendingSync> entry = it.next();
+			PendingSync sync = entry.getValue();
+			if (sync.isEmpty()) continue;
+
+			EntityPlayerMP player = server.getPlayerList().getPlayerByUUID(entry.getKey());
+			if (player == null) {
+				it.remove();
+				continue;
+			}
+			if (player.dimension != sync.dimension) {
+				entry.setValue(new PendingSync(player.dimension));
+				continue;
+			}
+
+			NBTTagCompound compound = sync.write(player.world, serialized.computeIfAbsent(player.world, world -> new HashMap<>()));
+			entry.setValue(new PendingSync(player.dimension));
+
+			PacketHandler.NETWORK.sendTo(new PacketSyncWizardryWorld(compound), player);
+		}
+	}
+
+	/**
+	 * Applies a sync on the client.
+	 */
+	public static void apply(World world, NBTTagCompound compound) {
+		if (compound.getInteger(NBT_DIMENSION) != world.provider.getDimension()) return;
+
+		Map<BlockPos, NemezTracker> drives = WizardryWorldCapability.get(world).getBlockNemezDrives();
+		if (compound.getBoolean(NBT_RESET))
+			drives.clear();
+
+		NBTTagList unwatched = compound.getTagList(NBT_UNWATCHED, Constants.NBT.TAG_LONG);
+		if (!unwatched.isEmpty()) {
+			Set<Long> chunks = new HashSet<>();
+			for (NBTBase base : unwatched)
+				chunks.add(((NBTTagLong) base).getLong());
+			drives.keySet().removeIf(pos -> chunks.contains(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4)));
+		}
+
+		for (NBTBase base : compound.getTagList(NBT_REMOVED, Constants.NBT.TAG_LONG))
+			drives.remove(BlockPos.fromLong(((NBTTagLong) base).getLong()));
+
+		for (NBTBase base : compound.getTagList(NBT_DRIVES, Constants.NBT.TAG_COMPOUND)) {
+			NBTTagCompound driveCompound = (NBTTagCompound) base;
+			NemezTracker tracker = new NemezTracker();
+			tracker.deserializeNBT(driveCompound.getTagList("drive", Constants.NBT.TAG_COMPOUND));
+			drives.put(BlockPos.fromLong(driveCompound.getLong("pos")), tracker);
+		}
+	}
+
+	/**
+	 * Changes queued for one player, coalesced until the end of the tick.
+	 */
+	private static final class PendingSync {
+		private final int dimension;
+		private final Set<BlockPos> drives = new HashSet<>();
+		private final Set<Long> unwatched = new HashSet<>();
+		private boolean reset = false;
+
+		PendingSync(int dimension) {
+			this.dimension = dimension;
+		}
+
+		boolean isEmpty() {
+			return !reset && drives.isEmpty() && unwatched.isEmpty();
+		}
+
+		NBTTagCompound write(World world, Map<BlockPos, NBTTagCompound> serialized) {
+			Map<BlockPos, NemezTracker> current = WizardryWorldCapability.get(world).getBlockNemezDrives();
+
+			NBTTagCompound compound = new NBTTagCompound();
+			compound.setInteger(NBT_DIMENSION, dimension);
+			if (reset) compound.setBoolean(NBT_RESET, true);
+
+			NBTTagList unwatchedList = new NBTTagList();
+			for (long chunk : unwatched)
+				unwatchedList.appendTag(new NBTTagLong(chunk));
+			compound.setTag(NBT_UNWATCHED, unwatchedList);
+
+			NBTTagList driveList = new NBTTagList();
+			NBTTagList removedList = new NBTTagList();
+			for (BlockPos pos : drives) {
+				NemezTracker tracker = current.get(pos);
+				if (tracker == null) {
+					removedList.appendTag(new NBTTagLong(pos.toLong()));
+					continue;
+				}
+
+				driveList.appendTag(serialized.computeIfAbsent(pos, key -> {
+					NBTTagCompound driveCompound = new NBTTagCompound();
+					driveCompound.setLong("pos", key.toLong());
+					driveCompound.setTag("drive", tracker.serializeNBT());
+					return driveCompound;
+				}));
+			}
+			compound.setTag(NBT_DRIVES, driveList);
+			compound.setTag(NBT_REMOVED, removedList);
+			return compound;
+		}
+	}
+}
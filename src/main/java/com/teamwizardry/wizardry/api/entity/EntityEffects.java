@@ -0,0 +1,197 @@
+package com.teamwizardry.wizardry.api.entity;
+
+import com.teamwizardry.librarianlib.features.methodhandles.MethodHandleHelper;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.events.EntityMoveEvent;
+import com.teamwizardry.wizardry.api.events.EntityTravelEvent;
+import com.teamwizardry.wizardry.api.events.PlayerClipEvent;
+import com.teamwizardry.wizardry.api.events.SlipperinessEvent;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
+import kotlin.jvm.functions.Function2;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.potion.Potion;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.entity.living.LivingEvent;
+import net.minecraftforge.event.entity.living.PotionEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a bitmask on every entity of the effects which change how it moves, and the listeners of those effects. <br/>
+ * The movement hooks of {@link com.teamwizardry.wizardry.asm.WizardryTransformer} check the mask before doing anything,
+ * so entities without such an effect pay a field read per hook. For flagged entities the hooks call the listeners
+ * registered here directly, in order of priority, instead of posting the events on the event bus.
+ * <br/>
+ * Flags of potions registered with {@link #registerPotion(Potion, int)} follow the entity's active potions.
+ * Other effects set and clear their flags themselves with {@link #addFlags(Entity, int)} and {@link #removeFlags(Entity, int)}.
+ * <br/>
+ * <b>NOTE</b>: Flags are only a hint that an entity might be affected, listeners still check their effect.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class EntityEffects {
+
+	/**
+	 * Name of the field the transformer adds to {@link Entity} for the mask.
+	 */
+	public static final String FIELD_NAME = "wizardryEffectFlags";
+
+	/**
+	 * {@link EntityMoveEvent}
+	 */
+	public static final int MOVE = 1;
+
+	/**
+	 * {@link EntityTravelEvent}
+	 */
+	public static final int TRAVEL = 1 << 1;
+
+	/**
+	 * {@link SlipperinessEvent}
+	 */
+	public static final int SLIPPERINESS = 1 << 2;
+
+	/**
+	 * {@link PlayerClipEvent}
+	 */
+	public static final int CLIP = 1 << 3;
+
+	private static final Function1<Entity, Object> flagsGetter = MethodHandleHelper.wrapperForGetter(Entity.class, FIELD_NAME);
+	private static final Function2<Entity, Object, Unit> flagsSetter = MethodHandleHelper.wrapperForSetter(Entity.class, FIELD_NAME);
+
+	private static final Map<Potion, Integer> potionFlags = new IdentityHashMap<>();
+	private static int allPotionFlags = 0;
+
+	private static final Listeners<EntityMoveEvent> moveListeners = new Listeners<>();
+	private static final Listeners<EntityTravelEvent> travelListeners = new Listeners<>();
+	private static final Listeners<SlipperinessEvent> slipperinessListeners = new Listeners<>();
+	private static final Listeners<PlayerClipEvent> clipListeners = new Listeners<>();
+
+	private EntityEffects() {
+	}
+
+	/**
+	 * Flags entities for as long as they have the potion active. Must be called during init.
+	 */
+	public static void registerPotion(@Nonnull Potion potion, int flags) {
+		potionFlags.merge(potion, flags, (a, b) -> a | b);
+		allPotionFlags |= flags;
+	}
+
+	public static void addMoveListener(EventPriority priority, Consumer<EntityMoveEvent> listener) {
+		moveListeners.add(priority, listener);
+	}
+
+	public static void addTravelListener(EventPriority priority, Consumer<EntityTravelEvent> listener) {
+		travelListeners.add(priority, listener);
+	}
+
+	public static void addSlipperinessListener(EventPriority priority, Consumer<SlipperinessEvent> listener) {
+		slipperinessListeners.add(priority, listener);
+	}
+
+	public static void addClipListener(EventPriority priority, Consumer<PlayerClipEvent> listener) {
+		clipListeners.add(priority, listener);
+	}
+
+	public static int getFlags(@Nonnull Entity entity) {
+		return (Integer) flagsGetter.invoke(entity);
+	}
+
+	public static boolean hasFlags(@Nonnull Entity entity, int flags) {
+		return (getFlags(entity) & flags) != 0;
+	}
+
+	public static void addFlags(@Nonnull Entity entity, int flags) {
+		int current = getFlags(entity);
+		if ((current | flags) != current) flagsSetter.invoke(entity, current | flags);
+	}
+
+	public static void removeFlags(@Nonnull Entity entity, int flags) {
+		int current = getFlags(entity);
+		if ((current & ~flags) != current) flagsSetter.invoke(entity, current & ~flags);
+	}
+
+	public static void postMove(EntityMoveEvent event) {
+		moveListeners.post(event);
+	}
+
+	public static void postTravel(EntityTravelEvent event) {
+		travelListeners.post(event);
+	}
+
+	public static void postSlipperiness(SlipperinessEvent event) {
+		slipperinessListeners.post(event);
+	}
+
+	public static void postClip(PlayerClipEvent event) {
+		clipListeners.post(event);
+	}
+
+	/**
+	 * Sets the potion flags of the entity to the ones of its active potions, keeping its other flags.
+	 */
+	private static void updatePotionFlags(EntityLivingBase entity) {
+		int flags = 0;
+		if (!entity.getActivePotionMap().isEmpty())
+			for (Potion potion : entity.getActivePotionMap().keySet()) {
+				Integer potionFlag = potionFlags.get(potion);
+				if (potionFlag != null) flags |= potionFlag;
+			}
+
+		int current = getFlags(entity);
+		int updated = (current & ~allPotionFlags) | flags;
+		if (updated != current) flagsSetter.invoke(entity, updated);
+	}
+
+	@SubscribeEvent
+	public static void onPotionAdded(PotionEvent.PotionAddedEvent event) {
+		Integer flags = potionFlags.get(event.getPotionEffect().getPotion());
+		if (flags != null) addFlags(event.getEntityLiving(), flags);
+	}
+
+	@SubscribeEvent
+	public static void onJoinWorld(EntityJoinWorldEvent event) {
+		if (event.getEntity() instanceof EntityLivingBase)
+			updatePotionFlags((EntityLivingBase) event.getEntity());
+	}
+
+	/**
+	 * Potions can run out or be removed on either side without an event, so flagged entities are checked every tick.
+	 */
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public static void onLivingUpdate(LivingEvent.LivingUpdateEvent event) {
+		if ((getFlags(event.getEntityLiving()) & allPotionFlags) != 0)
+			updatePotionFlags(event.getEntityLiving());
+	}
+
+	private static final class Listeners<E extends Event> {
+		private final List<Consumer<E>> listeners = new ArrayList<>();
+		private final List<EventPriority> priorities = new ArrayList<>();
+
+		void add(EventPriority priority, Consumer<E> listener) {
+			int index = 0;
+			while (index < priorities.size() && priorities.get(index).ordinal() <= priority.ordinal())
+				index++;
+			listeners.add(index, listener);
+			priorities.add(index, priority);
+		}
+
+		void post(E event) {
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).accept(event);
+				if (event.isCanceled()) return;
+			}
+		}
+	}
+}
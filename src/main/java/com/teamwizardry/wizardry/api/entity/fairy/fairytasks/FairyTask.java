@@ -4,9 +4,9 @@ import com.teamwizardry.wizardry.common.entity.EntityFairy;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.WorldServer;
 
 import javax.annotation.Nullable;
-import java.util.List;
 import java.util.UUID;
 
 public abstract class FairyTask {
@@ -34,33 +34,28 @@ public abstract class FairyTask {
 	@Nullable
 	protected static EntityFairy getChainedFairy(EntityFairy fairy) {
 		UUID attachedUUID = fairy.getChainedFairy();
-
-		List<Entity> list = fairy.world.loadedEntityList;
-		for (Entity entity : list) {
-			if (entity instanceof EntityFairy && entity.getUniqueID().equals(attachedUUID)) {
-				if (entity.isDead) continue;
-
-				return (EntityFairy) entity;
+		if (attachedUUID == null) return null;
+
+		Entity entity;
+		if (fairy.world instanceof WorldServer)
+			entity = ((WorldServer) fairy.world).getEntityFromUuid(attachedUUID);
+		else {
+			entity = null;
+			for (Entity loaded : fairy.world.loadedEntityList) {
+				if (loaded instanceof EntityFairy && !loaded.isDead && loaded.getUniqueID().equals(attachedUUID)) {
+					entity = loaded;
+					break;
+				}
 			}
 		}
 
-		return null;
+		if (!(entity instanceof EntityFairy) || entity.isDead) return null;
+		return (EntityFairy) entity;
 	}
 
 	protected static boolean isPriorityTaken(EntityFairy fairy) {
-		UUID attachedUUID = fairy.getChainedFairy();
-
-		List<Entity> list = fairy.world.loadedEntityList;
-		for (Entity entity : list) {
-			if (entity instanceof EntityFairy && entity.getUniqueID().equals(attachedUUID)) {
-				if (entity.isDead) continue;
-
-				EntityFairy attachedFairy = (EntityFairy) entity;
-				return attachedFairy.fairyTaskController.getTask().getPriority() > fairy.fairyTaskController.getTask().getPriority();
-			}
-		}
-
-		return false;
+		EntityFairy attachedFairy = getChainedFairy(fairy);
+		return attachedFairy != null && attachedFairy.fairyTaskController.getTask().getPriority() > fairy.fairyTaskController.getTask().getPriority();
 	}
 
 	public abstract void onForceTrigger(EntityFairy fairy);
@@ -0,0 +1,186 @@
+package com.teamwizardry.wizardry.api.entity.fairy.fairytasks;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.common.entity.EntityFairy;
+import com.teamwizardry.wizardry.init.ModItems;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ticks the tasks of every fairy of a world together, at the end of the world's tick. <br/>
+ * Fairies {@link #schedule(EntityFairy) schedule} themselves when they update, and are grouped by the chunk they are in.
+ * World queries are shared by the fairies of a region: the items around them are looked up once per region and tick,
+ * and the players holding a fairy bell are found once per tick from the player list,
+ * so a farm of hundreds of fairies ticks in about linear time.
+ * <br/>
+ * <b>NOTE</b>: Shared results are only valid while fairies tick, outside of that the queries go to the world directly.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class FairyTaskScheduler {
+
+	/**
+	 * How far a fairy reaches for items.
+	 */
+	public static final double ITEM_RANGE = 3;
+
+	/**
+	 * How far from a fairy a player holding a fairy bell stuns it.
+	 */
+	public static final double BELL_RANGE = 5;
+
+	private static final Map<World, FairyTaskScheduler> schedulers = new MapMaker().weakKeys().makeMap();
+
+	private final World world;
+	private final List<EntityFairy> scheduled = new ArrayList<>();
+	private final Map<Long, Region> regions = new HashMap<>();
+	private boolean ticking = false;
+
+	private FairyTaskScheduler(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Has the fairy's task ticked at the end of this world tick. Only does something on the server.
+	 */
+	public static void schedule(@Nonnull EntityFairy fairy) {
+		if (fairy.world.isRemote) return;
+
+		schedulers.computeIfAbsent(fairy.world, FairyTaskScheduler::new).scheduled.add(fairy);
+	}
+
+	/**
+	 * @return The items within {@link #ITEM_RANGE} of the fairy which can be picked up, in no particular order.
+	 * The list is the caller's to modify.
+	 */
+	public static List<EntityItem> getNearbyItems(@Nonnull EntityFairy fairy) {
+		AxisAlignedBB range = new AxisAlignedBB(fairy.getPosition()).grow(ITEM_RANGE);
+
+		FairyTaskScheduler scheduler = schedulers.get(fairy.world);
+		Region region = scheduler == null || !scheduler.ticking ? null : scheduler.regions.get(getRegionKey(fairy));
+		if (region == null || !region.covers(range))
+			return fairy.world.getEntitiesWithinAABB(EntityItem.class, range, input -> input != null && !input.cannotPickup());
+
+		List<EntityItem> items = new ArrayList<>();
+		for (EntityItem item : region.getItems(fairy.world))
+			if (!item.isDead && !item.cannotPickup() && range.intersects(item.getEntityBoundingBox()))
+				items.add(item);
+		return items;
+	}
+
+	private static long getRegionKey(EntityFairy fairy) {
+		return ChunkPos.asLong(fairy.chunkCoordX, fairy.chunkCoordZ);
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+
+		FairyTaskScheduler scheduler = schedulers.get(event.world);
+		if (scheduler != null) scheduler.tick();
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		schedulers.remove(event.getWorld());
+	}
+
+	private void tick() {
+		if (scheduled.isEmpty()) return;
+
+		List<AxisAlignedBB> bells = getBellHolders();
+
+		for (EntityFairy fairy : scheduled) {
+			if (fairy.isDead) continue;
+
+			fairy.setStunned(isNearBell(fairy, bells));
+			regions.computeIfAbsent(getRegionKey(fairy), key -> new Region()).include(fairy);
+		}
+
+		ticking = true;
+		try {
+			for (EntityFairy fairy : scheduled)
+				if (!fairy.isDead && !fairy.isStunned())
+					fairy.fairyTaskController.tick(fairy);
+		} finally {
+			ticking = false;
+			scheduled.clear();
+			regions.clear();
+		}
+	}
+
+	private List<AxisAlignedBB> getBellHolders() {
+		List<AxisAlignedBB> bells = new ArrayList<>();
+		for (EntityPlayer player : world.playerEntities) {
+			for (EnumHand hand : EnumHand.values()) {
+				if (player.getHeldItem(hand).getItem() == ModItems.FAIRY_BELL) {
+					bells.add(player.getEntityBoundingBox());
+					break;
+				}
+			}
+		}
+		return bells;
+	}
+
+	private static boolean isNearBell(EntityFairy fairy, List<AxisAlignedBB> bells) {
+		if (bells.isEmpty()) return false;
+
+		AxisAlignedBB range = fairy.getEntityBoundingBox().grow(BELL_RANGE);
+		for (AxisAlignedBB bell : bells)
+			if (range.intersects(bell))
+				return true;
+		return false;
+	}
+
+	/**
+	 * The fairies of one chunk in a tick. The items around them are only looked up once a fairy asks for them.
+	 */
+	private static final class Region {
+		private double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+		private double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+		private AxisAlignedBB bounds;
+		private List<EntityItem> items;
+
+		void include(EntityFairy fairy) {
+			minX = Math.min(minX, fairy.posX);
+			minY = Math.min(minY, fairy.posY);
+			minZ = Math.min(minZ, fairy.posZ);
+			maxX = Math.max(maxX, fairy.posX);
+			maxY = Math.max(maxY, fairy.posY);
+			maxZ = Math.max(maxZ, fairy.posZ);
+		}
+
+		/**
+		 * @return Whether the range lies within what the region looks up. Fairies moved by others during the tick may not.
+		 */
+		boolean covers(AxisAlignedBB range) {
+			if (bounds == null) {
+				// Fairies reach from their block position, so cover whole blocks around every one of them
+				bounds = new AxisAlignedBB(Math.floor(minX), Math.floor(minY), Math.floor(minZ),
+						Math.floor(maxX) + 1, Math.floor(maxY) + 1, Math.floor(maxZ) + 1).grow(ITEM_RANGE);
+			}
+			return range.minX >= bounds.minX && range.minY >= bounds.minY && range.minZ >= bounds.minZ
+					&& range.maxX <= bounds.maxX && range.maxY <= bounds.maxY && range.maxZ <= bounds.maxZ;
+		}
+
+		List<EntityItem> getItems(World world) {
+			if (items == null)
+				items = world.getEntitiesWithinAABB(EntityItem.class, bounds);
+			return items;
+		}
+	}
+}
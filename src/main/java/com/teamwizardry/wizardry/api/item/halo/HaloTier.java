@@ -0,0 +1,23 @@
+package com.teamwizardry.wizardry.api.item.halo;
+
+import com.teamwizardry.wizardry.init.ModItems;
+import net.minecraft.item.ItemStack;
+
+/**
+ * The kinds of halo a caster can wear, from none to creative.
+ */
+public enum HaloTier {
+	NONE, CRUDE, REAL, CREATIVE;
+
+	public static HaloTier of(ItemStack stack) {
+		if (stack.isEmpty()) return NONE;
+		if (stack.getItem() == ModItems.CREATIVE_HALO) return CREATIVE;
+		if (stack.getItem() == ModItems.REAL_HALO) return REAL;
+		if (stack.getItem() == ModItems.FAKE_HALO) return CRUDE;
+		return NONE;
+	}
+
+	public boolean isWorn() {
+		return this != NONE;
+	}
+}
@@ -8,4 +8,13 @@ public interface LifetimeObject {
 
 	void stop();
 
+	/**
+	 * Objects which don't need {@link #tick()} are only looked at again once their lifespan is over.
+	 *
+	 * @return whether {@link #tick()} has to be called every tick.
+	 */
+	default boolean isTicking() {
+		return true;
+	}
+
 }
\ No newline at end of file
@@ -7,55 +7,92 @@ import net.minecraftforge.common.util.Constants;
 import java.util.*;
 import java.util.function.Consumer;
 
+/**
+ * Keeps objects alive for a given number of ticks. <br/>
+ * Entries are bucketed into a timing wheel by the tick they expire at, so each tick only looks at the bucket
+ * of that tick. Only objects which are {@link LifetimeObject#isTicking() ticking} are iterated every tick.
+ */
 public final class LifetimeObjectManager<T extends LifetimeObject> {
 	private static final String NBT_KEY_TICK = "tick";
 	private static final String NBT_KEY_ENTRIES = "entries";
 	private static final String NBT_KEY_ENTRY_OBJECT = "object";
 	private static final String NBT_KEY_ENTRY_TICK = "tick";
+
+	/**
+	 * Number of buckets of the wheel. Must be a power of two.
+	 * Entries expiring further away than this are passed over once per revolution.
+	 */
+	private static final int WHEEL_SIZE = 256;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
 	private final Adapter<T> adapter;
-	private final List<Entry> entries = new ArrayList<>();
-	private final Deque<Entry> adds = new ArrayDeque<>();
+	private final List<List<Entry<T>>> wheel = new ArrayList<>(WHEEL_SIZE);
+	private final List<Entry<T>> ticking = new ArrayList<>();
+	private final Deque<Entry<T>> adds = new ArrayDeque<>();
 	private long tick;
 
 	public LifetimeObjectManager(final Adapter<T> adapter) {
 		this.adapter = adapter;
+		for (int i = 0; i < WHEEL_SIZE; i++)
+			this.wheel.add(new ArrayList<>());
 	}
 
 	public void add(final T object, final long lifespan) {
-		this.adds.addLast(new Entry(object, lifespan));
+		this.adds.addLast(new Entry<>(object, lifespan));
 	}
 
 	public void tick(Consumer<Boolean> onChange) {
-		for (Entry entry; ((entry = this.adds.pollFirst()) != null); ) {
+		for (Entry<T> entry; ((entry = this.adds.pollFirst()) != null); ) {
 			onChange.accept(true);
-			this.entries.add(entry);
+			this.schedule(entry, entry.lifespan);
 			entry.object.start();
 		}
-		for (final Iterator<Entry> it = this.entries.iterator(); it.hasNext(); ) {
-			final Entry entry = it.next();
-			//	Minecraft.getMinecraft().player.sendChatMessage(entry.tick + " / " + this.tick);
-			if (--entry.tick > 0) {
-				entry.object.tick();
-			} else {
+
+		final long now = this.tick;
+		this.ticking.removeIf(entry -> {
+			if (entry.deadline <= now) return true;
+			entry.object.tick();
+			return false;
+		});
+
+		final List<Entry<T>> bucket = this.wheel.get((int) (now & WHEEL_MASK));
+		if (!bucket.isEmpty()) {
+			bucket.removeIf(entry -> {
+				if (entry.deadline > now) return false;
 				entry.object.stop();
-				it.remove();
 				onChange.accept(true);
-			}
+				return true;
+			});
 		}
 		this.tick++;
 	}
 
+	/**
+	 * Puts an entry into the bucket of the tick it expires at.
+	 * An object with a lifespan of {@code n} gets ticked {@code n - 1} times and stopped on the {@code n}th tick,
+	 * counting the current one.
+	 */
+	private void schedule(final Entry<T> entry, final long lifespan) {
+		entry.deadline = this.tick + Math.max(lifespan, 1) - 1;
+		this.wheel.get((int) (entry.deadline & WHEEL_MASK)).add(entry);
+		if (entry.object.isTicking())
+			this.ticking.add(entry);
+	}
+
 	public NBTTagCompound toNbt() {
 		final NBTTagCompound compound = new NBTTagCompound();
 		compound.setLong(NBT_KEY_TICK, this.tick);
 		final NBTTagList entries = new NBTTagList();
-		for (final Entry e : this.entries) {
-			this.adapter.toNbt(e.object, nbt -> {
-				final NBTTagCompound entry = new NBTTagCompound();
-				entry.setTag(NBT_KEY_ENTRY_OBJECT, nbt);
-				entry.setLong(NBT_KEY_ENTRY_TICK, e.tick);
-				entries.appendTag(entry);
-			});
+		for (final List<Entry<T>> bucket : this.wheel) {
+			for (final Entry<T> e : bucket) {
+				this.adapter.toNbt(e.object, nbt -> {
+					final NBTTagCompound entry = new NBTTagCompound();
+					entry.setTag(NBT_KEY_ENTRY_OBJECT, nbt);
+					// Remaining ticks, counting the next one
+					entry.setLong(NBT_KEY_ENTRY_TICK, e.deadline - this.tick + 1);
+					entries.appendTag(entry);
+				});
+			}
 		}
 		compound.setTag(NBT_KEY_ENTRIES, entries);
 		return compound;
@@ -63,13 +100,16 @@ public final class LifetimeObjectManager<T extends LifetimeObject> {
 
 	public void fromNbt(final NBTTagCompound compound) {
 		this.tick = compound.getLong(NBT_KEY_TICK);
-		this.entries.clear();
+		for (final List<Entry<T>> bucket : this.wheel)
+			bucket.clear();
+		this.ticking.clear();
 		final NBTTagList entries = compound.getTagList(NBT_KEY_ENTRIES, Constants.NBT.TAG_COMPOUND);
 		for (int i = 0; i < entries.tagCount(); i++) {
 			final NBTTagCompound entry = entries.getCompoundTagAt(i);
-			this.adapter.fromNbt(entry.getCompoundTag(NBT_KEY_ENTRY_OBJECT), obj ->
-					this.entries.add(new Entry(obj, entry.getLong(NBT_KEY_ENTRY_TICK)))
-			);
+			this.adapter.fromNbt(entry.getCompoundTag(NBT_KEY_ENTRY_OBJECT), obj -> {
+				final long remaining = entry.getLong(NBT_KEY_ENTRY_TICK);
+				this.schedule(new Entry<>(obj, remaining), remaining);
+			});
 		}
 	}
 
@@ -79,14 +119,18 @@ public final class LifetimeObjectManager<T extends LifetimeObject> {
 		void fromNbt(final NBTTagCompound nbt, final Consumer<T> consumer);
 	}
 
-	private final class Entry {
+	private static final class Entry<T extends LifetimeObject> {
 		private final T object;
+		private final long lifespan;
 
-		private long tick;
+		/**
+		 * The manager tick at which the object gets stopped.
+		 */
+		private long deadline;
 
-		Entry(final T object, final long tick) {
+		Entry(final T object, final long lifespan) {
 			this.object = object;
-			this.tick = tick;
+			this.lifespan = lifespan;
 		}
 	}
-}
\ No newline at end of file
+}
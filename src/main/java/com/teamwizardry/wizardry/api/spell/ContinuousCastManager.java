@@ -0,0 +1,120 @@
+package com.teamwizardry.wizardry.api.spell;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.Wizardry;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.util.EnumHand;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.living.LivingDeathEvent;
+import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Owns the {@link ContinuousCastSession}s of every world, one per caster and hand. <br/>
+ * A session ends when its caster releases the item, logs out or dies.
+ * Sessions that were not used for {@link #IDLE_TICKS} ticks end as well, which covers casters
+ * switching items and casters without an item.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class ContinuousCastManager {
+
+	private static final int IDLE_TICKS = 20;
+
+	private static final Map<World, Map<UUID, EnumMap<EnumHand, ContinuousCastSession>>> sessions = new MapMaker().weakKeys().makeMap();
+
+	private ContinuousCastManager() {
+	}
+
+	/**
+	 * Gets the session of the hand the caster is using, starting one if there is none.
+	 */
+	public static ContinuousCastSession getSession(EntityLivingBase caster) {
+		return getSession(caster, caster.isHandActive() ? caster.getActiveHand() : EnumHand.MAIN_HAND);
+	}
+
+	public static ContinuousCastSession getSession(EntityLivingBase caster, EnumHand hand) {
+		long tick = caster.world.getTotalWorldTime();
+		ContinuousCastSession session = sessions.computeIfAbsent(caster.world, world -> new HashMap<>())
+				.computeIfAbsent(caster.getUniqueID(), uuid -> new EnumMap<>(EnumHand.class))
+				.computeIfAbsent(hand, key -> new ContinuousCastSession(key, tick));
+		session.lastTick = tick;
+		return session;
+	}
+
+	@Nullable
+	public static ContinuousCastSession getExistingSession(Entity caster, EnumHand hand) {
+		Map<UUID, EnumMap<EnumHand, ContinuousCastSession>> worldSessions = sessions.get(caster.world);
+		if (worldSessions == null) return null;
+
+		EnumMap<EnumHand, ContinuousCastSession> casterSessions = worldSessions.get(caster.getUniqueID());
+		return casterSessions == null ? null : casterSessions.get(hand);
+	}
+
+	public static void endSession(Entity caster, EnumHand hand) {
+		Map<UUID, EnumMap<EnumHand, ContinuousCastSession>> worldSessions = sessions.get(caster.world);
+		if (worldSessions == null) return;
+
+		EnumMap<EnumHand, ContinuousCastSession> casterSessions = worldSessions.get(caster.getUniqueID());
+		if (casterSessions == null) return;
+
+		casterSessions.remove(hand);
+		if (casterSessions.isEmpty()) worldSessions.remove(caster.getUniqueID());
+	}
+
+	public static void endSessions(Entity caster) {
+		for (Map<UUID, EnumMap<EnumHand, ContinuousCastSession>> worldSessions : sessions.values())
+			worldSessions.remove(caster.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public static void onStopUsing(LivingEntityUseItemEvent.Stop event) {
+		EntityLivingBase entity = event.getEntityLiving();
+		endSession(entity, entity.getActiveHand());
+	}
+
+	@SubscribeEvent
+	public static void onFinishUsing(LivingEntityUseItemEvent.Finish event) {
+		EntityLivingBase entity = event.getEntityLiving();
+		endSession(entity, entity.getActiveHand());
+	}
+
+	@SubscribeEvent
+	public static void onDeath(LivingDeathEvent event) {
+		endSessions(event.getEntityLiving());
+	}
+
+	@SubscribeEvent
+	public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		endSessions(event.player);
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		sessions.remove(event.getWorld());
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) return;
+
+		Map<UUID, EnumMap<EnumHand, ContinuousCastSession>> worldSessions = sessions.get(event.world);
+		if (worldSessions == null || worldSessions.isEmpty()) return;
+
+		long tick = event.world.getTotalWorldTime();
+		worldSessions.values().removeIf(casterSessions -> {
+			casterSessions.values().removeIf(session -> tick - session.lastTick > IDLE_TICKS);
+			return casterSessions.isEmpty();
+		});
+	}
+}
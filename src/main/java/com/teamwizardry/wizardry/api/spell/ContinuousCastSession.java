@@ -0,0 +1,103 @@
+package com.teamwizardry.wizardry.api.spell;
+
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.Vec3d;
+
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
+/**
+ * The state of one caster continuously casting with one hand, kept between the ticks of the cast.
+ * Sessions are owned by the {@link ContinuousCastManager}, which ends them when the caster lets go,
+ * logs out, dies or stops casting for a while.
+ */
+public class ContinuousCastSession {
+
+	private final EnumHand hand;
+	private final long startTick;
+	long lastTick;
+
+	private double charge = 0;
+	private boolean fired = false;
+
+	@Nullable
+	private RayTraceResult trace = null;
+	@Nullable
+	private Vec3d traceLook = null;
+	@Nullable
+	private Vec3d traceOrigin = null;
+	private double traceRange = 0;
+	private long traceTick = -1;
+
+	ContinuousCastSession(EnumHand hand, long tick) {
+		this.hand = hand;
+		this.startTick = tick;
+		this.lastTick = tick;
+	}
+
+	public EnumHand getHand() {
+		return hand;
+	}
+
+	/**
+	 * @return The number of ticks since the session started.
+	 */
+	public long getAge() {
+		return lastTick - startTick;
+	}
+
+	/**
+	 * What a shape accumulated towards its next firing, like the beam's timer.
+	 */
+	public double getCharge() {
+		return charge;
+	}
+
+	public void setCharge(double charge) {
+		this.charge = charge;
+	}
+
+	/**
+	 * Whether the shape fired on the last tick it ran.
+	 */
+	public boolean hasFired() {
+		return fired;
+	}
+
+	public void setFired(boolean fired) {
+		this.fired = fired;
+	}
+
+	/**
+	 * Returns the trace of this tick if it was made with the same look, origin and range,
+	 * otherwise makes a new one and keeps it. Traces are never reused across ticks,
+	 * as the blocks and entities they hit may have changed.
+	 */
+	public RayTraceResult trace(Vec3d look, Vec3d origin, double range, Supplier<RayTraceResult> tracer) {
+		if (trace != null && traceTick == lastTick && traceRange == range && look.equals(traceLook) && origin.equals(traceOrigin))
+			return trace;
+
+		trace = tracer.get();
+		traceLook = look;
+		traceOrigin = origin;
+		traceRange = range;
+		traceTick = lastTick;
+		return trace;
+	}
+
+	/**
+	 * @return The last trace made in this session, which may be from an earlier tick.
+	 */
+	@Nullable
+	public RayTraceResult getLastTrace() {
+		return trace;
+	}
+
+	/**
+	 * @return The tick the last trace was made in, or -1 if none was made yet.
+	 */
+	public long getLastTraceTick() {
+		return traceTick;
+	}
+}
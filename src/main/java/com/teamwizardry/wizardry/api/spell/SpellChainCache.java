@@ -0,0 +1,167 @@
+package com.teamwizardry.wizardry.api.spell;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.api.ConfigValues;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded cache of compiled spell chains, keyed by the normalized spell {@link NBTTagList} of a spell holder.
+ * See {@link SpellRing#serializeNBT()} for why that list is a reliable key. <br/>
+ * Lookups first check the exact list instance, which is what a held staff returns every tick,
+ * and then fall back to comparing the list contents. A list instance edited in place is told apart
+ * by its size and content hash. The least recently used chain gets evicted
+ * once {@link ConfigValues#spellChainCacheSize} is exceeded. <br/>
+ * <b>NOTE</b>: Rings handed out from here are shared by every caller. Don't modify them,
+ * use {@link SpellRing#changeUUID()} to get a ring which can run independently.
+ */
+public final class SpellChainCache {
+
+	public static final SpellChainCache INSTANCE = new SpellChainCache();
+
+	/**
+	 * Compiled chains by spell list contents. Access ordered, so the eldest entry is the least recently used one.
+	 */
+	private final LinkedHashMap<NBTTagList, CompiledSpell> chains = new LinkedHashMap<NBTTagList, CompiledSpell>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<NBTTagList, CompiledSpell> eldest) {
+			if (size() <= ConfigValues.spellChainCacheSize) return false;
+			evictions++;
+			return true;
+		}
+	};
+
+	/**
+	 * Compiled chains by list instance. Weak keys compare by identity, so entries disappear together with their stacks.
+	 */
+	private final ConcurrentMap<NBTTagList, CompiledSpell> instances = new MapMaker().weakKeys().makeMap();
+
+	private long hits = 0;
+	private long identityHits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	private SpellChainCache() {
+	}
+
+	/**
+	 * Returns the compiled spell of the given list, deserializing it only if no equal list was seen recently.
+	 *
+	 * @param list NBTTagList where each tag contains a whole SpellRing chain.
+	 * @return the compiled spell.
+	 */
+	@Nonnull
+	public CompiledSpell get(@Nonnull NBTTagList list) {
+		CompiledSpell compiled = instances.get(list);
+		// Hashing the list is still far cheaper than deserializing it, and catches rings replaced in place.
+		if (compiled != null && compiled.tagCount == list.tagCount() && compiled.contentHash == list.hashCode()) {
+			synchronized (this) {
+				identityHits++;
+			}
+			return compiled;
+		}
+
+		synchronized (this) {
+			compiled = chains.get(list);
+			if (compiled != null) {
+				hits++;
+			} else {
+				misses++;
+				compiled = new CompiledSpell(list);
+				chains.put(list.copy(), compiled);
+			}
+		}
+
+		instances.put(list, compiled);
+		return compiled;
+	}
+
+	/**
+	 * Drops all compiled chains. Must be called whenever modules get reloaded, as rings hold on to module instances.
+	 */
+	public synchronized void clear() {
+		chains.clear();
+		instances.clear();
+	}
+
+	public synchronized void resetStatistics() {
+		hits = 0;
+		identityHits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	public synchronized int size() {
+		return chains.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getIdentityHits() {
+		return identityHits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * The immutable result of deserializing a spell list once.
+	 */
+	public static final class CompiledSpell {
+
+		private final int tagCount;
+		private final int contentHash;
+		private final List<SpellRing> chains;
+		private final List<SpellRing> allRings;
+
+		private CompiledSpell(NBTTagList list) {
+			this.tagCount = list.tagCount();
+			this.contentHash = list.hashCode();
+
+			ImmutableList.Builder<SpellRing> chains = ImmutableList.builder();
+			ImmutableList.Builder<SpellRing> allRings = ImmutableList.builder();
+			for (int i = 0; i < list.tagCount(); i++) {
+				NBTTagCompound compound = list.getCompoundTagAt(i);
+				SpellRing ring = SpellRing.deserializeRing(compound);
+				if (ring == null) continue;
+				chains.add(ring);
+
+				SpellRing tempSpellRing = ring;
+				while (tempSpellRing != null) {
+					allRings.add(tempSpellRing);
+					tempSpellRing = tempSpellRing.getChildRing();
+				}
+			}
+			this.chains = chains.build();
+			this.allRings = allRings.build();
+		}
+
+		/**
+		 * @return the head of each ring chain.
+		 */
+		public List<SpellRing> getChains() {
+			return chains;
+		}
+
+		/**
+		 * @return every ring of every chain, ordered head to tail.
+		 */
+		public List<SpellRing> getAllRings() {
+			return allRings;
+		}
+	}
+}
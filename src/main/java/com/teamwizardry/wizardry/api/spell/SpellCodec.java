@@ -0,0 +1,344 @@
+package com.teamwizardry.wizardry.api.spell;
+
+import com.teamwizardry.wizardry.api.spell.SpellData.DataField;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Binary form of {@link SpellData} and {@link SpellRing}, used for render packets and saved spell objects. <br/>
+ * A stream starts with its {@link #VERSION}. Names which repeat, like field names, module ids and attribute names,
+ * are written the first time they appear in a stream, and as a varint id afterwards.
+ * Values of common types are written at a fixed width, others as the NBT of their {@link ProcessData.DataType}.
+ * Every value is prefixed with its length, so fields which are unknown to the reading side are skipped.
+ * <br/>
+ * <b>NOTE</b>: Fields are referenced by name within a stream, not by {@link DataField#getIndex()}.
+ * The indices follow the order fields are constructed in, which differs between client, server and sessions.
+ */
+public final class SpellCodec {
+
+	/**
+	 * Version of the format. Streams of a newer version are refused.
+	 */
+	public static final int VERSION = 1;
+
+	private static final String NBT_KEY_VALUE = "value";
+
+	private static final Map<Class<?>, ValueCodec<?>> valueCodecs = new HashMap<>();
+
+	static {
+		register(Integer.class, ByteBuf::writeInt, ByteBuf::readInt);
+		register(Float.class, ByteBuf::writeFloat, ByteBuf::readFloat);
+		register(Long.class, ByteBuf::writeLong, ByteBuf::readLong);
+		register(BlockPos.class, (buf, pos) -> buf.writeLong(pos.toLong()), buf -> BlockPos.fromLong(buf.readLong()));
+		register(EnumFacing.class, (buf, facing) -> buf.writeByte(facing.getIndex()), buf -> EnumFacing.VALUES[buf.readUnsignedByte() % EnumFacing.VALUES.length]);
+		register(String.class, ByteBufUtils::writeUTF8String, ByteBufUtils::readUTF8String);
+		register(Vec3d.class, (buf, vec) -> {
+			buf.writeDouble(vec.x);
+			buf.writeDouble(vec.y);
+			buf.writeDouble(vec.z);
+		}, buf -> new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()));
+		register(UUID.class, (buf, uuid) -> {
+			buf.writeLong(uuid.getMostSignificantBits());
+			buf.writeLong(uuid.getLeastSignificantBits());
+		}, buf -> new UUID(buf.readLong(), buf.readLong()));
+	}
+
+	private SpellCodec() {
+	}
+
+	private static <T> void register(Class<T> type, ValueWriter<T> writer, ValueReader<T> reader) {
+		valueCodecs.put(type, new ValueCodec<>(writer, reader));
+	}
+
+	/**
+	 * @return a new stream holding whatever the given function writes.
+	 */
+	@Nonnull
+	public static byte[] toBytes(@Nonnull Consumer<Writer> content) {
+		ByteBuf buf = Unpooled.buffer();
+		content.accept(new Writer(buf));
+
+		byte[] bytes = new byte[buf.readableBytes()];
+		buf.readBytes(bytes);
+		return bytes;
+	}
+
+	/**
+	 * @throws DataSerializationException if the stream is of a newer version.
+	 */
+	@Nonnull
+	public static Reader fromBytes(@Nonnull byte[] bytes) {
+		return new Reader(Unpooled.wrappedBuffer(bytes));
+	}
+
+	/**
+	 * Encodes every field of the data on its own, by field name. A field explicitly set to {@code null} maps to an empty array.
+	 * Two values are equal if their arrays are, which makes this a snapshot to compare later data against.
+	 */
+	@Nonnull
+	public static Map<String, byte[]> encodeFields(@Nonnull SpellData data) {
+		Map<String, byte[]> fields = new LinkedHashMap<>();
+		ByteBuf scratch = Unpooled.buffer();
+		data.forEachField((field, value) -> {
+			scratch.clear();
+			writeValue(scratch, field, value);
+
+			byte[] bytes = new byte[scratch.readableBytes()];
+			scratch.readBytes(bytes);
+			fields.put(field.getFieldName(), bytes);
+		});
+		return fields;
+	}
+
+	/**
+	 * Reverse of {@link #encodeFields(SpellData)}. Unknown fields are left out.
+	 */
+	@Nonnull
+	public static SpellData decodeFields(@Nonnull Map<String, byte[]> fields) {
+		SpellData data = new SpellData();
+		for (Map.Entry<String, byte[]> entry : fields.entrySet()) {
+			DataField<?> field = SpellData.getField(entry.getKey());
+			if (field != null)
+				data.setField(field, readValue(Unpooled.wrappedBuffer(entry.getValue()), field));
+		}
+		return data;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeValue(ByteBuf buf, DataField<?> field, @Nullable Object value) {
+		if (value == null) return;
+
+		ValueCodec<Object> codec = (ValueCodec<Object>) valueCodecs.get(field.getDataType());
+		if (codec != null) {
+			codec.writer.write(buf, value);
+			return;
+		}
+
+		NBTTagCompound compound = new NBTTagCompound();
+		compound.setTag(NBT_KEY_VALUE, field.getDataTypeProcess().serialize(value));
+		ByteBufUtils.writeTag(buf, compound);
+	}
+
+	/**
+	 * @param buf holding exactly the value.
+	 */
+	@Nullable
+	private static Object readValue(ByteBuf buf, DataField<?> field) {
+		if (!buf.isReadable()) return null;
+
+		ValueCodec<?> codec = valueCodecs.get(field.getDataType());
+		if (codec != null) return codec.reader.read(buf);
+
+		NBTTagCompound compound = ByteBufUtils.readTag(buf);
+		NBTBase tag = compound == null ? null : compound.getTag(NBT_KEY_VALUE);
+		return tag == null ? null : field.getDataTypeProcess().deserialize(tag);
+	}
+
+	/**
+	 * Writes a stream, see {@link SpellCodec}.
+	 */
+	public static final class Writer {
+		private final ByteBuf buf;
+		private final ByteBuf scratch = Unpooled.buffer();
+		private final Object2IntMap<String> names = new Object2IntOpenHashMap<>();
+
+		/**
+		 * Starts a stream at the writer index of the buffer.
+		 */
+		public Writer(@Nonnull ByteBuf buf) {
+			this.buf = buf;
+			writeVarInt(VERSION);
+		}
+
+		public void writeVarInt(int value) {
+			ByteBufUtils.writeVarInt(buf, value, 5);
+		}
+
+		public void writeBoolean(boolean value) {
+			buf.writeBoolean(value);
+		}
+
+		public void writeInt(int value) {
+			buf.writeInt(value);
+		}
+
+		public void writeFloat(float value) {
+			buf.writeFloat(value);
+		}
+
+		public void writeUUID(@Nonnull UUID uuid) {
+			buf.writeLong(uuid.getMostSignificantBits());
+			buf.writeLong(uuid.getLeastSignificantBits());
+		}
+
+		/**
+		 * Writes a name, as an id if it was written to this stream before.
+		 */
+		public void writeName(@Nonnull String name) {
+			int id = names.getOrDefault(name, -1);
+			if (id >= 0) {
+				writeVarInt(id + 1);
+				return;
+			}
+
+			names.put(name, names.size());
+			writeVarInt(0);
+			ByteBufUtils.writeUTF8String(buf, name);
+		}
+
+		public void writeBytes(@Nonnull byte[] bytes) {
+			writeVarInt(bytes.length);
+			buf.writeBytes(bytes);
+		}
+
+		/**
+		 * Writes a field as encoded by {@link SpellCodec#encodeFields(SpellData)}.
+		 */
+		public void writeField(@Nonnull String name, @Nonnull byte[] value) {
+			writeName(name);
+			writeBytes(value);
+		}
+
+		public void writeData(@Nonnull SpellData data) {
+			writeVarInt(data.getFieldCount());
+			data.forEachField((field, value) -> {
+				scratch.clear();
+				writeValue(scratch, field, value);
+
+				writeName(field.getFieldName());
+				writeVarInt(scratch.readableBytes());
+				buf.writeBytes(scratch);
+			});
+		}
+
+		/**
+		 * Writes the chain from the ring on.
+		 *
+		 * @param withUUID whether to write the unique ids of the rings. Rings read without get new ones.
+		 */
+		public void writeRing(@Nonnull SpellRing ring, boolean withUUID) {
+			ring.write(this, withUUID);
+		}
+	}
+
+	/**
+	 * Reads a stream written by {@link Writer}.
+	 */
+	public static final class Reader {
+		private final ByteBuf buf;
+		private final List<String> names = new ArrayList<>();
+
+		/**
+		 * Starts reading a stream at the reader index of the buffer.
+		 *
+		 * @throws DataSerializationException if the stream is of a newer version.
+		 */
+		public Reader(@Nonnull ByteBuf buf) {
+			this.buf = buf;
+			int version = readVarInt();
+			if (version > VERSION)
+				throw new DataSerializationException("Spell stream version " + version + " is newer than " + VERSION + ".");
+		}
+
+		public int readVarInt() {
+			return ByteBufUtils.readVarInt(buf, 5);
+		}
+
+		public boolean readBoolean() {
+			return buf.readBoolean();
+		}
+
+		public int readInt() {
+			return buf.readInt();
+		}
+
+		public float readFloat() {
+			return buf.readFloat();
+		}
+
+		@Nonnull
+		public UUID readUUID() {
+			return new UUID(buf.readLong(), buf.readLong());
+		}
+
+		@Nonnull
+		public String readName() {
+			int id = readVarInt();
+			if (id > 0) {
+				if (id > names.size())
+					throw new DataSerializationException("Spell stream references unknown name " + (id - 1) + ".");
+				return names.get(id - 1);
+			}
+
+			String name = ByteBufUtils.readUTF8String(buf);
+			names.add(name);
+			return name;
+		}
+
+		@Nonnull
+		public byte[] readBytes() {
+			byte[] bytes = new byte[readVarInt()];
+			buf.readBytes(bytes);
+			return bytes;
+		}
+
+		@Nonnull
+		public SpellData readData() {
+			SpellData data = new SpellData();
+			int count = readVarInt();
+			for (int i = 0; i < count; i++) {
+				DataField<?> field = SpellData.getField(readName());
+				int length = readVarInt();
+				if (field == null) {
+					buf.skipBytes(length);
+					continue;
+				}
+
+				ByteBuf value = buf.readSlice(length);
+				data.setField(field, readValue(value, field));
+			}
+			return data;
+		}
+
+		/**
+		 * Reads a chain written by {@link Writer#writeRing(SpellRing, boolean)}.
+		 */
+		@Nonnull
+		public SpellRing readRing() {
+			return SpellRing.read(this);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ValueWriter<T> {
+		void write(ByteBuf buf, T value);
+	}
+
+	@FunctionalInterface
+	private interface ValueReader<T> {
+		T read(ByteBuf buf);
+	}
+
+	private static final class ValueCodec<T> {
+		private final ValueWriter<T> writer;
+		private final ValueReader<T> reader;
+
+		ValueCodec(ValueWriter<T> writer, ValueReader<T> reader) {
+			this.writer = writer;
+			this.reader = reader;
+		}
+	}
+}
@@ -27,6 +27,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
 
 import static com.teamwizardry.wizardry.api.spell.SpellData.DefaultKeys.BLOCK_HIT;
 
@@ -39,8 +41,28 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 
 	private static HashMap<String, DataField<?>> availableFields = new HashMap<>();
 
+	/**
+	 * Slot index of each field name. Fields constructed twice with the same name share a slot.
+	 */
+	private static final HashMap<String, Integer> fieldIndices = new HashMap<>();
+
+	/**
+	 * Marks a slot that was explicitly set to {@code null}, which still gets serialized.
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	/**
+	 * Fields whose values have to be copied along with the data, see {@link #constructField(String, Class, UnaryOperator)}.
+	 */
+	private static final List<DataField<?>> copiedFields = new ArrayList<>();
+
+	/**
+	 * Values by {@link DataField#getIndex()}. Shared between a SpellData and its copies until either side writes.
+	 */
 	@Nonnull
-	private final HashMap<DataField<?>, Object> data = new HashMap<>();
+	private Object[] slots;
+
+	private boolean slotsShared = false;
 
 	/**
 	 * A map holding cast time modifiers
@@ -49,6 +71,15 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 	@Nonnull
 	private HashMap<Attribute, ArrayListMultimap<Operation, AttributeModifier>> castTimeModifiers = new HashMap<>();
 
+	public SpellData() {
+		this.slots = new Object[fieldIndices.size()];
+	}
+
+	private SpellData(@Nonnull Object[] slots) {
+		this.slots = slots;
+		this.slotsShared = true;
+	}
+
 	@Nonnull
 	public static <T> DataField<T> constructField(@Nonnull String key, @Nonnull Class<T> type) {
 		DataField<T> field = new DataField<T>(key, type);
@@ -56,21 +87,73 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 		return field;
 	}
 
+	/**
+	 * Same as {@link #constructField(String, Class)}, for types holding mutable state.
+	 * The copier is applied to the value whenever the data gets {@link #copy() copied},
+	 * so copies never see each other's changes.
+	 */
+	@Nonnull
+	public static <T> DataField<T> constructField(@Nonnull String key, @Nonnull Class<T> type, @Nonnull UnaryOperator<T> copier) {
+		DataField<T> field = new DataField<T>(key, type, copier);
+		availableFields.put(key, field);
+		copiedFields.add(field);
+		return field;
+	}
+
+	private static int indexOf(@Nonnull String fieldName) {
+		Integer index = fieldIndices.get(fieldName);
+		if (index == null)
+			fieldIndices.put(fieldName, index = fieldIndices.size());
+		return index;
+	}
+
 	@Nonnull
 	static Collection<DataField<?>> getAllAvailableFields() {
 		return Collections.unmodifiableCollection(availableFields.values());
 	}
 
+	@Nullable
+	static DataField<?> getField(@Nonnull String fieldName) {
+		return availableFields.get(fieldName);
+	}
+
+	/**
+	 * Makes the slot array exclusive to this instance and large enough to hold the given slot.
+	 */
+	private void prepareWrite(int index) {
+		if (index >= slots.length)
+			slots = Arrays.copyOf(slots, Math.max(index + 1, fieldIndices.size()));
+		else if (slotsShared)
+			slots = slots.clone();
+		slotsShared = false;
+	}
+
+	@Nullable
+	private Object getSlot(int index) {
+		if (index >= slots.length) return null;
+		Object value = slots[index];
+		return value == NULL_VALUE ? null : value;
+	}
+
 	public void addAllData(HashMap<DataField<?>, Object> data) {
-		this.data.putAll(data);
+		for (Entry<DataField<?>, Object> entry : data.entrySet()) {
+			int index = entry.getKey().getIndex();
+			prepareWrite(index);
+			slots[index] = entry.getValue() == null ? NULL_VALUE : entry.getValue();
+		}
 	}
 
 	public <T> void addData(@Nonnull DataField<T> key, @Nullable T value) {
-		this.data.put(key, value);
+		int index = key.getIndex();
+		prepareWrite(index);
+		slots[index] = value == null ? NULL_VALUE : value;
 	}
 
 	public <T> void removeData(@Nonnull DataField<T> key) {
-		this.data.remove(key);
+		int index = key.getIndex();
+		if (index >= slots.length || slots[index] == null) return;
+		prepareWrite(index);
+		slots[index] = null;
 	}
 
 	public static SpellData deserializeData(NBTTagCompound compound) {
@@ -86,7 +169,7 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 	}
 
 	public <T> boolean hasData(@Nonnull DataField<T> key) {
-		return data.get(key) != null;
+		return getSlot(key.getIndex()) != null;
 	}
 
 	public void processTrace(RayTraceResult trace, @Nullable Vec3d fallback) {
@@ -110,7 +193,7 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 	@Nullable
 	@SuppressWarnings("unchecked")
 	public <T> T getData(@Nonnull DataField<T> key) {
-		Object value = data.get(key);
+		Object value = getSlot(key.getIndex());
 		if (key.getDataType().isInstance(value))
 			return (T) value;
 		return null;
@@ -265,20 +348,39 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 		}
 	}
 
+	/**
+	 * Creates a copy which shares all values with this instance until either of them gets written to.
+	 * Values of fields constructed with a copier are copied right away. <br/>
+	 * <b>NOTE</b>: Cast time modifiers are not carried over.
+	 */
 	public SpellData copy() {
-		SpellData spell = new SpellData();
-		spell.addAllData(data);
-		spell.deserializeNBT(serializeNBT());
+		SpellData spell = new SpellData(slots);
+		slotsShared = true;
+
+		for (DataField<?> field : copiedFields)
+			spell.copyValue(field);
 		return spell;
 	}
 
+	private <T> void copyValue(DataField<T> field) {
+		T value = getData(field);
+		if (value == null) return;
+
+		int index = field.getIndex();
+		prepareWrite(index);
+		slots[index] = field.copier.apply(value);
+	}
+
 	@Override
 	public void deserializeNBT(NBTTagCompound nbt) {
 		for (String key : nbt.getKeySet()) {
 			DataField<?> field = availableFields.get(key);
 			if (field != null) {
 				NBTBase nbtType = nbt.getTag(key);
-				data.put(field, field.getDataTypeProcess().deserialize(nbtType));
+				Object value = field.getDataTypeProcess().deserialize(nbtType);
+				int index = field.getIndex();
+				prepareWrite(index);
+				slots[index] = value == null ? NULL_VALUE : value;
 			}
 		}
 	}
@@ -286,16 +388,58 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 	@Override
 	public NBTTagCompound serializeNBT() {
 		NBTTagCompound compound = new NBTTagCompound();
-		for (Entry<DataField<?>, Object> entry : data.entrySet()) {
-			NBTBase nbtClass = entry.getKey().getDataTypeProcess().serialize(entry.getValue());
-			compound.setTag(entry.getKey().getFieldName(), nbtClass);
+		for (DataField<?> field : availableFields.values()) {
+			int index = field.getIndex();
+			if (index >= slots.length || slots[index] == null) continue;
+
+			Object value = slots[index] == NULL_VALUE ? null : slots[index];
+			NBTBase nbtClass = field.getDataTypeProcess().serialize(value);
+			compound.setTag(field.getFieldName(), nbtClass);
 		}
 
 		return compound;
 	}
 
+	/**
+	 * @return the number of fields {@link #forEachField(BiConsumer)} visits.
+	 */
+	int getFieldCount() {
+		int count = 0;
+		for (DataField<?> field : availableFields.values()) {
+			int index = field.getIndex();
+			if (index < slots.length && slots[index] != null) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Visits every field which is set, including the ones explicitly set to {@code null}. Used by {@link SpellCodec}.
+	 */
+	void forEachField(@Nonnull BiConsumer<DataField<?>, Object> consumer) {
+		for (DataField<?> field : availableFields.values()) {
+			int index = field.getIndex();
+			if (index < slots.length && slots[index] != null)
+				consumer.accept(field, getSlot(index));
+		}
+	}
+
+	/**
+	 * Sets a field without checking the type of the value. Used by {@link SpellCodec}.
+	 */
+	void setField(@Nonnull DataField<?> field, @Nullable Object value) {
+		int index = field.getIndex();
+		prepareWrite(index);
+		slots[index] = value == null ? NULL_VALUE : value;
+	}
+
 	@Override
 	public String toString() {
+		Map<String, Object> data = new HashMap<>();
+		for (DataField<?> field : availableFields.values()) {
+			int index = field.getIndex();
+			if (index < slots.length && slots[index] != null)
+				data.put(field.getFieldName(), getSlot(index));
+		}
 		return "SpellData{" +
 				"data=" + data +
 				'}';
@@ -341,11 +485,20 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 	public static class DataField<E> {
 		private final String fieldName;
 		private final Class<E> dataType;
+		private final int index;
+		@Nullable
+		private final UnaryOperator<E> copier;
 		private DataType lazy_dataTypeProcess = null;    // Lazy, because datatypes might not been initialized, if calling before ProcessData.registerAnnotatedDataTypes()
 
 		public DataField(String fieldName, Class<E> dataType) {
+			this(fieldName, dataType, null);
+		}
+
+		public DataField(String fieldName, Class<E> dataType, @Nullable UnaryOperator<E> copier) {
 			this.fieldName = fieldName;
 			this.dataType = dataType;
+			this.copier = copier;
+			this.index = indexOf(fieldName);
 		}
 
 		public String getFieldName() {
@@ -356,6 +509,13 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 			return dataType;
 		}
 
+		/**
+		 * @return the dense slot index of this field inside of a {@link SpellData}.
+		 */
+		public int getIndex() {
+			return index;
+		}
+
 		public DataType getDataTypeProcess() {
 			if (lazy_dataTypeProcess == null)
 				lazy_dataTypeProcess = ProcessData.INSTANCE.getDataType(dataType);
@@ -396,8 +556,8 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 	/////////////////
 
 	public static class DefaultKeys {
-		public static final DataField<NBTTagList> TAG_LIST = constructField("list", NBTTagList.class);
-		public static final DataField<NBTTagCompound> COMPOUND = constructField("compound", NBTTagCompound.class);
+		public static final DataField<NBTTagList> TAG_LIST = constructField("list", NBTTagList.class, NBTTagList::copy);
+		public static final DataField<NBTTagCompound> COMPOUND = constructField("compound", NBTTagCompound.class, NBTTagCompound::copy);
 		public static final DataField<Integer> MAX_TIME = constructField("max_time", Integer.class);
 		public static final DataField<Integer> CASTER = constructField("caster", Integer.class);
 		public static final DataField<Float> YAW = constructField("yaw", Float.class);
@@ -411,8 +571,8 @@ public class SpellData implements INBTSerializable<NBTTagCompound> {
 		public static final DataField<Vec3d> TARGET_HIT = constructField("target_hit", Vec3d.class);
 		public static final DataField<IBlockState> BLOCK_STATE = constructField("block_state", IBlockState.class);
 		public static final DataField<Long> SEED = constructField("seed", Long.class);
-		public static final DataField<BlockSet> BLOCK_SET = constructField("block_set", BlockSet.class);
-		public static final DataField<BlockStateCache> BLOCKSTATE_CACHE = constructField("blockstate_cache", BlockStateCache.class);
+		public static final DataField<BlockSet> BLOCK_SET = constructField("block_set", BlockSet.class, set -> new BlockSet(new HashSet<>(set.getBlockSet())));
+		public static final DataField<BlockStateCache> BLOCKSTATE_CACHE = constructField("blockstate_cache", BlockStateCache.class, cache -> new BlockStateCache(new HashMap<>(cache.getBlockStateCache())));
 		public static final DataField<java.util.UUID> UUID = constructField("uuid", UUID.class);
 		public static final DataField<String> CUSTOM_TAG = constructField("tag", String.class);
 	}
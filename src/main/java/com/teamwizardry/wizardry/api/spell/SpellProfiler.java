@@ -0,0 +1,228 @@
+package com.teamwizardry.wizardry.api.spell;
+
+import com.teamwizardry.wizardry.api.spell.module.ModuleInstance;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opt-in profiler of the spell pipeline, started and dumped by {@code /wizardry profile}. <br/>
+ * Records per module and {@link Section} how often it ran and how long it took, in histograms of log-linear buckets,
+ * and per player the total time of the spells they cast. Only calls on the server thread are recorded.
+ * <br/>
+ * Sections nest, e.g. a cast taxes its caster and casts its child rings, and each records only its own time,
+ * without the time of the sections nested in it. Per player, the outermost sections are summed up.
+ * <br/>
+ * <b>NOTE</b>: Calls to {@link #begin()} and {@link #end} must be balanced, use try/finally.
+ * While not running, {@link #begin()} returns 0 and {@link #end} returns right away.
+ */
+public final class SpellProfiler {
+
+	public enum Section {
+		CAST, OVERRIDE, TAX, RENDER, LINGER, DELAYED
+	}
+
+	private static final Section[] SECTIONS = Section.values();
+	private static final String DEFAULT_MODULE = "default";
+
+	/**
+	 * Sub-buckets per power of two, a quarter of the value at most apart.
+	 */
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private static final int MAX_DEPTH = 256;
+
+	private static MinecraftServer server = null;
+	private static long startTime;
+	private static long stopTime;
+
+	private static final Map<String, Histogram[]> modules = new HashMap<>();
+	private static final Map<UUID, Histogram> players = new HashMap<>();
+	private static final Map<UUID, String> playerNames = new HashMap<>();
+
+	/**
+	 * Time of the sections nested in each open section, by depth.
+	 */
+	private static final long[] nestedNanos = new long[MAX_DEPTH];
+	private static int depth = 0;
+
+	private SpellProfiler() {
+	}
+
+	/**
+	 * Starts recording the spells running on the server's thread, dropping what was recorded before.
+	 */
+	public static void start(@Nonnull MinecraftServer server) {
+		modules.clear();
+		players.clear();
+		playerNames.clear();
+		depth = 0;
+		startTime = System.currentTimeMillis();
+		SpellProfiler.server = server;
+	}
+
+	/**
+	 * Stops recording. What was recorded stays until the next start.
+	 *
+	 * @return whether the profiler was running.
+	 */
+	public static boolean stop() {
+		if (server == null) return false;
+
+		server = null;
+		stopTime = System.currentTimeMillis();
+		return true;
+	}
+
+	public static boolean isRunning() {
+		return server != null;
+	}
+
+	/**
+	 * Opens a section.
+	 *
+	 * @return the start time to pass to {@link #end}, or 0 if nothing is recorded.
+	 */
+	public static long begin() {
+		if (server == null || !server.isCallingFromMinecraftThread()) return 0;
+
+		if (depth < MAX_DEPTH) nestedNanos[depth] = 0;
+		depth++;
+		return System.nanoTime();
+	}
+
+	public static void end(long start, @Nonnull Section section, @Nullable ModuleInstance module) {
+		end(start, section, module, null, null);
+	}
+
+	/**
+	 * Closes the section opened by {@link #begin()}.
+	 *
+	 * @param world the world the spell runs in, to find the caster of outermost sections.
+	 * @param data  the data of the spell, to find the caster of outermost sections.
+	 */
+	public static void end(long start, @Nonnull Section section, @Nullable ModuleInstance module, @Nullable World world, @Nullable SpellData data) {
+		if (start == 0 || depth == 0) return;
+
+		long elapsed = System.nanoTime() - start;
+		depth--;
+		long nested = depth < MAX_DEPTH ? nestedNanos[depth] : 0;
+		if (depth > 0 && depth <= MAX_DEPTH) nestedNanos[depth - 1] += elapsed;
+
+		if (server == null) return;
+
+		String key = module == null ? DEFAULT_MODULE : module.getNBTKey();
+		Histogram[] histograms = modules.get(key);
+		if (histograms == null) {
+			histograms = new Histogram[SECTIONS.length];
+			for (int i = 0; i < histograms.length; i++)
+				histograms[i] = new Histogram();
+			modules.put(key, histograms);
+		}
+		histograms[section.ordinal()].record(Math.max(elapsed - nested, 0));
+
+		if (depth == 0 && world != null && data != null) {
+			Entity caster = data.getCaster(world);
+			if (caster instanceof EntityPlayer) {
+				players.computeIfAbsent(caster.getUniqueID(), uuid -> new Histogram()).record(elapsed);
+				playerNames.put(caster.getUniqueID(), caster.getName());
+			}
+		}
+	}
+
+	/**
+	 * Writes what was recorded as CSV, a row per module and section, and one per player.
+	 * Times are in microseconds, percentiles are the upper bounds of their buckets.
+	 */
+	public static void dump(@Nonnull File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs())
+			throw new IOException("Couldn't create directory " + parent);
+
+		try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			long duration = (isRunning() ? System.currentTimeMillis() : stopTime) - startTime;
+			writer.println("# duration_ms=" + duration);
+			writer.println("scope,name,section,count,total_us,mean_us,p50_us,p90_us,p99_us,max_us");
+
+			for (Map.Entry<String, Histogram[]> entry : modules.entrySet()) {
+				for (Section section : SECTIONS) {
+					Histogram histogram = entry.getValue()[section.ordinal()];
+					if (histogram.count > 0)
+						histogram.write(writer, "module", entry.getKey(), section.name().toLowerCase(Locale.ROOT));
+				}
+			}
+
+			for (Map.Entry<UUID, Histogram> entry : players.entrySet())
+				entry.getValue().write(writer, "player", playerNames.get(entry.getKey()), "total");
+		}
+	}
+
+	private static int bucketOf(long nanos) {
+		if (nanos < SUB_BUCKETS) return (int) nanos;
+
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * @return the lowest value falling into the bucket.
+	 */
+	private static long lowerBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	private static final class Histogram {
+		private final long[] buckets = new long[BUCKETS];
+		private long count;
+		private long totalNanos;
+		private long maxNanos;
+
+		void record(long nanos) {
+			buckets[bucketOf(nanos)]++;
+			count++;
+			totalNanos += nanos;
+			if (nanos > maxNanos) maxNanos = nanos;
+		}
+
+		long percentile(double fraction) {
+			long threshold = (long) Math.ceil(count * fraction);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += buckets[i];
+				if (seen >= threshold)
+					return Math.min(i + 1 < BUCKETS ? lowerBoundOf(i + 1) - 1 : Long.MAX_VALUE, maxNanos);
+			}
+			return maxNanos;
+		}
+
+		void write(PrintWriter writer, String scope, String name, String section) {
+			writer.println(scope + "," + name + "," + section + "," + count + ","
+					+ micros(totalNanos) + "," + micros(totalNanos / Math.max(count, 1)) + ","
+					+ micros(percentile(0.5)) + "," + micros(percentile(0.9)) + "," + micros(percentile(0.99)) + ","
+					+ micros(maxNanos));
+		}
+
+		private static String micros(long nanos) {
+			return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+		}
+	}
+}
@@ -3,10 +3,10 @@ package com.teamwizardry.wizardry.api.spell;
 import com.google.common.collect.ArrayListMultimap;
 import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentManager;
 import com.teamwizardry.wizardry.api.capability.player.mana.IManaCapability;
 import com.teamwizardry.wizardry.api.capability.player.mana.ManaCapabilityProvider;
 import com.teamwizardry.wizardry.api.capability.player.mana.ManaManager;
-import com.teamwizardry.wizardry.api.item.BaublesSupport;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeModifier;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRange;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry;
@@ -16,7 +16,6 @@ import com.teamwizardry.wizardry.api.spell.module.ModuleInstance;
 import com.teamwizardry.wizardry.api.spell.module.ModuleInstanceModifier;
 import com.teamwizardry.wizardry.api.spell.module.ModuleOverrideHandler;
 import com.teamwizardry.wizardry.api.util.FixedPointUtils;
-import com.teamwizardry.wizardry.init.ModItems;
 import com.teamwizardry.wizardry.init.ModSounds;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -52,6 +51,11 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	 */
 	private NBTTagCompound serializedTag = null;
 
+	/**
+	 * The serialized chain from this ring on, without unique ids. Shared by all copies made by {@link #changeUUID()}.
+	 */
+	private NBTTagCompound lazy_contentTag = null;    // "lazy" means, that access to variable should be done only over getter
+
 	/**
 	 * Store all processed modifier info and any extra you want here.
 	 * Used by modifier processing and the WorktableGUI to save GUI in TileWorktable <br/>
@@ -60,6 +64,12 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	 */
 	private NBTTagCompound informationTag = new NBTTagCompound();
 
+	/**
+	 * Attribute values compiled from the information tag, so reading them doesn't need NBT lookups.<br/>
+	 * <b>NOTE</b>: Must be reset whenever the information tag or the module changes.
+	 */
+	private AttributeTable lazy_attributeTable = null;    // "lazy" means, that access to variable should be done only over getter
+
 	/**
 	 * A map holding compile time modifiers.
 	 */
@@ -248,15 +258,23 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	public final double getTrueAttributeValue(Attribute attribute) {
 		if (module == null) return 0;
 
-		double current = FixedPointUtils.getDoubleFromNBT(informationTag, attribute.getNbtName());
-
-		AttributeRange range = module.getAttributeRanges().get(attribute);
-
-		return MathHelper.clamp(current, range.min, range.max);
+		return getAttributeTable().getClamped(attribute);
 	}
 
 	//TODO: orb holders
 	public boolean taxCaster(@Nonnull World world, SpellData data, double multiplier, boolean failSound) {
+		long profile = SpellProfiler.begin();
+		try {
+			return internalTaxCaster(world, data, multiplier, failSound);
+		} finally {
+			SpellProfiler.end(profile, SpellProfiler.Section.TAX, module);
+		}
+	}
+
+	/**
+	 * Core of {@link #taxCaster(World, SpellData, double, boolean)}, without profiling.
+	 */
+	private boolean internalTaxCaster(@Nonnull World world, SpellData data, double multiplier, boolean failSound) {
 		if(data.getData(SpellData.DefaultKeys.CASTER) == null) return true;
 
 		Entity caster = world.getEntityByID(data.getData(SpellData.DefaultKeys.CASTER));
@@ -338,11 +356,7 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	public final float getAttributeValue(World world, Attribute attribute, SpellData data) {
 		if (module == null) return 0;
 
-		float current = FixedPointUtils.getDoubleFromNBT(informationTag, attribute.getNbtName());
-
-		AttributeRange range = module.getAttributeRanges().get(attribute);
-
-		current = MathHelper.clamp(current, range.min, range.max);
+		float current = getAttributeTable().getClamped(attribute);
 		current = data.getCastTimeValue(attribute, current);
 		current *= getPlayerBurnoutMultiplier(world, data);
 		current *= getPowerMultiplier();
@@ -396,6 +410,7 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 
 		// Output a sorted list of tags to informationTag
 		informationTag = sortInformationTag(informationMap);
+		lazy_attributeTable = null;
 	}
 
 	@Nullable
@@ -403,9 +418,25 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 		return parentRing;
 	}
 
+	/**
+	 * Returns a copy of this ring with a new unique id, sharing module, information and chain links with this ring.
+	 * This ring itself stays untouched, as it may be shared by a {@link SpellChainCache}.
+	 *
+	 * @return the ring copy.
+	 */
 	public SpellRing changeUUID() {
-		uniqueID = UUID.randomUUID();
-		return this;
+		SpellRing ring = new SpellRing();
+		ring.informationTag = informationTag;
+		ring.compileTimeModifiers = compileTimeModifiers;
+		ring.primaryColor = primaryColor;
+		ring.secondaryColor = secondaryColor;
+		ring.module = module;
+		ring.parentRing = parentRing;
+		ring.childRing = childRing;
+		ring.lazy_overrideHandler = getOverrideHandler();
+		ring.lazy_attributeTable = lazy_attributeTable;
+		ring.lazy_contentTag = getContentTag();
+		return ring;
 	}
 
 	/**
@@ -469,6 +500,7 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	 */
 	void setModule(@Nonnull ModuleInstance module) {
 		this.module = module;
+		this.lazy_attributeTable = null;
 
 		setPrimaryColor(module.getPrimaryColor());
 		setSecondaryColor(module.getSecondaryColor());
@@ -527,7 +559,7 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	 * @return mana drain value
 	 */
 	public double getManaDrain(SpellData data) {
-		float value = FixedPointUtils.getDoubleFromNBT(informationTag, AttributeRegistry.MANA.getNbtName());
+		float value = getAttributeTable().getRaw(AttributeRegistry.MANA);
 		if (data != null)
 			value = data.getCastTimeValue(AttributeRegistry.MANA, value);
 		return value * getManaMultiplier();
@@ -541,7 +573,7 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	 * @return burnout fill value
 	 */
 	public double getBurnoutFill(SpellData data) {
-		float value = FixedPointUtils.getDoubleFromNBT(informationTag, AttributeRegistry.BURNOUT.getNbtName());
+		float value = getAttributeTable().getRaw(AttributeRegistry.BURNOUT);
 		if (data != null)
 			value = data.getCastTimeValue(AttributeRegistry.BURNOUT, value);
 		return value * getBurnoutMultiplier();
@@ -569,14 +601,14 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	}
 
 	public int getChargeUpTime() {
-		return (int) FixedPointUtils.getDoubleFromNBT(informationTag, AttributeRegistry.CHARGEUP.getNbtName());
+		return (int) getAttributeTable().getRaw(AttributeRegistry.CHARGEUP);
 	}
 
 	public int getCooldownTime(@Nullable World world, @Nullable SpellData data) {
 		if (module != null && data != null && world != null && module.getModuleClass() instanceof IOverrideCooldown)
 			return ((IOverrideCooldown) module.getModuleClass()).getNewCooldown(world, data, this);
 
-		return (int) FixedPointUtils.getDoubleFromNBT(informationTag, AttributeRegistry.COOLDOWN.getNbtName());
+		return (int) getAttributeTable().getRaw(AttributeRegistry.COOLDOWN);
 	}
 
 	@Nullable
@@ -588,6 +620,21 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 		return informationTag;
 	}
 
+	/**
+	 * Returns the attribute values of the information tag, compiled into arrays.
+	 *
+	 * @return the attribute table.
+	 */
+	@Nonnull
+	private AttributeTable getAttributeTable() {
+		AttributeTable table = lazy_attributeTable;
+		if (table == null) {
+			table = new AttributeTable(informationTag, module);
+			lazy_attributeTable = table;
+		}
+		return table;
+	}
+
 	public int getCooldownTime() {
 		return getCooldownTime(null, null);
 	}
@@ -612,7 +659,7 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 	 */
 	public double getPlayerBurnoutMultiplier(World world, SpellData data) {
 		Entity caster = data.getCaster(world);
-		if (caster == null || caster instanceof EntityLivingBase && BaublesSupport.getItem((EntityLivingBase) caster, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO).isEmpty())
+		if (caster == null || caster instanceof EntityLivingBase && !EquipmentManager.hasHalo(caster))
 			return 1;
 
 		double multiplier = ManaManager.getBurnout(caster) / ManaManager.getMaxBurnout(caster);
@@ -633,6 +680,26 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 		return serializedTag;
 	}
 
+	/**
+	 * Returns the serialized chain from this ring on, with the unique ids of all rings stripped.
+	 * Rings which only differ by their unique id return equal tags,
+	 * so this identifies what a chain does, e.g. when syncing it for rendering. <br/>
+	 * <b>NOTE</b>: The returned tag is shared, don't modify it.
+	 *
+	 * @return the serialized chain without unique ids.
+	 */
+	public NBTTagCompound getContentTag() {
+		if (lazy_contentTag == null) {
+			NBTTagCompound contentTag = serializeNBT().copy();
+			for (NBTTagCompound ringTag = contentTag; ringTag != null; ) {
+				ringTag.removeTag("uuid");
+				ringTag = ringTag.hasKey("child_ring") ? ringTag.getCompoundTag("child_ring") : null;
+			}
+			lazy_contentTag = contentTag;
+		}
+		return lazy_contentTag;
+	}
+
 	/**
 	 * Core of {@link #serializeNBT()}. Doesn't set serializedTag.
 	 *
@@ -703,6 +770,86 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 
 		if (nbt.hasKey("uuid")) uniqueID = UUID.fromString(nbt.getString("uuid"));
 
+		lazy_attributeTable = null;
+	}
+
+	/**
+	 * Writes the chain from this ring on in the binary form of {@link SpellCodec}.
+	 *
+	 * @param out      the stream to write to.
+	 * @param withUUID whether to write the unique ids of the rings.
+	 */
+	void write(@Nonnull SpellCodec.Writer out, boolean withUUID) {
+		for (SpellRing ring = this; ring != null; ring = ring.childRing) {
+			out.writeBoolean(ring.module != null);
+			if (ring.module != null) out.writeName(ring.module.getNBTKey());
+
+			out.writeVarInt(ring.informationTag.getSize());
+			for (String key : ring.informationTag.getKeySet()) {
+				out.writeName(key);
+				out.writeFloat(FixedPointUtils.getFixedFromNBT(ring.informationTag, key));
+			}
+
+			out.writeVarInt(ring.compileTimeModifiers.size());
+			for (AttributeModifierSpellRing modifier : ring.compileTimeModifiers.values()) {
+				out.writeVarInt(modifier.getOperation().ordinal());
+				out.writeName(modifier.getAttribute().getNbtName());
+				out.writeFloat(modifier.getModifierFixed());
+			}
+
+			out.writeInt(ring.primaryColor.getRGB());
+			out.writeInt(ring.secondaryColor.getRGB());
+
+			out.writeBoolean(withUUID);
+			if (withUUID) out.writeUUID(ring.uniqueID);
+
+			out.writeBoolean(ring.childRing != null);
+		}
+	}
+
+	/**
+	 * Reads a chain written by {@link #write(SpellCodec.Writer, boolean)}. Same as {@link #deserializeRing(NBTTagCompound)} otherwise.
+	 *
+	 * @param in the stream to read from.
+	 * @return the first ring of the chain.
+	 */
+	static SpellRing read(@Nonnull SpellCodec.Reader in) {
+		SpellRing first = null;
+		SpellRing last = null;
+		boolean hasChild;
+		do {
+			SpellRing ring = new SpellRing();
+			if (in.readBoolean()) ring.module = ModuleInstance.deserialize(in.readName());
+
+			int informationCount = in.readVarInt();
+			Map<String, Float> information = new HashMap<>(informationCount);
+			for (int i = 0; i < informationCount; i++)
+				information.put(in.readName(), in.readFloat());
+			ring.informationTag = sortInformationTag(information);
+
+			int modifierCount = in.readVarInt();
+			for (int i = 0; i < modifierCount; i++) {
+				Operation operation = Operation.values()[in.readVarInt() % Operation.values().length];
+				Attribute attribute = AttributeRegistry.getAttributeFromName(in.readName());
+				float modifierFixed = in.readFloat();
+				ring.compileTimeModifiers.put(operation, new AttributeModifierSpellRing(attribute, modifierFixed, operation));
+			}
+
+			ring.primaryColor = new Color(in.readInt());
+			ring.secondaryColor = new Color(in.readInt());
+			if (in.readBoolean()) ring.uniqueID = in.readUUID();
+
+			if (last == null) first = ring;
+			else {
+				ring.setParentRing(last);
+				last.setChildRing(ring);
+			}
+			last = ring;
+			hasChild = in.readBoolean();
+		} while (hasChild);
+
+		last.updateColorChain();
+		return first;
 	}
 
 	@Override
@@ -720,6 +867,66 @@ public class SpellRing implements INBTSerializable<NBTTagCompound> {
 
 	////////////////////
 
+	/**
+	 * Attribute values of a ring, indexed by {@link Attribute#getOrdinal()}.
+	 * The NBT information tag stays the persistent form, this is only a lookup table compiled from it. <br/>
+	 * <b>NOTE</b>: Fields are final so that a table can be shared between threads without synchronization.
+	 */
+	private static final class AttributeTable {
+
+		/**
+		 * Values as they are stored in the information tag.
+		 */
+		private final float[] raw;
+
+		/**
+		 * Values clamped to the attribute ranges of the module.
+		 */
+		private final float[] clamped;
+
+		private final NBTTagCompound informationTag;
+
+		@Nullable
+		private final ModuleInstance module;
+
+		AttributeTable(NBTTagCompound informationTag, @Nullable ModuleInstance module) {
+			this.informationTag = informationTag;
+			this.module = module;
+
+			int count = AttributeRegistry.getAttributeCount();
+			this.raw = new float[count];
+			this.clamped = new float[count];
+			for (Attribute attribute : AttributeRegistry.getAttributes()) {
+				int i = attribute.getOrdinal();
+				raw[i] = FixedPointUtils.getDoubleFromNBT(informationTag, attribute.getNbtName());
+				clamped[i] = clamp(raw[i], attribute);
+			}
+		}
+
+		float getRaw(Attribute attribute) {
+			int i = attribute.getOrdinal();
+			if (i >= 0 && i < raw.length) return raw[i];
+
+			// Attribute got registered after compilation
+			return FixedPointUtils.getDoubleFromNBT(informationTag, attribute.getNbtName());
+		}
+
+		float getClamped(Attribute attribute) {
+			int i = attribute.getOrdinal();
+			if (i >= 0 && i < clamped.length) return clamped[i];
+
+			// Attribute got registered after compilation
+			return clamp(FixedPointUtils.getDoubleFromNBT(informationTag, attribute.getNbtName()), attribute);
+		}
+
+		private float clamp(float value, Attribute attribute) {
+			if (module == null) return 0;
+
+			AttributeRange range = module.getAttributeRanges().get(attribute);
+			return MathHelper.clamp(value, range.min, range.max);
+		}
+	}
+
 	/**
 	 * Storage class for attribute modifiers. An extension class to {@link AttributeModifier}
 	 * is necessary to store values in their fixed value form to avoid conversions and roundup errors. <br />
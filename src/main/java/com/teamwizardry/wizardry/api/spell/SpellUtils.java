@@ -2,7 +2,7 @@ package com.teamwizardry.wizardry.api.spell;
 
 import com.teamwizardry.librarianlib.features.helpers.NBTHelper;
 import com.teamwizardry.wizardry.api.NBTConstants;
-import com.teamwizardry.wizardry.api.item.BaublesSupport;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentManager;
 import com.teamwizardry.wizardry.api.item.INacreProduct;
 import com.teamwizardry.wizardry.api.spell.module.ModuleInstance;
 import com.teamwizardry.wizardry.api.spell.module.ModuleInstanceModifier;
@@ -14,7 +14,6 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
 import net.minecraft.world.World;
@@ -24,6 +23,7 @@ import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 
@@ -119,7 +119,7 @@ public class SpellUtils {
 		if (world.isRemote) return;
 
 		Entity caster = data.getCaster(world);
-		if (caster instanceof EntityLivingBase && BaublesSupport.getItem((EntityLivingBase) caster, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO).isEmpty())
+		if (caster instanceof EntityLivingBase && !EquipmentManager.hasHalo(caster))
 			return;
 
 		for (SpellRing spellRing : getSpellChains(spellHolder)) {
@@ -131,7 +131,7 @@ public class SpellUtils {
 		if (world.isRemote) return;
 
 		Entity caster = data.getCaster(world);
-		if ((data.getData(SpellData.DefaultKeys.CAPABILITY) == null) || (caster instanceof EntityPlayer && BaublesSupport.getItem((EntityLivingBase) caster, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO).isEmpty()))
+		if ((data.getData(SpellData.DefaultKeys.CAPABILITY) == null) || (caster instanceof EntityPlayer && !EquipmentManager.hasHalo(caster)))
 			return;
 
 		for (SpellRing spellRing : chains) {
@@ -142,35 +142,28 @@ public class SpellUtils {
 	/**
 	 * Gets all SpellRings that exist in an ItemStack with the children of each ring inside
 	 * of them, compressed essentially.
-	 * This basically returns the head of each spellData chain only.
+	 * This basically returns the head of each spellData chain only. <br/>
+	 * The rings are shared through {@link SpellChainCache} and must not be modified.
 	 *
 	 * @param spellHolder The ItemStack containing the spells.
-	 * @return List with all spellData ring heads in the stack.
+	 * @return Unmodifiable list with all spellData ring heads in the stack.
 	 */
 	public static List<SpellRing> getSpellChains(@Nonnull ItemStack spellHolder) {
-		List<SpellRing> rings = new ArrayList<>();
-
 		NBTTagList list = NBTHelper.getList(spellHolder, NBTConstants.NBT.SPELL, net.minecraftforge.common.util.Constants.NBT.TAG_COMPOUND);
-		if (list == null) return rings;
+		if (list == null) return Collections.emptyList();
 
 		return getSpellChains(list);
 	}
 
 	/**
-	 * Gets all spellData ring heads (containing children inside of each).
+	 * Gets all spellData ring heads (containing children inside of each). <br/>
+	 * The rings are shared through {@link SpellChainCache} and must not be modified.
 	 *
 	 * @param list NBTTagList where each tag contains a whole SpellRing chain.
-	 * @return List with the spellData ring heads.
+	 * @return Unmodifiable list with the spellData ring heads.
 	 */
 	public static List<SpellRing> getSpellChains(@Nonnull NBTTagList list) {
-		ArrayList<SpellRing> rings = new ArrayList<>();
-		for (int i = 0; i < list.tagCount(); i++) {
-			NBTTagCompound compound = list.getCompoundTagAt(i);
-			SpellRing ring = SpellRing.deserializeRing(compound);
-			if (ring == null) continue;
-			rings.add(ring);
-		}
-		return rings;
+		return SpellChainCache.INSTANCE.get(list).getChains();
 	}
 
 	public static List<List<ModuleInstance>> deserializeModuleList(@Nonnull NBTTagList list) {
@@ -256,21 +249,16 @@ public class SpellUtils {
 
 	/**
 	 * Gets all SpellRings that exist in an ItemStack with children of each ring included
-	 * in the list returned.
+	 * in the list returned. <br/>
+	 * The rings are shared through {@link SpellChainCache} and must not be modified.
 	 *
 	 * @param spellHolder The ItemStack containing the spellData.
-	 * @return List with all spellData rings that exist in the stack.
+	 * @return Unmodifiable list with all spellData rings that exist in the stack.
 	 */
 	public static List<SpellRing> getAllSpellRings(@Nonnull ItemStack spellHolder) {
-		List<SpellRing> rings = new ArrayList<>();
-		List<SpellRing> heads = getSpellChains(spellHolder);
-		for (SpellRing spellRing : heads) {
-			SpellRing tempSpellRing = spellRing;
-			while (tempSpellRing != null) {
-				rings.add(tempSpellRing);
-				tempSpellRing = tempSpellRing.getChildRing();
-			}
-		}
-		return rings;
+		NBTTagList list = NBTHelper.getList(spellHolder, NBTConstants.NBT.SPELL, net.minecraftforge.common.util.Constants.NBT.TAG_COMPOUND);
+		if (list == null) return Collections.emptyList();
+
+		return SpellChainCache.INSTANCE.get(list).getAllRings();
 	}
 }
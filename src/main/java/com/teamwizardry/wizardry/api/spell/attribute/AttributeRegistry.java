@@ -1,8 +1,9 @@
 package com.teamwizardry.wizardry.api.spell.attribute;
 
 import javax.annotation.Nullable;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Created by Demoniaque.
@@ -25,7 +26,10 @@ public class AttributeRegistry {
 	public static final Attribute BURNOUT_MULTI = new Attribute("burnout_multiplier", false);
 	
 
-	private static final Set<Attribute> attributes = new HashSet<>();
+	/**
+	 * All registered attributes, indexed by {@link Attribute#getOrdinal()}.
+	 */
+	private static final List<Attribute> attributes = new ArrayList<>();
 
 	static {
 		addAttribute(POTENCY);
@@ -43,9 +47,23 @@ public class AttributeRegistry {
 	}
 
 	public static void addAttribute(Attribute attribute) {
+		if (attribute.ordinal >= 0) return;
+
+		attribute.ordinal = attributes.size();
 		attributes.add(attribute);
 	}
 
+	/**
+	 * @return the number of registered attributes. All ordinals are below this value.
+	 */
+	public static int getAttributeCount() {
+		return attributes.size();
+	}
+
+	public static List<Attribute> getAttributes() {
+		return Collections.unmodifiableList(attributes);
+	}
+
 	@Nullable
 	public static Attribute getAttributeFromName(String name) {
 		for (Attribute attribute : attributes) {
@@ -60,6 +78,11 @@ public class AttributeRegistry {
 		private final String shortName;
 		private final boolean hasDetailedText;
 
+		/**
+		 * Dense index assigned by {@link AttributeRegistry#addAttribute}. Is negative while not registered.
+		 */
+		private int ordinal = -1;
+
 		public Attribute(String nbtName, String shortName, boolean hasDetailedText) {
 			this.nbtName = nbtName;
 			this.shortName = shortName;
@@ -84,6 +107,13 @@ public class AttributeRegistry {
 			return hasDetailedText;
 		}
 
+		/**
+		 * @return the index of this attribute in compiled attribute tables, or a negative value if it isn't registered.
+		 */
+		public int getOrdinal() {
+			return ordinal;
+		}
+
 		@Override
 		public String toString() {
 			return shortName;
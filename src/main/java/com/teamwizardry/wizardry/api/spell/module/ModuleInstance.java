@@ -2,7 +2,6 @@ package com.teamwizardry.wizardry.api.spell.module;
 
 import com.teamwizardry.librarianlib.core.LibrarianLib;
 import com.teamwizardry.librarianlib.features.helpers.NBTHelper;
-import com.teamwizardry.librarianlib.features.network.PacketHandler;
 import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.SpellObjectManager;
 import com.teamwizardry.wizardry.api.capability.world.WizardryWorld;
@@ -11,13 +10,14 @@ import com.teamwizardry.wizardry.api.events.SpellCastEvent;
 import com.teamwizardry.wizardry.api.spell.ILingeringModule;
 import com.teamwizardry.wizardry.api.spell.SpellData;
 import com.teamwizardry.wizardry.api.spell.SpellDataTypes.BlockStateCache;
+import com.teamwizardry.wizardry.api.spell.SpellProfiler;
 import com.teamwizardry.wizardry.api.spell.SpellRing;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeModifier;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRange;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry.Attribute;
 import com.teamwizardry.wizardry.api.util.DefaultHashMap;
-import com.teamwizardry.wizardry.common.network.PacketRenderSpell;
+import com.teamwizardry.wizardry.common.core.SpellRenderBatcher;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
@@ -29,7 +29,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -352,17 +351,13 @@ public abstract class ModuleInstance {
 			// TODO: Replace applicable modifier list with more dynamic system
 			String[] modifierNames = moduleClass.compatibleModifiers();
 			if (modifierNames != null) {
-				for (ModuleInstance mod : ModuleRegistry.INSTANCE.modules) {
-					for (String modifier : modifierNames) {
-						if (mod.getNBTKey().equals(modifier)) {
-							if (!(mod instanceof ModuleInstanceModifier)) {
-								// TODO: Log it!
-								continue;
-							}
-							applicableModifiersList.add((ModuleInstanceModifier) mod);    // Expected to be of type ModuleModifier
-							break;
-						}
+				for (String modifier : modifierNames) {
+					ModuleInstance mod = ModuleRegistry.INSTANCE.getModule(modifier);
+					if (!(mod instanceof ModuleInstanceModifier)) {
+						// TODO: Log it!
+						continue;
 					}
+					applicableModifiersList.add((ModuleInstanceModifier) mod);    // Expected to be of type ModuleModifier
 				}
 			}
 
@@ -479,38 +474,43 @@ public abstract class ModuleInstance {
 	public final boolean castSpell(@Nonnull World world, @Nonnull SpellData data, @Nonnull SpellRing ring) {
 		if (world.isRemote) return true;
 
-		boolean success;
-
-		boolean ranOnce = false;
-		NBTTagList list = data.getDataWithFallback(SpellData.DefaultKeys.TAG_LIST, new NBTTagList());
-		for (NBTBase base : list) {
-			if (base instanceof NBTTagString) {
-				if (((NBTTagString) base).getString().equals(ring.getUniqueID().toString())) {
-					ranOnce = true;
-					break;
+		long profile = SpellProfiler.begin();
+		try {
+			boolean success;
+
+			boolean ranOnce = false;
+			NBTTagList list = data.getDataWithFallback(SpellData.DefaultKeys.TAG_LIST, new NBTTagList());
+			for (NBTBase base : list) {
+				if (base instanceof NBTTagString) {
+					if (((NBTTagString) base).getString().equals(ring.getUniqueID().toString())) {
+						ranOnce = true;
+						break;
+					}
 				}
 			}
-		}
-		if (moduleClass instanceof ILingeringModule && !ranOnce) {
-			WizardryWorld worldCap = WizardryWorldCapability.get(world);
+			if (moduleClass instanceof ILingeringModule && !ranOnce) {
+				WizardryWorld worldCap = WizardryWorldCapability.get(world);
 
-			list.appendTag(new NBTTagString(ring.getUniqueID().toString()));
-			data.addData(SpellData.DefaultKeys.TAG_LIST, list);
-			success = internalCastSpell(world, data, ring) && ((ILingeringModule) moduleClass).runOnStart(world, data, ring);
+				list.appendTag(new NBTTagString(ring.getUniqueID().toString()));
+				data.addData(SpellData.DefaultKeys.TAG_LIST, list);
+				success = internalCastSpell(world, data, ring) && ((ILingeringModule) moduleClass).runOnStart(world, data, ring);
 
-			if (success) {
-				worldCap.getSpellObjectManager().addLingering(new SpellObjectManager.LingeringObject(world, data, ring), ((ILingeringModule) moduleClass).getLingeringTime(world, data, ring));
+				if (success) {
+					worldCap.getSpellObjectManager().addLingering(new SpellObjectManager.LingeringObject(world, data, ring), ((ILingeringModule) moduleClass).getLingeringTime(world, data, ring));
+				}
+
+			} else {
+				success = internalCastSpell(world, data, ring);
 			}
 
-		} else {
-			success = internalCastSpell(world, data, ring);
-		}
+			if (success || ignoreResultsForRendering()) {
+				sendRenderPacket(world, data, ring);
+			}
 
-		if (success || ignoreResultsForRendering()) {
-			sendRenderPacket(world, data, ring);
+			return success;
+		} finally {
+			SpellProfiler.end(profile, SpellProfiler.Section.CAST, this, world, data);
 		}
-
-		return success;
 	}
 
 	private boolean internalCastSpell(@Nonnull World world, @Nonnull SpellData spell, @Nonnull SpellRing spellRing) {
@@ -521,11 +521,15 @@ public abstract class ModuleInstance {
 	}
 
 	public final void sendRenderPacket(@Nonnull World world, @Nonnull SpellData spell, @Nonnull SpellRing spellRing) {
-		Vec3d target = spell.getTargetWithFallback(world);
-
-		if (target != null)
-			PacketHandler.NETWORK.sendToAllAround(new PacketRenderSpell(spell, spellRing),
-					new NetworkRegistry.TargetPoint(world.provider.getDimension(), target.x, target.y, target.z, 256));
+		long profile = SpellProfiler.begin();
+		try {
+			Vec3d target = spell.getTargetWithFallback(world);
+
+			if (target != null)
+				SpellRenderBatcher.INSTANCE.queue(world, target, spell, spellRing);
+		} finally {
+			SpellProfiler.end(profile, SpellProfiler.Section.RENDER, this);
+		}
 	}
 
 	@Nonnull
@@ -1,5 +1,7 @@
 package com.teamwizardry.wizardry.api.spell.module;
 
+import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.spell.SpellProfiler;
 import com.teamwizardry.wizardry.api.spell.SpellRing;
 import com.teamwizardry.wizardry.api.spell.annotation.ContextRing;
 import com.teamwizardry.wizardry.api.spell.annotation.ContextSuper;
@@ -11,6 +13,7 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Proxy;
@@ -29,6 +32,7 @@ public class ModuleOverrideHandler {
 
 	private HashMap<String, OverridePointer> overridePointers = new HashMap<>();
 	private HashMap<String, Object> cachedProxies = new HashMap<>();
+	private HashMap<String, Object> cachedProfiledProxies = new HashMap<>();
 	private final SpellRing spellChain;
 
 	/**
@@ -64,9 +68,7 @@ public class ModuleOverrideHandler {
 		LinkedList<SpellRing> instances = new LinkedList<>();
 		while (cur != null) {
 			ModuleInstance module = cur.getModule();
-			if (module == null) continue;
-
-			if (module.getFactory().hasOverrides()) {
+			if (module != null && module.getFactory().hasOverrides()) {
 				instances.add(cur);
 			}
 			cur = cur.getChildRing();
@@ -287,15 +289,63 @@ public class ModuleOverrideHandler {
 		String className = interfaceClass.getName();
 		Object obj = cachedProxies.get(className);
 		if (obj == null) {
-			T newProxy = createConsumerInterface(interfaceClass);
-			cachedProxies.put(className, newProxy);
-			return newProxy;
+			obj = createConsumerInterface(interfaceClass);
+			cachedProxies.put(className, obj);
 		}
 
 		// check for interface compatibility
 		if (!interfaceClass.isInstance(obj))
 			throw new IllegalStateException("Incompatible interface class with matching name. Class loader different?");
-		return (T) obj;
+		if (!SpellProfiler.isRunning())
+			return (T) obj;
+
+		Object profiled = cachedProfiledProxies.get(className);
+		if (profiled == null) {
+			profiled = createProfiledInterface(interfaceClass, (T) obj);
+			cachedProfiledProxies.put(className, profiled);
+		}
+		return (T) profiled;
+	}
+
+	/**
+	 * Wraps an object for the consumer interface, to record each call of an override in the {@link SpellProfiler}
+	 * for the module implementing it. Only used while the profiler runs.
+	 *
+	 * @param interfaceClass the interface type.
+	 * @param consumer       the object to wrap.
+	 * @return an object implementing the passed interface type.
+	 * @throws ModuleOverrideException if the passed interface type has at least one override method with incompatible signature.
+	 */
+	private <T> T createProfiledInterface(Class<T> interfaceClass, T consumer) throws ModuleOverrideException {
+		HashMap<Method, ModuleInstance> modules = new HashMap<>();
+		for (Entry<String, Method> entry : getInterfaceMethods(interfaceClass).entrySet()) {
+			OverridePointer ptr = overridePointers.get(entry.getKey());
+			if (ptr != null) modules.put(entry.getValue(), ptr.getModule());
+		}
+
+		InvocationHandler invocationHandler = (proxy, method, args) -> {
+			if (!modules.containsKey(method)) return invokeUnwrapped(method, consumer, args);
+
+			long profile = SpellProfiler.begin();
+			try {
+				return invokeUnwrapped(method, consumer, args);
+			} finally {
+				SpellProfiler.end(profile, SpellProfiler.Section.OVERRIDE, modules.get(method));
+			}
+		};
+
+		@SuppressWarnings("unchecked")
+		T proxy = (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{interfaceClass}, invocationHandler);
+
+		return proxy;
+	}
+
+	private static Object invokeUnwrapped(Method method, Object obj, Object[] args) throws Throwable {
+		try {
+			return method.invoke(obj, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
 	}
 
 	/**
@@ -313,6 +363,17 @@ public class ModuleOverrideHandler {
 		// Create invocation handler. All interface methods are mapped to their base method pendants
 		OverrideInvoker invocationHandler = new OverrideInvoker(overridableMethods, interfaceClass.getName());
 
+		// Prefer a generated class calling the implementations directly. Falls back to the proxy if it can't be linked.
+		if (ConfigValues.generatedOverrideDispatch) {
+			HashMap<Method, OverridePointer> linkedMethods = new HashMap<>();
+			for (OverrideInterfaceMethod intfMethod : invocationHandler.callMap.values())
+				linkedMethods.put(intfMethod.getInterfaceMethod(), intfMethod.getOverridePointer());
+
+			T dispatcher = OverrideDispatchGenerator.createDispatcher(interfaceClass, linkedMethods);
+			if (dispatcher != null)
+				return dispatcher;
+		}
+
 		//
 		ClassLoader myClassLoader = getClass().getClassLoader();    // Inherit class loader from this class
 		Class<?>[] proxyInterfaces = new Class<?>[]{interfaceClass};
@@ -415,6 +476,15 @@ public class ModuleOverrideHandler {
 			return spellRingWithOverride;
 		}
 
+		/**
+		 * Returns the object to invoke the override implementation on.
+		 *
+		 * @return the module class instance or the default implementation object.
+		 */
+		Object getObject() {
+			return object;
+		}
+
 		/**
 		 * Returns the override method implementation reference.
 		 *
@@ -2,16 +2,17 @@ package com.teamwizardry.wizardry.api.spell.module;
 
 import java.awt.Color;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,12 +29,12 @@ import com.google.common.collect.Multimap;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.teamwizardry.librarianlib.core.LibrarianLib;
 import com.teamwizardry.librarianlib.features.utilities.AnnotationHelper;
 import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.spell.SpellChainCache;
 import com.teamwizardry.wizardry.api.spell.annotation.RegisterModule;
 import com.teamwizardry.wizardry.api.spell.annotation.RegisterOverrideDefaults;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeModifier;
@@ -43,22 +44,30 @@ import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry.Attribute
 import com.teamwizardry.wizardry.api.spell.attribute.Operation;
 import com.teamwizardry.wizardry.api.spell.module.ModuleOverrideHandler.OverrideMethod;
 import com.teamwizardry.wizardry.api.util.DefaultHashMap;
+import com.teamwizardry.wizardry.api.util.JsonFiles;
+import com.teamwizardry.wizardry.common.core.version.manifest.InternalDataFiles;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
-import net.minecraftforge.fml.common.Loader;
-import net.minecraftforge.fml.common.ModContainer;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 
 /**
  * Created by Demoniaque.
+ * <br/>
+ * The loaded modules are frozen once {@link #loadModules(File)} is done, and looked up through indexes by
+ * NBT key, by item and metadata, and by type, so lookups don't depend on how many modules are loaded.
  */
 public class ModuleRegistry {
 
 	public final static ModuleRegistry INSTANCE = new ModuleRegistry();
 
-	public ArrayList<ModuleInstance> modules = new ArrayList<>();
+	private List<ModuleInstance> modules = Collections.emptyList();
+	private Map<String, ModuleInstance> modulesByKey = Collections.emptyMap();
+	private Map<Item, Int2ObjectMap<ModuleInstance>> modulesByItem = Collections.emptyMap();
+	private Map<ModuleType, List<ModuleInstance>> modulesByType = Collections.emptyMap();
 	public HashMap<String, ModuleFactory> IDtoModuleFactory = new HashMap<>();
 	public HashMap<String, OverrideDefaultMethod> IDtoOverrideDefaultMethod = new HashMap<>();
 	public Multimap<String, ModuleInstance> tagMap = HashMultimap.create();
@@ -67,29 +76,74 @@ public class ModuleRegistry {
 	private ModuleRegistry() {
 	}
 
+	@Nullable
 	public ModuleInstance getModule(String id) {
-		for (ModuleInstance module : modules) if (module.getNBTKey().equals(id)) return module;
-		return null;
+		return modulesByKey.get(id);
 	}
 
 	@Nullable
 	public ModuleInstance getModule(ItemStack itemStack) {
-		for (ModuleInstance module : modules)
-			if (ItemStack.areItemsEqual(itemStack, module.getItemStack())) {
-				return module;
-			}
-		return null;
+		if (itemStack.isEmpty()) return null;
+
+		Int2ObjectMap<ModuleInstance> byMeta = modulesByItem.get(itemStack.getItem());
+		return byMeta == null ? null : byMeta.get(itemStack.getItemDamage());
 	}
 
+	/**
+	 * @return Every loaded module, sorted by NBT key. The list can't be modified.
+	 */
 	@Nonnull
-	public ArrayList<ModuleInstance> getModules(ModuleType type) {
-		ArrayList<ModuleInstance> modules = new ArrayList<>();
-		for (ModuleInstance module : this.modules) if (module.getModuleType() == type) modules.add(module);
-
-		modules.sort(Comparator.comparing(ModuleInstance::getReadableName));
+	public List<ModuleInstance> getModules() {
 		return modules;
 	}
 
+	/**
+	 * @return The loaded modules of the type, sorted by their readable name. The list can't be modified.
+	 */
+	@Nonnull
+	public List<ModuleInstance> getModules(ModuleType type) {
+		List<ModuleInstance> modules = modulesByType.get(type);
+		return modules == null ? Collections.emptyList() : modules;
+	}
+
+	/**
+	 * Freezes the loaded modules into the lookup indexes. If several modules share an NBT key or an item,
+	 * the first one by NBT key wins, as it did when the list was searched.
+	 */
+	private void freeze(List<ModuleInstance> loaded) {
+		loaded.sort(Comparator.comparing(ModuleInstance::getNBTKey));
+		modules = Collections.unmodifiableList(new ArrayList<>(loaded));
+
+		Map<String, ModuleInstance> byKey = new HashMap<>();
+		Map<Item, Int2ObjectMap<ModuleInstance>> byItem = new IdentityHashMap<>();
+		for (ModuleInstance module : modules) {
+			byKey.putIfAbsent(module.getNBTKey(), module);
+
+			ItemStack stack = module.getItemStack();
+			if (!stack.isEmpty())
+				byItem.computeIfAbsent(stack.getItem(), item -> new Int2ObjectOpenHashMap<>()).putIfAbsent(stack.getItemDamage(), module);
+		}
+		modulesByKey = byKey;
+		modulesByItem = byItem;
+
+		sortModules();
+	}
+
+	/**
+	 * Sorts the per type lists by readable name again, for when the language changes.
+	 */
+	public void sortModules() {
+		Map<ModuleType, List<ModuleInstance>> byType = new EnumMap<>(ModuleType.class);
+		for (ModuleInstance module : modules)
+			byType.computeIfAbsent(module.getModuleType(), type -> new ArrayList<>()).add(module);
+
+		for (Entry<ModuleType, List<ModuleInstance>> entry : byType.entrySet()) {
+			entry.getValue().sort(Comparator.comparing(ModuleInstance::getReadableName));
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		modulesByType = byType;
+	}
+
 	public void loadUnprocessedModules() {
 		IDtoModuleFactory.clear();
 		AnnotationHelper.INSTANCE.findAnnotatedClasses(LibrarianLib.PROXY.getAsmDataTable(), IModule.class, RegisterModule.class, (clazz, info) -> {
@@ -125,7 +179,11 @@ public class ModuleRegistry {
 		});
 	}
 
-	private void registerOverrideDefaults(Class<?> clazz, Object obj) throws ModuleInitException {
+	/**
+	 * Registers every {@link com.teamwizardry.wizardry.api.spell.annotation.ModuleOverride} method of the class as a default override, implemented by the given object.
+	 * Package-private so that benchmarks can register defaults without scanning annotations.
+	 */
+	void registerOverrideDefaults(Class<?> clazz, Object obj) throws ModuleInitException {
 		HashMap<String, OverrideMethod> overrides = ModuleOverrideHandler.getOverrideMethodsFromClass(clazz, false);
 
 		for (Entry<String, OverrideMethod> override : overrides.entrySet()) {
@@ -144,46 +202,21 @@ public class ModuleRegistry {
 		Wizardry.LOGGER.info(" _______________________________________________________________________\\\\");
 		Wizardry.LOGGER.info(" | Starting module registration");
 
-		modules.clear();
+		List<ModuleInstance> loaded = new ArrayList<>();
+		SpellChainCache.INSTANCE.clear();
 
-		String[] files = directory.list();
-		for (String fName : files) {
-			File file = new File(directory, fName);
+		File[] files = directory.listFiles(File::isFile);
+		List<JsonFiles.ParsedFile> parsedFiles = JsonFiles.parseAll(files == null ? Collections.emptyList() : Arrays.asList(files));
+		for (JsonFiles.ParsedFile parsed : parsedFiles) {
+			File file = parsed.getFile();
+			String fName = file.getName();
 
 			if (ConfigValues.debugInfo) {
 				Wizardry.LOGGER.info(" | |");
 				Wizardry.LOGGER.info(" | |_ Parsing module configuration " + fName);
 			}
 
-			if (!file.exists()) {
-				if (ConfigValues.debugInfo) {
-					Wizardry.LOGGER.error("| | |_ SOMETHING WENT WRONG! " + file.getName() + " does NOT exist.");
-					Wizardry.LOGGER.error("| |___ Failed to parse " + fName);
-				} else {
-					Wizardry.LOGGER.error("| |_ SOMETHING WENT WRONG! " + file.getName() + " does NOT exist.");
-					Wizardry.LOGGER.error("|___ Failed to parse " + fName);
-				}
-				continue;
-			}
-
-			if (!file.canRead()) {
-				if (ConfigValues.debugInfo) {
-					Wizardry.LOGGER.error("| | |_ SOMETHING WENT WRONG! Something is preventing me from reading " + file.getName());
-					Wizardry.LOGGER.error("| |___ Failed to parse " + fName);
-				} else {
-					Wizardry.LOGGER.error("| |_ SOMETHING WENT WRONG! Something is preventing me from reading " + file.getName());
-					Wizardry.LOGGER.error("|___ Failed to parse " + fName);
-				}
-			}
-
-			JsonElement element;
-			try {
-				element = new JsonParser().parse(new FileReader(file));
-			} catch (FileNotFoundException e) {
-				e.printStackTrace();
-				continue;
-			}
-
+			JsonElement element = parsed.getElement();
 			if (element == null) {
 				if (ConfigValues.debugInfo) {
 					Wizardry.LOGGER.error("| | |_ SOMETHING WENT WRONG! Could not parse " + fName + ". Invalid json.");
@@ -467,13 +500,13 @@ public class ModuleRegistry {
 				Wizardry.LOGGER.info(" | | |___ Modifiers Registered Successfully.");
 			}
 
-			modules.add(module);
+			loaded.add(module);
 			tags.forEach(tag -> tagMap.put(tag, module));
 			hiddenTags.forEach(tag -> hiddenTagMap.put(tag, module));
 			Wizardry.LOGGER.info(" | |_ Module " + moduleName + " registered successfully!");
 		}
 
-		modules.sort(Comparator.comparing(ModuleInstance::getNBTKey));
+		freeze(loaded);
 
 		Wizardry.LOGGER.info(" |");
 		Wizardry.LOGGER.info(" | Module registration processing complete! (ᵔᴥᵔ)");
@@ -537,24 +570,12 @@ public class ModuleRegistry {
 		}
 	}
 
-	public void copyAllModules(File directory) {
-		Map<String, ModContainer> modList = Loader.instance().getIndexedModList();
-		for (Map.Entry<String, ModContainer> entry : modList.entrySet()) {
-			for (ModuleInstance module : modules) {
-				InputStream stream = LibrarianLib.PROXY.getResource(entry.getKey(), "wizmodules/" + module.getNBTKey() + ".json");
-				if (stream == null) {
-					Wizardry.LOGGER.error("    > SOMETHING WENT WRONG! Could not read module " + module.getNBTKey() + " from mod jar of '" + entry.getKey() + "'! Report this to the devs on Github!");
-					continue;
-				}
-
-				try {
-					FileUtils.copyInputStreamToFile(stream, new File(directory + "/wizmodules/", module.getNBTKey() + ".json"));
-					Wizardry.LOGGER.info("    > Module " + module.getNBTKey() + " copied successfully from mod jar.");
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			}
-		}
+	/**
+	 * Copies the modules of every mod into the directory, skipping files which are already up to date.
+	 */
+	public void copyAllModules(File directory, InternalDataFiles files) {
+		int copied = files.copyChanged(directory, "wizmodules");
+		Wizardry.LOGGER.info("    > " + copied + " modules copied from mod jars.");
 	}
 
 	Map<String, OverrideDefaultMethod> getDefaultOverrides() {
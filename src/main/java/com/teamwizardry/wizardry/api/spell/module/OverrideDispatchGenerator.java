@@ -0,0 +1,329 @@
+package com.teamwizardry.wizardry.api.spell.module;
+
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.spell.SpellRing;
+import com.teamwizardry.wizardry.api.spell.annotation.ModuleOverrideInterface;
+import com.teamwizardry.wizardry.api.spell.module.ModuleOverrideHandler.OverrideMethod;
+import com.teamwizardry.wizardry.api.spell.module.ModuleOverrideHandler.OverridePointer;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates classes implementing a consumer interface by calling the override implementations directly,
+ * as an alternative to the reflection proxy created by {@link ModuleOverrideHandler}. <br/>
+ * A class is generated once for every interface and combination of implementing methods.
+ * Everything specific to a spell chain, i.e. the module objects, context rings and super pointers,
+ * is passed to its constructor. <br/>
+ * <b>NOTE</b>: Classes are defined in the class loader and package of this class, to get access to
+ * {@link ModuleOverrideSuper}. If an implementation can't be linked from there, e.g. because it isn't public,
+ * no class is generated and the caller has to fall back to the proxy.
+ */
+final class OverrideDispatchGenerator {
+
+	private static final String CLASS_NAME_PREFIX = Type.getInternalName(OverrideDispatchGenerator.class) + "$Dispatch";
+	private static final String CLASS_SPELL_RING = Type.getInternalName(SpellRing.class);
+	private static final String CLASS_OVERRIDE_POINTER = Type.getInternalName(OverridePointer.class);
+	private static final String CLASS_OVERRIDE_SUPER = Type.getInternalName(ModuleOverrideSuper.class);
+	private static final String CLASS_UNSUPPORTED = Type.getInternalName(UnsupportedOperationException.class);
+	private static final String CONSTRUCTOR_DESC = "([Ljava/lang/Object;[L" + CLASS_SPELL_RING + ";[L" + CLASS_OVERRIDE_POINTER + ";)V";
+
+	/**
+	 * Generated constructors by interface and implementing methods. Holds {@link #FAILED} for failed attempts.
+	 */
+	private static final Map<List<Object>, Constructor<?>> dispatchers = new ConcurrentHashMap<>();
+	private static final Constructor<?> FAILED;
+	private static final AtomicInteger classCounter = new AtomicInteger();
+
+	private static Method defineClass = null;
+
+	static {
+		try {
+			FAILED = Object.class.getConstructor();
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private OverrideDispatchGenerator() {
+	}
+
+	/**
+	 * Returns an object implementing the given consumer interface, invoking the linked override pointers directly.
+	 *
+	 * @param interfaceClass the interface type.
+	 * @param linkedMethods  interface methods mapped to their override pointers. Signatures must have been checked already.
+	 * @return the dispatcher or <code>null</code> if no class could be generated for it.
+	 */
+	static <T> T createDispatcher(Class<T> interfaceClass, Map<Method, OverridePointer> linkedMethods) {
+		List<Method> methods = getAbstractMethods(interfaceClass, linkedMethods);
+
+		// Classes are shared by all chains implementing the same methods.
+		List<Object> key = new ArrayList<>(methods.size() + 1);
+		key.add(interfaceClass);
+		for (Method method : methods) {
+			OverridePointer ptr = linkedMethods.get(method);
+			key.add(ptr == null ? null : ptr.getBaseMethod().getMethod());
+		}
+
+		Constructor<?> ctor = dispatchers.computeIfAbsent(key, k -> generate(interfaceClass, methods, linkedMethods));
+		if (ctor == FAILED)
+			return null;
+
+		Object[] objects = new Object[methods.size()];
+		SpellRing[] rings = new SpellRing[methods.size()];
+		OverridePointer[] prevs = new OverridePointer[methods.size()];
+		for (int i = 0; i < methods.size(); i++) {
+			OverridePointer ptr = linkedMethods.get(methods.get(i));
+			if (ptr == null) continue;
+			objects[i] = ptr.getObject();
+			rings[i] = ptr.getSpellRingWithOverride();
+			prevs[i] = ptr.getPrev();
+		}
+
+		try {
+			return interfaceClass.cast(ctor.newInstance(objects, rings, prevs));
+		} catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+			// Generated classes are only verified once first instantiated, so don't try this one again
+			dispatchers.put(key, FAILED);
+			Wizardry.LOGGER.warn("Couldn't instantiate generated override dispatcher for '" + interfaceClass.getName() + "'. Using proxy instead.", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns all methods which a class implementing the interface has to provide, in a fixed order.
+	 * Default methods are kept, unless they are linked to an override.
+	 */
+	private static List<Method> getAbstractMethods(Class<?> interfaceClass, Map<Method, OverridePointer> linkedMethods) {
+		List<Method> methods = new ArrayList<>();
+		Set<String> signatures = new HashSet<>();
+		for (Method method : interfaceClass.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers())) continue;
+			if (method.isDefault() && !linkedMethods.containsKey(method)) continue;
+			if (!signatures.add(method.getName() + Type.getMethodDescriptor(method))) continue;
+			methods.add(method);
+		}
+		methods.sort((m1, m2) -> (m1.getName() + Type.getMethodDescriptor(m1)).compareTo(m2.getName() + Type.getMethodDescriptor(m2)));
+		return methods;
+	}
+
+	private static Constructor<?> generate(Class<?> interfaceClass, List<Method> methods, Map<Method, OverridePointer> linkedMethods) {
+		ClassLoader loader = OverrideDispatchGenerator.class.getClassLoader();
+		try {
+			if (!isLinkable(interfaceClass, loader))
+				return fail(interfaceClass, "interface is not accessible");
+			for (Method method : methods) {
+				OverridePointer ptr = linkedMethods.get(method);
+				if (ptr == null) continue;
+				Method target = ptr.getBaseMethod().getMethod();
+				if (!isLinkable(target.getDeclaringClass(), loader) || !Modifier.isPublic(target.getModifiers()))
+					return fail(interfaceClass, "'" + target + "' is not accessible");
+				for (Class<?> paramType : target.getParameterTypes())
+					if (!isLinkable(paramType, loader))
+						return fail(interfaceClass, "parameter type of '" + target + "' is not accessible");
+			}
+
+			String className = CLASS_NAME_PREFIX + classCounter.getAndIncrement();
+			byte[] bytes = writeClass(className, interfaceClass, methods, linkedMethods);
+
+			Class<?> clazz = defineClass(loader, className.replace('/', '.'), bytes);
+			if (ConfigValues.debugInfo)
+				Wizardry.LOGGER.info("Generated override dispatcher '" + clazz.getName() + "' for '" + interfaceClass.getName() + "'.");
+			return clazz.getConstructor(Object[].class, SpellRing[].class, OverridePointer[].class);
+		} catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+			Wizardry.LOGGER.warn("Couldn't generate override dispatcher for '" + interfaceClass.getName() + "'. Using proxy instead.", e);
+			return FAILED;
+		}
+	}
+
+	private static Constructor<?> fail(Class<?> interfaceClass, String reason) {
+		if (ConfigValues.debugInfo)
+			Wizardry.LOGGER.info("Using proxy for '" + interfaceClass.getName() + "' as " + reason + ".");
+		return FAILED;
+	}
+
+	/**
+	 * Returns whether a generated class can refer to the given type.
+	 */
+	private static boolean isLinkable(Class<?> clazz, ClassLoader loader) throws ClassNotFoundException {
+		while (clazz.isArray())
+			clazz = clazz.getComponentType();
+		if (clazz.isPrimitive())
+			return true;
+		if (!Modifier.isPublic(clazz.getModifiers()))
+			return false;
+		return Class.forName(clazz.getName(), false, loader) == clazz;
+	}
+
+	private static synchronized Class<?> defineClass(ClassLoader loader, String name, byte[] bytes) throws ReflectiveOperationException {
+		if (defineClass == null) {
+			defineClass = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class);
+			defineClass.setAccessible(true);
+		}
+		return (Class<?>) defineClass.invoke(loader, name, bytes, 0, bytes.length);
+	}
+
+	private static byte[] writeClass(String className, Class<?> interfaceClass, List<Method> methods, Map<Method, OverridePointer> linkedMethods) {
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, className, null, "java/lang/Object", new String[]{Type.getInternalName(interfaceClass)});
+
+		// Fields
+		for (int i = 0; i < methods.size(); i++) {
+			OverridePointer ptr = linkedMethods.get(methods.get(i));
+			if (ptr == null) continue;
+			Method target = ptr.getBaseMethod().getMethod();
+			if (!Modifier.isStatic(target.getModifiers()))
+				writer.visitField(ACC_PRIVATE | ACC_FINAL, "object" + i, Type.getDescriptor(target.getDeclaringClass()), null, null).visitEnd();
+			writer.visitField(ACC_PRIVATE | ACC_FINAL, "ring" + i, "L" + CLASS_SPELL_RING + ";", null, null).visitEnd();
+			writer.visitField(ACC_PRIVATE | ACC_FINAL, "prev" + i, "L" + CLASS_OVERRIDE_POINTER + ";", null, null).visitEnd();
+		}
+
+		writeConstructor(writer, className, methods, linkedMethods);
+
+		for (int i = 0; i < methods.size(); i++) {
+			Method method = methods.get(i);
+			OverridePointer ptr = linkedMethods.get(method);
+			if (ptr == null)
+				writeUnsupportedMethod(writer, method);
+			else
+				writeDispatchMethod(writer, className, i, method, ptr.getBaseMethod());
+		}
+
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+
+	private static void writeConstructor(ClassWriter writer, String className, List<Method> methods, Map<Method, OverridePointer> linkedMethods) {
+		MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESC, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+		for (int i = 0; i < methods.size(); i++) {
+			OverridePointer ptr = linkedMethods.get(methods.get(i));
+			if (ptr == null) continue;
+			Method target = ptr.getBaseMethod().getMethod();
+
+			if (!Modifier.isStatic(target.getModifiers())) {
+				Type objectType = Type.getType(target.getDeclaringClass());
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitVarInsn(ALOAD, 1);
+				mv.visitLdcInsn(i);
+				mv.visitInsn(AALOAD);
+				mv.visitTypeInsn(CHECKCAST, objectType.getInternalName());
+				mv.visitFieldInsn(PUTFIELD, className, "object" + i, objectType.getDescriptor());
+			}
+
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(AALOAD);
+			mv.visitFieldInsn(PUTFIELD, className, "ring" + i, "L" + CLASS_SPELL_RING + ";");
+
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 3);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(AALOAD);
+			mv.visitFieldInsn(PUTFIELD, className, "prev" + i, "L" + CLASS_OVERRIDE_POINTER + ";");
+		}
+
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	/**
+	 * Writes an interface method passing its arguments, together with the context parameters, straight to the override implementation.
+	 * Mirrors the argument layout of {@link OverridePointer#invoke}.
+	 */
+	private static void writeDispatchMethod(ClassWriter writer, String className, int idx, Method method, OverrideMethod override) {
+		Method target = override.getMethod();
+		boolean isStatic = Modifier.isStatic(target.getModifiers());
+		Class<?> owner = target.getDeclaringClass();
+
+		MethodVisitor mv = writer.visitMethod(ACC_PUBLIC | ACC_FINAL, method.getName(), Type.getMethodDescriptor(method), null, null);
+		mv.visitCode();
+
+		if (!isStatic) {
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitFieldInsn(GETFIELD, className, "object" + idx, Type.getDescriptor(owner));
+		}
+
+		Class<?>[] interfaceParams = method.getParameterTypes();
+		Class<?>[] targetParams = target.getParameterTypes();
+		int local = 1;
+		int j = 0;
+		for (int i = 0; i < targetParams.length; i++) {
+			if (i == override.getIdxContextParamRing()) {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, className, "ring" + idx, "L" + CLASS_SPELL_RING + ";");
+			} else if (i == override.getIdxContextParamSuper()) {
+				mv.visitTypeInsn(NEW, CLASS_OVERRIDE_SUPER);
+				mv.visitInsn(DUP);
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, className, "prev" + idx, "L" + CLASS_OVERRIDE_POINTER + ";");
+				mv.visitMethodInsn(INVOKESPECIAL, CLASS_OVERRIDE_SUPER, "<init>", "(L" + CLASS_OVERRIDE_POINTER + ";)V", false);
+			} else {
+				Type argType = Type.getType(interfaceParams[j]);
+				mv.visitVarInsn(argType.getOpcode(ILOAD), local);
+				if (!targetParams[i].isPrimitive() && targetParams[i] != interfaceParams[j])
+					mv.visitTypeInsn(CHECKCAST, Type.getInternalName(targetParams[i]));
+				local += argType.getSize();
+				j++;
+			}
+		}
+
+		if (isStatic)
+			mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(owner), target.getName(), Type.getMethodDescriptor(target), owner.isInterface());
+		else if (owner.isInterface())
+			mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(owner), target.getName(), Type.getMethodDescriptor(target), true);
+		else
+			mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(owner), target.getName(), Type.getMethodDescriptor(target), false);
+
+		Type returnType = Type.getType(method.getReturnType());
+		Type targetReturnType = Type.getType(target.getReturnType());
+		if (returnType.getSort() == Type.VOID && targetReturnType.getSort() != Type.VOID)
+			mv.visitInsn(targetReturnType.getSize() == 2 ? POP2 : POP);
+		mv.visitInsn(returnType.getOpcode(IRETURN));
+
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	/**
+	 * Writes an interface method throwing the same exception as the proxy would on an unmapped method.
+	 */
+	private static void writeUnsupportedMethod(ClassWriter writer, Method method) {
+		String message;
+		ModuleOverrideInterface annot = method.getDeclaredAnnotation(ModuleOverrideInterface.class);
+		if (annot != null)
+			message = "Override method for '" + annot.value() + "' invoke via '" + method + "' is not implemented or not public.";
+		else
+			message = "Method '" + method + "' is not an override. Annotation @ModuleOverrideInterface must be supplied.";
+
+		MethodVisitor mv = writer.visitMethod(ACC_PUBLIC | ACC_FINAL, method.getName(), Type.getMethodDescriptor(method), null, null);
+		mv.visitCode();
+		mv.visitTypeInsn(NEW, CLASS_UNSUPPORTED);
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn(message);
+		mv.visitMethodInsn(INVOKESPECIAL, CLASS_UNSUPPORTED, "<init>", "(Ljava/lang/String;)V", false);
+		mv.visitInsn(ATHROW);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+}
@@ -0,0 +1,206 @@
+package com.teamwizardry.wizardry.api.structure;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.block.IStructure;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.template.Template;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Caches the result of {@link IStructure#testStructure(World, BlockPos)} per structure. <br/>
+ * Every tested structure is indexed by the positions of its blocks. A block change at one of them,
+ * or a chunk the structure overlaps being loaded or unloaded, drops the cached result, and the next lookup tests the structure again.
+ * <br/>
+ * <b>NOTE</b>: Block changes are seen through a world listener, so this works the same on the client, where no neighbour updates happen.
+ * The listener is only told about changes made with flag 2 of {@link World#setBlockState(BlockPos, IBlockState, int)},
+ * so changes made without it, e.g. by world generation or other mods, leave a stale result behind.
+ * Actions taken by players should use {@link #retest(World, BlockPos, IStructure)}.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class StructureTracker implements IWorldEventListener {
+
+	private static final Map<World, StructureTracker> trackers = new MapMaker().weakKeys().makeMap();
+
+	private final HashMap<BlockPos, Entry> entries = new HashMap<>();
+	private final HashMap<BlockPos, List<Entry>> entriesByBlock = new HashMap<>();
+	private final HashMap<Long, List<Entry>> entriesByChunk = new HashMap<>();
+
+	private StructureTracker() {
+	}
+
+	/**
+	 * @return the positions of the incorrect blocks of the structure at the given position. Must not be modified.
+	 */
+	public static Set<BlockPos> getErrors(World world, BlockPos pos, IStructure structure) {
+		StructureTracker tracker = trackers.get(world);
+		if (tracker == null) {
+			tracker = new StructureTracker();
+			trackers.put(world, tracker);
+			world.addEventListener(tracker);
+		}
+
+		Entry entry = tracker.entries.get(pos);
+		if (entry != null) {
+			if (entry.structure == structure) return entry.errors;
+			tracker.remove(entry);
+		}
+
+		entry = new Entry(pos, structure, Collections.unmodifiableSet(structure.testStructure(world, pos)));
+		tracker.add(entry);
+		return entry.errors;
+	}
+
+	/**
+	 * Same as {@link #getErrors(World, BlockPos, IStructure)}, but always tests the structure again.
+	 */
+	public static Set<BlockPos> retest(World world, BlockPos pos, IStructure structure) {
+		StructureTracker tracker = trackers.get(world);
+		if (tracker != null) {
+			Entry entry = tracker.entries.get(pos);
+			if (entry != null) tracker.remove(entry);
+		}
+		return getErrors(world, pos, structure);
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(ChunkEvent.Load event) {
+		onChunkChanged(event);
+	}
+
+	@SubscribeEvent
+	public static void onChunkUnload(ChunkEvent.Unload event) {
+		onChunkChanged(event);
+	}
+
+	private static void onChunkChanged(ChunkEvent event) {
+		StructureTracker tracker = trackers.get(event.getWorld());
+		if (tracker == null) return;
+
+		List<Entry> inChunk = tracker.entriesByChunk.get(ChunkPos.asLong(event.getChunk().x, event.getChunk().z));
+		if (inChunk != null)
+			tracker.removeAll(inChunk);
+	}
+
+	private void add(Entry entry) {
+		entries.put(entry.pos, entry);
+
+		WizardryStructure structure = entry.structure.getStructure();
+		for (Template.BlockInfo info : structure.blockInfos()) {
+			if (info.blockState == null) continue;
+			if (info.blockState.getMaterial() == Material.AIR || info.blockState.getBlock() == Blocks.STRUCTURE_VOID)
+				continue;
+
+			BlockPos realPos = info.pos.add(entry.pos).subtract(structure.getOrigin());
+			entry.blocks.add(realPos);
+			entry.chunks.add(ChunkPos.asLong(realPos.getX() >> 4, realPos.getZ() >> 4));
+		}
+
+		for (BlockPos pos : entry.blocks)
+			entriesByBlock.computeIfAbsent(pos, key -> new ArrayList<>(1)).add(entry);
+		for (long chunk : entry.chunks)
+			entriesByChunk.computeIfAbsent(chunk, key -> new ArrayList<>(1)).add(entry);
+	}
+
+	private void removeAll(List<Entry> toRemove) {
+		for (Entry entry : toRemove.toArray(new Entry[0]))
+			remove(entry);
+	}
+
+	private void remove(Entry entry) {
+		entries.remove(entry.pos, entry);
+		for (BlockPos pos : entry.blocks)
+			removeFromIndex(entriesByBlock, pos, entry);
+		for (long chunk : entry.chunks)
+			removeFromIndex(entriesByChunk, chunk, entry);
+	}
+
+	private static <K> void removeFromIndex(Map<K, List<Entry>> index, K key, Entry entry) {
+		List<Entry> indexed = index.get(key);
+		if (indexed == null) return;
+		indexed.remove(entry);
+		if (indexed.isEmpty()) index.remove(key);
+	}
+
+	@Override
+	public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+		if (oldState == newState) return;
+
+		List<Entry> atBlock = entriesByBlock.get(pos);
+		if (atBlock != null)
+			removeAll(atBlock);
+	}
+
+	@Override
+	public void notifyLightSet(BlockPos pos) {
+	}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+	}
+
+	@Override
+	public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+	}
+
+	@Override
+	public void playRecord(SoundEvent soundIn, BlockPos pos) {
+	}
+
+	@Override
+	public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+	}
+
+	@Override
+	public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+	}
+
+	@Override
+	public void onEntityAdded(Entity entityIn) {
+	}
+
+	@Override
+	public void onEntityRemoved(Entity entityIn) {
+	}
+
+	@Override
+	public void broadcastSound(int soundID, BlockPos pos, int data) {
+	}
+
+	@Override
+	public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {
+	}
+
+	@Override
+	public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+	}
+
+	private static final class Entry {
+		private final BlockPos pos;
+		private final IStructure structure;
+		private final Set<BlockPos> errors;
+		private final List<BlockPos> blocks = new ArrayList<>();
+		private final Set<Long> chunks = new HashSet<>();
+
+		Entry(BlockPos pos, IStructure structure, Set<BlockPos> errors) {
+			this.pos = pos;
+			this.structure = structure;
+			this.errors = errors;
+		}
+	}
+}
@@ -0,0 +1,356 @@
+package com.teamwizardry.wizardry.api.util;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.ConfigValues;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.init.Blocks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.common.util.BlockSnapshot;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Applies the block edits of area spells, spread over as many ticks as needed. <br/>
+ * The edits of a {@link Job} are grouped by chunk section, and sections are applied chunk by chunk.
+ * Every section is checked for permissions and gets its {@link BlockEvent.MultiPlaceEvent} once,
+ * and the changes of a chunk reach clients through the one multi block change the player chunk map sends for it per tick.
+ * Light checks of edited blocks run after all edits of the tick.
+ * Per world and tick at most {@link ConfigValues#blockEditsPerTick} edits and as many light checks are done, the rest waits.
+ * <br/>
+ * <b>NOTE</b>: Edits are checked against the world when they are applied, not when they are queued.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class BlockEditQueue {
+
+	private static final Map<World, BlockEditQueue> queues = new MapMaker().weakKeys().makeMap();
+
+	private final WorldServer world;
+	private final Deque<Job> jobs = new ArrayDeque<>();
+	private final Set<BlockPos> lightChecks = new LinkedHashSet<>();
+
+	private BlockEditQueue(WorldServer world) {
+		this.world = world;
+	}
+
+	public static BlockEditQueue get(WorldServer world) {
+		return queues.computeIfAbsent(world, key -> new BlockEditQueue((WorldServer) key));
+	}
+
+	/**
+	 * Starts a job whose edits are done in the name of the given player.
+	 * Nothing happens until it is {@link Job#submit() submitted}.
+	 */
+	public Job newJob(@Nonnull EntityPlayerMP player) {
+		return new Job(this, player);
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+
+		BlockEditQueue queue = queues.get(event.world);
+		if (queue != null) queue.tick();
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		queues.remove(event.getWorld());
+	}
+
+	private void tick() {
+		int budget = ConfigValues.blockEditsPerTick;
+		while (budget > 0 && !jobs.isEmpty()) {
+			Job job = jobs.peekFirst();
+			if (job.player.hasDisconnected()) {
+				jobs.pollFirst();
+				continue;
+			}
+
+			budget = job.apply(budget);
+			if (job.sections.isEmpty()) jobs.pollFirst();
+		}
+
+		int lightBudget = ConfigValues.blockEditsPerTick;
+		for (Iterator<BlockPos> it = lightChecks.iterator(); it.hasNext() && lightBudget-- > 0; ) {
+			world.checkLight(it.next());
+			it.remove();
+		}
+	}
+
+	/**
+	 * Sets a block like {@link World#setBlockState(BlockPos, IBlockState)} does, but leaves its light check for later.
+	 */
+	private boolean setBlockState(BlockPos pos, IBlockState state) {
+		if (world.isOutsideBuildHeight(pos)) return false;
+		if (world.getWorldInfo().getTerrainType() == WorldType.DEBUG_ALL_BLOCK_STATES) return false;
+
+		Chunk chunk = world.getChunk(pos);
+		IBlockState oldState = chunk.getBlockState(pos);
+		int oldOpacity = oldState.getLightOpacity(world, pos);
+		int oldLight = oldState.getLightValue(world, pos);
+
+		IBlockState replaced = chunk.setBlockState(pos, state);
+		if (replaced == null) return false;
+
+		if (state.getLightOpacity(world, pos) != oldOpacity || state.getLightValue(world, pos) != oldLight)
+			lightChecks.add(pos);
+
+		world.markAndNotifyBlock(pos, chunk, replaced, state, 3);
+		return true;
+	}
+
+	/**
+	 * Whether every block of the box can be edited as far as the world border and spawn protection go.
+	 * If not, every block gets checked on its own.
+	 */
+	private boolean isRegionModifiable(int minX, int minZ, int maxX, int maxZ) {
+		MinecraftServer server = world.getMinecraftServer();
+		if (server != null && world.provider.getDimension() == 0 && server.getSpawnProtectionSize() > 0) {
+			BlockPos spawn = world.getSpawnPoint();
+			int size = server.getSpawnProtectionSize();
+			if (maxX >= spawn.getX() - size && minX <= spawn.getX() + size && maxZ >= spawn.getZ() - size && minZ <= spawn.getZ() + size)
+				return false;
+		}
+
+		WorldBorder border = world.getWorldBorder();
+		return border.contains(new BlockPos(minX, 0, minZ)) && border.contains(new BlockPos(maxX, 0, maxZ));
+	}
+
+	/**
+	 * A set of edits done in the name of one player. Later edits of the same position replace earlier ones.
+	 */
+	public static final class Job {
+		private final BlockEditQueue queue;
+		private final EntityPlayerMP player;
+		private final Map<Long, Section> sectionsByKey = new HashMap<>();
+		private final Deque<Section> sections = new ArrayDeque<>();
+		private boolean submitted = false;
+
+		private Job(BlockEditQueue queue, EntityPlayerMP player) {
+			this.queue = queue;
+			this.player = player;
+		}
+
+		public Job place(@Nonnull BlockPos pos, @Nonnull IBlockState state) {
+			return place(pos, state, false, null);
+		}
+
+		/**
+		 * @param replaceableOnly If true, the block is only placed if the block it replaces is replaceable.
+		 * @param onPlaced        Called with the replaced state once the block is placed.
+		 */
+		public Job place(@Nonnull BlockPos pos, @Nonnull IBlockState state, boolean replaceableOnly, @Nullable Consumer<IBlockState> onPlaced) {
+			return add(new Edit(pos.toImmutable(), state, replaceableOnly, onPlaced));
+		}
+
+		/**
+		 * Breaks the block like the player would, dropping its items.
+		 */
+		public Job breakBlock(@Nonnull BlockPos pos) {
+			return add(new Edit(pos.toImmutable(), null, false, null));
+		}
+
+		public boolean isEmpty() {
+			return sectionsByKey.isEmpty();
+		}
+
+		/**
+		 * Hands the job to the queue of its world. Edits added afterwards are ignored.
+		 */
+		public void submit() {
+			if (submitted) return;
+			submitted = true;
+			if (sectionsByKey.isEmpty()) return;
+
+			List<Section> sorted = new ArrayList<>(sectionsByKey.values());
+			sorted.sort(Comparator.comparingLong((Section section) -> section.chunk).thenComparingInt(section -> section.y));
+			sections.addAll(sorted);
+			queue.jobs.addLast(this);
+		}
+
+		private Job add(Edit edit) {
+			if (submitted) return this;
+
+			BlockPos pos = edit.pos;
+			int chunkX = pos.getX() >> 4;
+			int chunkZ = pos.getZ() >> 4;
+			int y = pos.getY() >> 4;
+			long chunk = ChunkPos.asLong(chunkX, chunkZ);
+			Section section = sectionsByKey.computeIfAbsent(new BlockPos(chunkX, y, chunkZ).toLong(), key -> new Section(chunk, y));
+			section.add(edit);
+			return this;
+		}
+
+		/**
+		 * Applies edits until the budget runs out.
+		 *
+		 * @return The budget left.
+		 */
+		private int apply(int budget) {
+			while (budget > 0 && !sections.isEmpty()) {
+				Section section = sections.peekFirst();
+				if (!section.checked) check(section);
+
+				while (budget > 0 && section.next < section.edits.size()) {
+					Edit edit = section.edits.get(section.next++);
+					if (edit.allowed) {
+						if (edit.state == null) applyBreak(edit);
+						else applyPlace(section, edit);
+					}
+					budget--;
+				}
+
+				if (section.next >= section.edits.size())
+					sections.pollFirst();
+			}
+			return budget;
+		}
+
+		/**
+		 * Runs the permission checks of a section and posts one place event for all its placements.
+		 */
+		private void check(Section section) {
+			section.checked = true;
+			WorldServer world = queue.world;
+			boolean regionModifiable = queue.isRegionModifiable(section.minX, section.minZ, section.maxX, section.maxZ);
+			boolean allowEdit = player.isAllowEdit();
+
+			List<BlockSnapshot> snapshots = new ArrayList<>();
+			for (Edit edit : section.edits) {
+				// Breaks by fake players skip the permission check, like BlockUtils#breakBlock
+				if (edit.state != null || !(player instanceof FakePlayer)) {
+					edit.allowed = allowEdit && world.isBlockLoaded(edit.pos)
+							&& (regionModifiable || world.isBlockModifiable(player, edit.pos))
+							&& (player.capabilities.isCreativeMode || world.getBlockState(edit.pos).getBlockHardness(world, edit.pos) != -1.0F);
+				}
+				if (edit.allowed && edit.state != null)
+					snapshots.add(BlockSnapshot.getBlockSnapshot(world, edit.pos));
+			}
+			if (snapshots.isEmpty()) return;
+
+			BlockEvent.MultiPlaceEvent event = new BlockEvent.MultiPlaceEvent(snapshots, Blocks.AIR.getDefaultState(), player, player.getActiveHand());
+			MinecraftForge.EVENT_BUS.post(event);
+			if (!event.isCanceled()) return;
+
+			for (Edit edit : section.edits)
+				if (edit.state != null) edit.allowed = false;
+		}
+
+		private void applyPlace(Section section, Edit edit) {
+			WorldServer world = queue.world;
+			if (!world.isBlockLoaded(edit.pos)) return;
+
+			IBlockState oldState = world.getBlockState(edit.pos);
+			if (edit.replaceableOnly && !oldState.getBlock().isReplaceable(world, edit.pos)) return;
+
+			if (queue.setBlockState(edit.pos, edit.state) && edit.onApplied != null)
+				edit.onApplied.accept(oldState);
+		}
+
+		/**
+		 * Breaks a block like {@link BlockUtils#breakBlock(World, BlockPos, IBlockState, EntityPlayerMP)}.
+		 * Blocks without a tile entity are removed the way {@link Block#removedByPlayer} does by default,
+		 * so their light check can wait too. Blocks with one may remove themselves differently and are left to it.
+		 */
+		private void applyBreak(Edit edit) {
+			WorldServer world = queue.world;
+			if (!world.isBlockLoaded(edit.pos)) return;
+
+			IBlockState oldState = world.getBlockState(edit.pos);
+			if (BlockUtils.isAnyAir(oldState)) return;
+
+			BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(world, edit.pos, oldState, player);
+			MinecraftForge.EVENT_BUS.post(event);
+			if (event.isCanceled()) return;
+
+			TileEntity tile = world.getTileEntity(edit.pos);
+			Block block = oldState.getBlock();
+			boolean removed;
+			if (block.hasTileEntity(oldState)) {
+				removed = block.removedByPlayer(oldState, world, edit.pos, player, true);
+			} else {
+				block.onBlockHarvested(world, edit.pos, oldState, player);
+				removed = queue.setBlockState(edit.pos, Blocks.AIR.getDefaultState());
+			}
+			if (!removed) return;
+
+			block.onPlayerDestroy(world, edit.pos, oldState);
+			block.harvestBlock(world, player, edit.pos, oldState, tile, player.getHeldItemMainhand());
+			world.playEvent(2001, edit.pos, Block.getStateId(oldState));
+		}
+	}
+
+	/**
+	 * The edits of a job inside one chunk section, in the order they were added.
+	 */
+	private static final class Section {
+		private final long chunk;
+		private final int y;
+		private final List<Edit> edits = new ArrayList<>();
+		private final Map<BlockPos, Integer> indices = new HashMap<>();
+		private int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+		private int next = 0;
+		private boolean checked = false;
+
+		Section(long chunk, int y) {
+			this.chunk = chunk;
+			this.y = y;
+		}
+
+		void add(Edit edit) {
+			Integer index = indices.get(edit.pos);
+			if (index != null) {
+				edits.set(index, edit);
+				return;
+			}
+
+			indices.put(edit.pos, edits.size());
+			edits.add(edit);
+			minX = Math.min(minX, edit.pos.getX());
+			minZ = Math.min(minZ, edit.pos.getZ());
+			maxX = Math.max(maxX, edit.pos.getX());
+			maxZ = Math.max(maxZ, edit.pos.getZ());
+		}
+	}
+
+	private static final class Edit {
+		private final BlockPos pos;
+		/**
+		 * The state to place, or null to break the block.
+		 */
+		@Nullable
+		private final IBlockState state;
+		private final boolean replaceableOnly;
+		@Nullable
+		private final Consumer<IBlockState> onApplied;
+		private boolean allowed = true;
+
+		Edit(BlockPos pos, @Nullable IBlockState state, boolean replaceableOnly, @Nullable Consumer<IBlockState> onApplied) {
+			this.pos = pos;
+			this.state = state;
+			this.replaceableOnly = replaceableOnly;
+			this.onApplied = onApplied;
+		}
+	}
+}
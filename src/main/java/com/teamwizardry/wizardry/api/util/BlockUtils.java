@@ -67,6 +67,7 @@ public final class BlockUtils {
 
 	/**
 	 * Places the specified block into the world at the specified position if it is possible to do so without violating permission restrictions.
+	 * To place many blocks at once, use a {@link BlockEditQueue} job.
 	 *
 	 * @return <tt>true</tt> if the specified block was successfully placed into the world
 	 */
@@ -80,9 +81,7 @@ public final class BlockUtils {
 
 		if (event.isCanceled()) return false;
 
-		world.setBlockState(pos, state);
-		world.notifyBlockUpdate(pos, state, state, 3);
-		return true;
+		return world.setBlockState(pos, state);
 	}
 
 	public static boolean placeBlock(@Nonnull World world, @Nonnull BlockPos pos, @Nonnull EnumFacing facing, @Nonnull ItemStack stack) {
@@ -112,6 +111,7 @@ public final class BlockUtils {
 
 	/**
 	 * Tries breaking a block safely and fires an event for it.
+	 * To break many blocks at once, use a {@link BlockEditQueue} job.
 	 *
 	 * @return Whether the block was successfully broken
 	 */
@@ -132,7 +132,6 @@ public final class BlockUtils {
 		if (block.removedByPlayer(oldState, world, pos, player, true)) {
 			block.onPlayerDestroy(world, pos, oldState);
 			block.harvestBlock(world, player, pos, oldState, tile, player.getHeldItemMainhand());
-			world.notifyBlockUpdate(pos, oldState, Blocks.AIR.getDefaultState(), 3);
 		} else return false;
 
 		return true;
@@ -0,0 +1,90 @@
+package com.teamwizardry.wizardry.api.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the json files of config folders. <br/>
+ * Files are read and parsed in parallel, registering what they describe is left to the caller,
+ * which gets the results in the order of the given files.
+ */
+public final class JsonFiles {
+
+	private JsonFiles() {
+	}
+
+	/**
+	 * @return Every {@code .json} file in the directory and its subdirectories.
+	 */
+	public static List<File> listJsonFiles(File directory) {
+		List<File> files = new ArrayList<>();
+		Deque<File> toProcess = new ArrayDeque<>();
+		toProcess.push(directory);
+
+		while (!toProcess.isEmpty()) {
+			File file = toProcess.pop();
+			if (file.isDirectory()) {
+				File[] children = file.listFiles();
+				if (children != null) for (File child : children)
+					toProcess.push(child);
+			} else if (file.isFile() && file.getName().endsWith(".json"))
+				files.add(file);
+		}
+		return files;
+	}
+
+	/**
+	 * Parses the files in parallel.
+	 *
+	 * @return A result for each file, in the same order.
+	 */
+	public static List<ParsedFile> parseAll(List<File> files) {
+		return files.parallelStream().map(JsonFiles::parse).collect(Collectors.toList());
+	}
+
+	private static ParsedFile parse(File file) {
+		try (Reader reader = new FileReader(file)) {
+			return new ParsedFile(file, new JsonParser().parse(reader), null);
+		} catch (IOException | JsonParseException e) {
+			return new ParsedFile(file, null, e);
+		}
+	}
+
+	public static final class ParsedFile {
+		private final File file;
+		private final JsonElement element;
+		private final Exception error;
+
+		ParsedFile(File file, @Nullable JsonElement element, @Nullable Exception error) {
+			this.file = file;
+			this.element = element;
+			this.error = error;
+		}
+
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * @return The parsed json, or null if the file could not be read or parsed.
+		 */
+		@Nullable
+		public JsonElement getElement() {
+			return element;
+		}
+
+		@Nullable
+		public Exception getError() {
+			return error;
+		}
+	}
+}
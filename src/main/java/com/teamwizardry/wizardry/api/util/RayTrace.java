@@ -8,10 +8,13 @@ import net.minecraft.entity.Entity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.*;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Copied from Wizardry
@@ -75,6 +78,8 @@ public class RayTrace {
 	/**
 	 * Credits to Masa on discord for providing the base of the code. I heavily modified it.
 	 * This raytracer will precisely trace entities and blocks (including misses) without snapping to any grid.
+	 * <br/>
+	 * Blocks are traced first, so entities are only looked for up to the block that was hit.
 	 *
 	 * @return The RaytraceResult.
 	 */
@@ -82,50 +87,154 @@ public class RayTrace {
 	public RayTraceResult trace() {
 		Vec3d lookVec = origin.add(slope.normalize().scale(range));
 
-		RayTraceResult entityResult = null;
 		RayTraceResult blockResult = null;// world.rayTraceBlocks(origin, lookVec, false, ignoreBlocksWithoutBoundingBoxes, returnLastUncollidableBlock);
+		if (!skipBlocks) blockResult = traceBlock(origin, lookVec);
 
+		if (blockResult == null)
+			blockResult = new RayTraceResult(
+					RayTraceResult.Type.BLOCK,
+					lookVec,
+					EnumFacing.getFacingFromVector((float) lookVec.x, (float) lookVec.y, (float) lookVec.z),
+					new BlockPos(lookVec));
 
 		if (!skipEntities) {
-			Entity targetEntity = null;
-			RayTraceResult entityTrace = null;
-			AxisAlignedBB bb = new AxisAlignedBB(origin.x, origin.y, origin.z, lookVec.x, lookVec.y, lookVec.z);
-			List<Entity> list = world.getEntitiesWithinAABB(Entity.class, bb.grow(range, range, range), input -> {
-				if (predicateEntity == null) return true;
-				else return predicateEntity.test(input);
-			});
-			double closest = 0.0D;
-
-			for (Entity entity : list) {
-				if (entity == null) continue;
-
-				bb = entity.getEntityBoundingBox();
-				RayTraceResult traceTmp = bb.calculateIntercept(lookVec, origin);
-
-				if (traceTmp != null) {
-					double tmp = origin.distanceTo(traceTmp.hitVec);
-
-					if (tmp < closest || closest == 0.0D) {
-						targetEntity = entity;
-						entityTrace = traceTmp;
-						closest = tmp;
-					}
+			RayTraceResult entityResult = traceEntities(blockResult.hitVec);
+			if (entityResult != null) return entityResult;
+		}
+
+		return blockResult;
+	}
+
+	/**
+	 * Finds the first entity on the segment from the origin to the given end, which it has to be strictly closer than. <br/>
+	 * The segment is walked through the chunk sections it crosses, nearest first. Only entities of the chunks
+	 * around the part of the segment inside a section are looked at, and the walk stops after the section
+	 * holding the closest hit so far.
+	 */
+	private RayTraceResult traceEntities(@Nonnull Vec3d end) {
+		double dx = end.x - origin.x;
+		double dy = end.y - origin.y;
+		double dz = end.z - origin.z;
+
+		int sectionX = MathHelper.floor(origin.x) >> 4;
+		int sectionY = MathHelper.floor(origin.y) >> 4;
+		int sectionZ = MathHelper.floor(origin.z) >> 4;
+		int stepX = dx > 0 ? 1 : -1;
+		int stepY = dy > 0 ? 1 : -1;
+		int stepZ = dz > 0 ? 1 : -1;
+
+		// Segment fractions at which the next section boundary of each axis is crossed, and between two boundaries
+		double nextX = dx == 0 ? Double.POSITIVE_INFINITY : (((sectionX + (dx > 0 ? 1 : 0)) << 4) - origin.x) / dx;
+		double nextY = dy == 0 ? Double.POSITIVE_INFINITY : (((sectionY + (dy > 0 ? 1 : 0)) << 4) - origin.y) / dy;
+		double nextZ = dz == 0 ? Double.POSITIVE_INFINITY : (((sectionZ + (dz > 0 ? 1 : 0)) << 4) - origin.z) / dz;
+		double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : 16 / Math.abs(dx);
+		double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : 16 / Math.abs(dy);
+		double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : 16 / Math.abs(dz);
+
+		Set<Entity> tested = new HashSet<>();
+		List<Entity> candidates = new ArrayList<>();
+		Entity closest = null;
+		double closestT = 1;
+
+		double enter = 0;
+		while (true) {
+			double exit = Math.min(Math.min(nextX, nextY), Math.min(nextZ, 1));
+
+			AxisAlignedBB piece = new AxisAlignedBB(
+					origin.x + dx * enter, origin.y + dy * enter, origin.z + dz * enter,
+					origin.x + dx * exit, origin.y + dy * exit, origin.z + dz * exit).grow(1.0E-4);
+			collectEntities(piece, candidates);
+
+			for (Entity entity : candidates) {
+				if (!tested.add(entity)) continue;
+
+				double t = intercept(entity.getEntityBoundingBox(), dx, dy, dz);
+				if (t >= 0 && t < closestT) {
+					closest = entity;
+					closestT = t;
 				}
 			}
+			candidates.clear();
+
+			if (closest != null && closestT <= exit) break;
+			if (exit >= 1) break;
 
-			if (targetEntity != null) entityResult = new RayTraceResult(targetEntity, entityTrace.hitVec);
+			if (nextX <= nextY && nextX <= nextZ) {
+				sectionX += stepX;
+				nextX += deltaX;
+			} else if (nextY <= nextZ) {
+				sectionY += stepY;
+				nextY += deltaY;
+			} else {
+				sectionZ += stepZ;
+				nextZ += deltaZ;
+			}
+			enter = exit;
 		}
 
-		if (!skipBlocks) blockResult = traceBlock(origin, lookVec);
+		if (closest == null) return null;
+		return new RayTraceResult(closest, new Vec3d(origin.x + dx * closestT, origin.y + dy * closestT, origin.z + dz * closestT));
+	}
 
-		if (blockResult == null)
-			blockResult = new RayTraceResult(
-					RayTraceResult.Type.BLOCK,
-					lookVec,
-					EnumFacing.getFacingFromVector((float) lookVec.x, (float) lookVec.y, (float) lookVec.z),
-					new BlockPos(lookVec));
+	/**
+	 * Adds the entities intersecting the box from the loaded chunks around it,
+	 * the same chunks {@link World#getEntitiesWithinAABB} would look in.
+	 */
+	private void collectEntities(AxisAlignedBB box, List<Entity> list) {
+		int minChunkX = MathHelper.floor((box.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+		int maxChunkX = MathHelper.floor((box.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+		int minChunkZ = MathHelper.floor((box.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+		int maxChunkZ = MathHelper.floor((box.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+				if (chunk != null)
+					chunk.getEntitiesOfTypeWithinAABB(Entity.class, box, list, predicateEntity);
+			}
+		}
+	}
+
+	/**
+	 * Slab test of the segment against a box.
+	 *
+	 * @return The segment fraction at which the segment enters the box, 0 if it starts inside, or -1 if it misses.
+	 */
+	private double intercept(AxisAlignedBB box, double dx, double dy, double dz) {
+		double min = 0;
+		double max = 1;
+
+		if (dx == 0) {
+			if (origin.x < box.minX || origin.x > box.maxX) return -1;
+		} else {
+			double near = (box.minX - origin.x) / dx;
+			double far = (box.maxX - origin.x) / dx;
+			min = Math.max(min, Math.min(near, far));
+			max = Math.min(max, Math.max(near, far));
+			if (min > max) return -1;
+		}
+
+		if (dy == 0) {
+			if (origin.y < box.minY || origin.y > box.maxY) return -1;
+		} else {
+			double near = (box.minY - origin.y) / dy;
+			double far = (box.maxY - origin.y) / dy;
+			min = Math.max(min, Math.min(near, far));
+			max = Math.min(max, Math.max(near, far));
+			if (min > max) return -1;
+		}
+
+		if (dz == 0) {
+			if (origin.z < box.minZ || origin.z > box.maxZ) return -1;
+		} else {
+			double near = (box.minZ - origin.z) / dz;
+			double far = (box.maxZ - origin.z) / dz;
+			min = Math.max(min, Math.min(near, far));
+			max = Math.min(max, Math.max(near, far));
+			if (min > max) return -1;
+		}
 
-		return (entityResult != null && origin.distanceTo(entityResult.hitVec) < origin.distanceTo(blockResult.hitVec)) ? entityResult : blockResult;
+		return min;
 	}
 
 	private RayTraceResult traceBlock(@Nonnull Vec3d start, @Nonnull Vec3d end) {
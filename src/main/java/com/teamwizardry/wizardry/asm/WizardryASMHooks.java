@@ -1,5 +1,6 @@
 package com.teamwizardry.wizardry.asm;
 
+import com.teamwizardry.wizardry.api.entity.EntityEffects;
 import com.teamwizardry.wizardry.api.events.*;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -9,25 +10,29 @@ import net.minecraftforge.common.MinecraftForge;
 
 /**
  * Created by Demoniaque.
+ * <br/>
+ * The movement hooks only run for entities flagged in {@link EntityEffects}, and call its listeners instead of the event bus.
  */
 public class WizardryASMHooks {
 
 	public static boolean playerClipEventHook(boolean hasNoClip, EntityPlayer player) {
+		if (!EntityEffects.hasFlags(player, EntityEffects.CLIP)) return hasNoClip;
+
 		PlayerClipEvent event = new PlayerClipEvent(hasNoClip, player);
-		MinecraftForge.EVENT_BUS.post(event);
+		EntityEffects.postClip(event);
 
 		return event.noClip;
 	}
 
 	public static EntityMoveEvent entityPreMoveHook(Entity entity, MoverType type, double x, double y, double z) {
 		EntityMoveEvent event = new EntityMoveEvent(entity, type, x, y, z);
-		MinecraftForge.EVENT_BUS.post(event);
+		EntityEffects.postMove(event);
 		return event;
 	}
 
 	public static EntityTravelEvent travel(EntityLivingBase entity, float strafe, float vertical, float forward) {
 		EntityTravelEvent event = new EntityTravelEvent(entity, strafe, vertical, forward);
-		MinecraftForge.EVENT_BUS.post(event);
+		EntityEffects.postTravel(event);
 		return event;
 	}
 
@@ -38,8 +43,10 @@ public class WizardryASMHooks {
 	}
 
 	public static float slipperyHook(float prev, Entity entity) {
+		if (!EntityEffects.hasFlags(entity, EntityEffects.SLIPPERINESS)) return prev;
+
 		SlipperinessEvent event = new SlipperinessEvent(entity, prev);
-		MinecraftForge.EVENT_BUS.post(event);
+		EntityEffects.postSlipperiness(event);
 		return event.getSlipperiness();
 	}
 }
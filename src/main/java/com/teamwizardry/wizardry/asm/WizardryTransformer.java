@@ -1,6 +1,7 @@
 package com.teamwizardry.wizardry.asm;
 
 import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.entity.EntityEffects;
 import net.minecraft.launchwrapper.IClassTransformer;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
@@ -29,6 +30,8 @@ public class WizardryTransformer implements IClassTransformer {
 	private static final String CLASS_MOVE_EVENT = "com/teamwizardry/wizardry/api/events/EntityMoveEvent";
 	private static final String CLASS_TRAVEL_EVENT = "com/teamwizardry/wizardry/api/events/EntityTravelEvent";
 
+	private static final String FIELD_EFFECT_FLAGS = EntityEffects.FIELD_NAME;
+
 	private static final String ASM_HOOKS = "com/teamwizardry/wizardry/asm/WizardryASMHooks";
 
 	private static void log(String str) {
@@ -69,19 +72,26 @@ public class WizardryTransformer implements IClassTransformer {
 			}
 
 			/*
-			  Overrides the move method in Entity which controls everything about entity movement.
+			  Adds the effect flags of EntityEffects to Entity, and
+			  overrides the move method in Entity which controls everything about entity movement.
 			  Used in time slow and low grav.
 			 */
 			case "net.minecraft.entity.Entity": {
-				return transformSingleMethod(
-						basicClass,
+				return transformClass(basicClass, classNode -> {
+					classNode.fields.add(new FieldNode(ACC_PUBLIC | ACC_TRANSIENT, FIELD_EFFECT_FLAGS, "I", null, null));
+					log("Successfully added   -> '" + FIELD_EFFECT_FLAGS + "'");
+
+					transformMethod(
+						classNode,
 						"func_70091_d",
 						"move",
 						"(L" + CLASS_MOVER_TYPE + ";DDD)V",
 						methodNode -> {
 							InsnList newInstructions = new InsnList();
 							LabelNode node1 = new LabelNode();
+							LabelNode skip = new LabelNode();
 
+							addFlagCheck(newInstructions, EntityEffects.MOVE, skip);
 							newInstructions.add(new VarInsnNode(ALOAD, 0));
 							newInstructions.add(new VarInsnNode(ALOAD, 1));
 							newInstructions.add(new VarInsnNode(DLOAD, 2));
@@ -106,12 +116,14 @@ public class WizardryTransformer implements IClassTransformer {
 							newInstructions.add(new VarInsnNode(DSTORE, 4));
 							newInstructions.add(new FieldInsnNode(GETFIELD, CLASS_MOVE_EVENT, "z", "D"));
 							newInstructions.add(new VarInsnNode(DSTORE, 6));
+							newInstructions.add(skip);
 
 							methodNode.instructions.insertBefore(methodNode.instructions.getFirst(), newInstructions);
 							methodNode.instructions.resetLabels();
 							return true;
 						}
-				);
+					);
+				});
 			}
 
 
@@ -126,8 +138,10 @@ public class WizardryTransformer implements IClassTransformer {
 						"(FFF)V",
 						methodNode -> {
 							LabelNode node1 = new LabelNode();
+							LabelNode skip = new LabelNode();
 							InsnList newInstructions = new InsnList();
 
+							addFlagCheck(newInstructions, EntityEffects.TRAVEL, skip);
 							newInstructions.add(new VarInsnNode(ALOAD, 0));
 							newInstructions.add(new VarInsnNode(FLOAD, 1));
 							newInstructions.add(new VarInsnNode(FLOAD, 2));
@@ -148,6 +162,7 @@ public class WizardryTransformer implements IClassTransformer {
 							newInstructions.add(new VarInsnNode(FSTORE, 2));
 							newInstructions.add(new FieldInsnNode(GETFIELD, CLASS_TRAVEL_EVENT, "forward", "F"));
 							newInstructions.add(new VarInsnNode(FSTORE, 3));
+							newInstructions.add(skip);
 
 							methodNode.instructions.insertBefore(methodNode.instructions.getFirst(), newInstructions);
 
@@ -224,19 +239,33 @@ public class WizardryTransformer implements IClassTransformer {
 		return name.equals(srgName) || name.equals(mcpName);
 	}
 
+	/**
+	 * Jumps to {@code skip} unless {@code this} has one of the given {@link EntityEffects} flags.
+	 */
+	private static void addFlagCheck(InsnList instructions, int flags, LabelNode skip) {
+		instructions.add(new VarInsnNode(ALOAD, 0));
+		instructions.add(new FieldInsnNode(GETFIELD, CLASS_ENTITY, FIELD_EFFECT_FLAGS, "I"));
+		instructions.add(new LdcInsnNode(flags));
+		instructions.add(new InsnNode(IAND));
+		instructions.add(new JumpInsnNode(IFEQ, skip));
+	}
+
 	private byte[] transformSingleMethod(byte[] basicClass, String srgName, String mcpName,
 										 String desc, Predicate<MethodNode> transformer) {
-		return transformClass(basicClass, classNode -> {
-			for (MethodNode methodNode : classNode.methods) {
-				if (equalsEither(methodNode.name, srgName, mcpName) && methodNode.desc.equals(desc)) {
-					if (transformer.test(methodNode)) {
-						log("Successfully patched -> '" + srgName + "', '" + mcpName + "' with '" + desc + "'");
-					} else {
-						log("Failed to patch      -> '" + srgName + "', '" + mcpName + "' with '" + desc + "'");
-					}
+		return transformClass(basicClass, classNode -> transformMethod(classNode, srgName, mcpName, desc, transformer));
+	}
+
+	private void transformMethod(ClassNode classNode, String srgName, String mcpName,
+								 String desc, Predicate<MethodNode> transformer) {
+		for (MethodNode methodNode : classNode.methods) {
+			if (equalsEither(methodNode.name, srgName, mcpName) && methodNode.desc.equals(desc)) {
+				if (transformer.test(methodNode)) {
+					log("Successfully patched -> '" + srgName + "', '" + mcpName + "' with '" + desc + "'");
+				} else {
+					log("Failed to patch      -> '" + srgName + "', '" + mcpName + "' with '" + desc + "'");
 				}
 			}
-		});
+		}
 	}
 
 	private byte[] transformClass(byte[] basicClass, Consumer<ClassNode> transformer) {
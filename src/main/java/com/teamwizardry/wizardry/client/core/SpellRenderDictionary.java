@@ -0,0 +1,76 @@
+package com.teamwizardry.wizardry.client.core;
+
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.spell.SpellCodec;
+import com.teamwizardry.wizardry.api.spell.SpellData;
+import com.teamwizardry.wizardry.api.spell.SpellRing;
+import com.teamwizardry.wizardry.common.core.SpellRenderBatcher;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Client side of {@link SpellRenderBatcher}. Holds the ring chains and the last spell data the server sent for each dictionary id.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(modid = Wizardry.MODID, value = Side.CLIENT)
+public final class SpellRenderDictionary {
+
+	private static final HashMap<Integer, SpellRing> rings = new HashMap<>();
+	private static final HashMap<Integer, Map<String, byte[]>> lastData = new HashMap<>();
+
+	private SpellRenderDictionary() {
+	}
+
+	public static synchronized void renderBatch(World world, byte[] batch) {
+		SpellCodec.Reader in = SpellCodec.fromBytes(batch);
+		if (in.readBoolean()) {
+			rings.clear();
+			lastData.clear();
+		}
+
+		int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			int id = in.readVarInt();
+			if (in.readBoolean())
+				rings.put(id, in.readRing());
+
+			Map<String, byte[]> fields = decodeData(in, lastData.get(id));
+			lastData.put(id, fields);
+
+			SpellRing spellRing = rings.get(id);
+			if (spellRing == null || spellRing.getModule() == null) continue;
+
+			SpellData data = SpellCodec.decodeFields(fields);
+			spellRing.getModule().renderSpell(world, data, spellRing);
+		}
+	}
+
+	private static Map<String, byte[]> decodeData(SpellCodec.Reader in, Map<String, byte[]> last) {
+		Map<String, byte[]> data = last == null ? new LinkedHashMap<>() : new LinkedHashMap<>(last);
+
+		int changed = in.readVarInt();
+		for (int i = 0; i < changed; i++) {
+			String name = in.readName();
+			data.put(name, in.readBytes());
+		}
+
+		int removed = in.readVarInt();
+		for (int i = 0; i < removed; i++)
+			data.remove(in.readName());
+		return data;
+	}
+
+	@SubscribeEvent
+	public static synchronized void onDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+		rings.clear();
+		lastData.clear();
+	}
+}
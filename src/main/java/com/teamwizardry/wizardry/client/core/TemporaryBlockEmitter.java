@@ -0,0 +1,112 @@
+package com.teamwizardry.wizardry.client.core;
+
+import com.teamwizardry.librarianlib.features.math.interpolate.StaticInterp;
+import com.teamwizardry.librarianlib.features.math.interpolate.numeric.InterpFloatInOut;
+import com.teamwizardry.librarianlib.features.particle.ParticleBuilder;
+import com.teamwizardry.librarianlib.features.particle.ParticleSpawner;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.block.TemporaryBlocks;
+import com.teamwizardry.wizardry.api.capability.chunk.WizardryChunkCapability;
+import com.teamwizardry.wizardry.api.util.RandUtil;
+import com.teamwizardry.wizardry.api.util.interp.InterpScale;
+import net.minecraft.block.Block;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.teamwizardry.wizardry.api.NBTConstants.MISC.SPARKLE_BLURRED;
+
+/**
+ * Spawns particles around {@link TemporaryBlocks temporary blocks} near the player. <br/>
+ * Emitters are registered per block. Each tick only the chunks around the player are looked at,
+ * and only the positions the server synced as temporary.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(modid = Wizardry.MODID, value = Side.CLIENT)
+public final class TemporaryBlockEmitter {
+
+	/**
+	 * Radius in chunks around the player in which temporary blocks emit particles.
+	 */
+	private static final int CHUNK_RADIUS = 2;
+
+	/**
+	 * Blurred sparkles drifting off the block every 20 ticks on average.
+	 */
+	public static final Emitter SPARKLE = (world, pos) -> {
+		if (RandUtil.nextInt(20) != 0) return;
+
+		ParticleBuilder builder = new ParticleBuilder(50);
+		builder.setRender(new ResourceLocation(Wizardry.MODID, SPARKLE_BLURRED));
+		builder.disableMotionCalculation();
+		builder.setAlphaFunction(new InterpFloatInOut(0.3f, 0f));
+		builder.setScaleFunction(new InterpScale(0.3f, 0f));
+		ParticleSpawner.spawn(builder, world, new StaticInterp<>(new Vec3d(pos).add(0.5, 0.5, 0.5)), 2, 0, (aFloat, particleBuilder) -> {
+			particleBuilder.setPositionOffset(new Vec3d(
+					RandUtil.nextDouble(-0.5, 0.5),
+					RandUtil.nextDouble(-0.5, 0.5),
+					RandUtil.nextDouble(-0.5, 0.5)
+			));
+			particleBuilder.setMotion(new Vec3d(
+					RandUtil.nextDouble(-0.1, 0.1),
+					RandUtil.nextDouble(-0.1, 0.1),
+					RandUtil.nextDouble(-0.1, 0.1)
+			));
+		});
+	};
+
+	private static final Map<Block, Emitter> emitters = new HashMap<>();
+
+	private TemporaryBlockEmitter() {
+	}
+
+	/**
+	 * Makes temporary blocks of the given type spawn particles with the given emitter.
+	 */
+	public static void register(Block block, Emitter emitter) {
+		emitters.put(block, emitter);
+	}
+
+	@SubscribeEvent
+	public static void clientTick(TickEvent.ClientTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || emitters.isEmpty()) return;
+		if (Minecraft.getMinecraft().isGamePaused()) return;
+
+		EntityPlayer player = Minecraft.getMinecraft().player;
+		if (player == null) return;
+		World world = player.world;
+
+		int centerX = player.chunkCoordX;
+		int centerZ = player.chunkCoordZ;
+		for (int x = centerX - CHUNK_RADIUS; x <= centerX + CHUNK_RADIUS; x++) {
+			for (int z = centerZ - CHUNK_RADIUS; z <= centerZ + CHUNK_RADIUS; z++) {
+				Chunk chunk = world.getChunkProvider().getLoadedChunk(x, z);
+				if (chunk == null) continue;
+
+				Set<BlockPos> positions = WizardryChunkCapability.get(chunk).getTemporaryBlocks().getPositions();
+				for (BlockPos pos : positions) {
+					Emitter emitter = emitters.get(chunk.getBlockState(pos).getBlock());
+					if (emitter != null) emitter.emit(world, pos);
+				}
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface Emitter {
+		void emit(World world, BlockPos pos);
+	}
+}
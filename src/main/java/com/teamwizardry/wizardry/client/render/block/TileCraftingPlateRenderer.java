@@ -64,7 +64,7 @@ public class TileCraftingPlateRenderer extends TileRenderHandler<TileCraftingPla
 
 	@Override
 	public void render(float partialTicks, int destroyStage, float alpha) {
-		ArrayList<BlockPos> errors = new ArrayList<>(((IStructure) tile.getBlockType()).testStructure(tile.getWorld(), tile.getPos()));
+		ArrayList<BlockPos> errors = new ArrayList<>(((IStructure) tile.getBlockType()).getStructureErrors(tile.getWorld(), tile.getPos()));
 		errors.sort(Vec3i::compareTo);
 
 		ItemStack input = tile.getInput();
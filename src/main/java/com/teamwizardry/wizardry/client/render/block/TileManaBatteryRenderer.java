@@ -145,7 +145,7 @@ public class TileManaBatteryRenderer extends TileRenderHandler<TileManaBattery>
 		GlStateManager.disableBlend();
 		GlStateManager.popMatrix();
 
-		ArrayList<BlockPos> errors = new ArrayList<>(((IStructure) tile.getBlockType()).testStructure(tile.getWorld(), tile.getPos()));
+		ArrayList<BlockPos> errors = new ArrayList<>(((IStructure) tile.getBlockType()).getStructureErrors(tile.getWorld(), tile.getPos()));
 		errors.sort(Vec3i::compareTo);
 
 		if (!errors.isEmpty()) {
@@ -77,7 +77,7 @@ public class BlockCraftingPlate extends BlockModContainer implements IStructure
 
 		ItemStack heldItem = playerIn.getHeldItem(hand);
 
-		if (testStructure(worldIn, pos).isEmpty()) {
+		if (retestStructureErrors(worldIn, pos).isEmpty()) {
 			TileCraftingPlate plate = getTE(worldIn, pos);
 			if (!heldItem.isEmpty()) {
 				if (heldItem.getItem() == ModItems.BOOK && playerIn.isCreative()) {
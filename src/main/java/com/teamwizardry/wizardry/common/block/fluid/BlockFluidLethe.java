@@ -1,10 +1,7 @@
 package com.teamwizardry.wizardry.common.block.fluid;
 
-import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import com.teamwizardry.librarianlib.features.base.fluid.BlockModFluid;
 import com.teamwizardry.librarianlib.features.base.fluid.ModFluid;
@@ -18,7 +15,6 @@ import net.minecraft.block.material.MapColor;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
-import net.minecraft.item.crafting.Ingredient;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -51,12 +47,11 @@ public class BlockFluidLethe extends BlockModFluid {
 //		}
 
 		run(world, pos, state.getBlock(), entityIn,
-				entity -> entity instanceof EntityItem && ManaRecipes.RECIPES.keySet().stream().anyMatch(item -> item.apply(((EntityItem) entity).getItem())),
+				entity -> entity instanceof EntityItem,
 				entity -> {
-					List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>> allEntries = ManaRecipes.RECIPES.entries().stream().filter(entry ->
-							entry.getValue().getFluid().getBlock() == state.getBlock() &&
-									entry.getKey().apply(((EntityItem) entity).getItem())).collect(Collectors.toList());
-					allEntries.forEach(crafter -> FluidTracker.INSTANCE.addManaCraft(entity.world, entity.getPosition(), crafter.getValue().build()));
+					for (FluidRecipeBuilder.FluidCrafter crafter : ManaRecipes.getRecipes(((EntityItem) entity).getItem()))
+						if (crafter.getFluid().getBlock() == state.getBlock())
+							FluidTracker.INSTANCE.addManaCraft(entity.world, entity.getPosition(), crafter.getIdentifier(), crafter.getFluid(), crafter::build);
 				});
 	}
 
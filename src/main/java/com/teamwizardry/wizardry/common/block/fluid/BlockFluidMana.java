@@ -1,11 +1,8 @@
 package com.teamwizardry.wizardry.common.block.fluid;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 
@@ -32,7 +29,6 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.item.crafting.Ingredient;
 import net.minecraft.potion.PotionEffect;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.EnumFacing;
@@ -124,17 +120,16 @@ public class BlockFluidMana extends BlockModFluid {
 			// Explode explodable items
 			run(world, pos, state.getBlock(), entityIn,
 					entity -> entity instanceof EntityItem && ((EntityItem) entity).getItem().getItem() instanceof IPotionEffectExplodable,
-					entity -> FluidTracker.INSTANCE.addManaCraft(entity.world, entity.getPosition(), new ManaRecipes.ExplodableCrafter()));
+					entity -> FluidTracker.INSTANCE.addManaCraft(entity.world, entity.getPosition(), ManaRecipes.EXPLODABLE, ModFluids.MANA.getActual(), ManaRecipes.ExplodableCrafter::new));
 		}
 
 
 		run(world, pos, state.getBlock(), entityIn,
-				entity -> entity instanceof EntityItem && ManaRecipes.RECIPES.keySet().stream().anyMatch(item -> item.apply(((EntityItem) entity).getItem())),
+				entity -> entity instanceof EntityItem,
 				entity -> {
-					List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>> allEntries = ManaRecipes.RECIPES.entries().stream().filter(entry ->
-							entry.getValue().getFluid().getBlock() == state.getBlock() &&
-									entry.getKey().apply(((EntityItem) entity).getItem())).collect(Collectors.toList());
-					allEntries.forEach(crafter -> FluidTracker.INSTANCE.addManaCraft(entity.world, entity.getPosition(), crafter.getValue().build()));
+					for (FluidRecipeBuilder.FluidCrafter crafter : ManaRecipes.getRecipes(((EntityItem) entity).getItem()))
+						if (crafter.getFluid().getBlock() == state.getBlock())
+							FluidTracker.INSTANCE.addManaCraft(entity.world, entity.getPosition(), crafter.getIdentifier(), crafter.getFluid(), crafter::build);
 				});
 	}
 
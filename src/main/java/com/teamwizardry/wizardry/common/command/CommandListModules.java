@@ -26,7 +26,7 @@ public class CommandListModules extends CommandBase {
 	public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args) {
 		notifyCommandListener(sender, this, TextFormatting.YELLOW + " ________________________________________________\\\\");
 		notifyCommandListener(sender, this, TextFormatting.YELLOW + " | " + TextFormatting.GRAY + "Module List");
-		for (ModuleInstance module : ModuleRegistry.INSTANCE.modules)
+		for (ModuleInstance module : ModuleRegistry.INSTANCE.getModules())
 			notifyCommandListener(sender, this, TextFormatting.YELLOW + " | |_ " + TextFormatting.GREEN + module.getNBTKey() + TextFormatting.RESET + ": " + TextFormatting.GRAY + module.getReadableName());
 		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |________________________________________________//");
 
@@ -0,0 +1,68 @@
+package com.teamwizardry.wizardry.common.command;
+
+import com.teamwizardry.wizardry.common.world.ChunkPregenerator;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+public class CommandPregen extends CommandBase {
+
+	private static final int MAX_RADIUS = 1000;
+
+	@NotNull
+	@Override
+	public String getName() {
+		return "pregen";
+	}
+
+	@NotNull
+	@Override
+	public String getUsage(@NotNull ICommandSender sender) {
+		return "wizardry.command." + getName() + ".usage";
+	}
+
+	@Override
+	public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args) throws CommandException {
+		if (args.length < 1) throw new WrongUsageException(getUsage(sender));
+
+		int dimension = args.length > 1 ? parseInt(args[1]) : sender.getEntityWorld().provider.getDimension();
+
+		if (args[0].equals("stop")) {
+			if (ChunkPregenerator.stop(dimension))
+				notifyCommandListener(sender, this, "wizardry.command." + getName() + ".stopped", dimension);
+			else
+				notifyCommandListener(sender, this, "wizardry.command." + getName() + ".not_running", dimension);
+			return;
+		}
+
+		int radius = parseInt(args[0], 0, MAX_RADIUS);
+		WorldServer world = DimensionManager.getWorld(dimension);
+		if (world == null) {
+			DimensionManager.initDimension(dimension);
+			world = DimensionManager.getWorld(dimension);
+		}
+		if (world == null) throw new WrongUsageException("wizardry.command." + getName() + ".no_world", dimension);
+
+		BlockPos center = sender.getEntityWorld() == world ? sender.getPosition() : world.getSpawnPoint();
+		ChunkPregenerator.start(world, sender, center.getX() >> 4, center.getZ() >> 4, radius);
+		notifyCommandListener(sender, this, "wizardry.command." + getName() + ".started", (radius * 2 + 1) * (radius * 2 + 1), dimension);
+	}
+
+	@NotNull
+	@Override
+	public List<String> getTabCompletions(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args, @Nullable BlockPos targetPos) {
+		if (args.length == 1) return getListOfStringsMatchingLastWord(args, "stop");
+		if (args.length == 2) return getListOfStringsMatchingLastWord(args, DimensionManager.getStaticDimensionIDs());
+		return Collections.emptyList();
+	}
+}
@@ -0,0 +1,73 @@
+package com.teamwizardry.wizardry.common.command;
+
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.spell.SpellProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class CommandProfile extends CommandBase {
+
+	private static final String DIRECTORY = "wizardry-profiles";
+
+	@NotNull
+	@Override
+	public String getName() {
+		return "profile";
+	}
+
+	@NotNull
+	@Override
+	public String getUsage(@NotNull ICommandSender sender) {
+		return "wizardry.command." + getName() + ".usage";
+	}
+
+	@Override
+	public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args) throws CommandException {
+		if (args.length < 1) throw new WrongUsageException(getUsage(sender));
+
+		switch (args[0]) {
+			case "start":
+				SpellProfiler.start(server);
+				notifyCommandListener(sender, this, "wizardry.command." + getName() + ".started");
+				break;
+			case "stop":
+				if (SpellProfiler.stop())
+					notifyCommandListener(sender, this, "wizardry.command." + getName() + ".stopped");
+				else
+					notifyCommandListener(sender, this, "wizardry.command." + getName() + ".not_running");
+				break;
+			case "dump":
+				File file = server.getFile(DIRECTORY + "/spells-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".csv");
+				try {
+					SpellProfiler.dump(file);
+				} catch (IOException e) {
+					Wizardry.LOGGER.error("Couldn't write spell profile to " + file, e);
+					throw new CommandException("wizardry.command." + getName() + ".dump_failed", file.getPath());
+				}
+				notifyCommandListener(sender, this, "wizardry.command." + getName() + ".dumped", file.getPath());
+				break;
+			default:
+				throw new WrongUsageException(getUsage(sender));
+		}
+	}
+
+	@NotNull
+	@Override
+	public List<String> getTabCompletions(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args, @Nullable BlockPos targetPos) {
+		if (args.length == 1) return getListOfStringsMatchingLastWord(args, "start", "stop", "dump");
+		return Collections.emptyList();
+	}
+}
@@ -0,0 +1,69 @@
+package com.teamwizardry.wizardry.common.command;
+
+import com.teamwizardry.wizardry.api.spell.SpellChainCache;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextFormatting;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+public class CommandSpellCache extends CommandBase {
+
+	@NotNull
+	@Override
+	public String getName() {
+		return "spellcache";
+	}
+
+	@NotNull
+	@Override
+	public String getUsage(@NotNull ICommandSender sender) {
+		return "wizardry.command." + getName() + ".usage";
+	}
+
+	@Override
+	public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args) throws WrongUsageException {
+		SpellChainCache cache = SpellChainCache.INSTANCE;
+
+		if (args.length > 0) {
+			switch (args[0]) {
+				case "reset":
+					cache.resetStatistics();
+					notifyCommandListener(sender, this, "wizardry.command." + getName() + ".reset");
+					return;
+				case "clear":
+					cache.clear();
+					notifyCommandListener(sender, this, "wizardry.command." + getName() + ".clear");
+					return;
+				default:
+					throw new WrongUsageException(getUsage(sender));
+			}
+		}
+
+		long hits = cache.getHits() + cache.getIdentityHits();
+		long total = hits + cache.getMisses();
+		double hitRate = total == 0 ? 0 : hits * 100.0 / total;
+
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " ________________________________________________\\\\");
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " | " + TextFormatting.GRAY + "Spell Chain Cache");
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |  |_ " + TextFormatting.GREEN + "Cached Spells   " + TextFormatting.GRAY + " | " + cache.size());
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |  |_ " + TextFormatting.GREEN + "Hits            " + TextFormatting.GRAY + " | " + hits);
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |  |  |_ " + TextFormatting.DARK_GREEN + "Same Instance" + TextFormatting.GRAY + " | " + cache.getIdentityHits());
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |  |_ " + TextFormatting.GREEN + "Misses          " + TextFormatting.GRAY + " | " + cache.getMisses());
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |  |_ " + TextFormatting.GREEN + "Evictions       " + TextFormatting.GRAY + " | " + cache.getEvictions());
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |  |_ " + TextFormatting.GREEN + "Hit Rate        " + TextFormatting.GRAY + " | " + String.format("%.1f%%", hitRate));
+		notifyCommandListener(sender, this, TextFormatting.YELLOW + " |________________________________________________//");
+	}
+
+	@NotNull
+	@Override
+	public List<String> getTabCompletions(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args, @Nullable BlockPos targetPos) {
+		if (args.length == 1) return getListOfStringsMatchingLastWord(args, "reset", "clear");
+		return super.getTabCompletions(server, sender, args, targetPos);
+	}
+}
@@ -18,6 +18,9 @@ public class CommandWizardry extends CommandTreeBase {
 		addSubcommand(new CommandGenPearl());
 		addSubcommand(new CommandGenCape());
 		addSubcommand(new CommandDebug());
+		addSubcommand(new CommandProfile());
+		addSubcommand(new CommandSpellCache());
+		addSubcommand(new CommandPregen());
 //		addSubcommand(new CommandTeleportTorikki());
 		addSubcommand(new CommandTeleportUnderworld());
 		addSubcommand(new CommandTreeHelp(this));
@@ -0,0 +1,194 @@
+package com.teamwizardry.wizardry.common.core;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.librarianlib.features.network.PacketHandler;
+import com.teamwizardry.wizardry.api.spell.SpellCodec;
+import com.teamwizardry.wizardry.api.spell.SpellData;
+import com.teamwizardry.wizardry.api.spell.SpellRing;
+import com.teamwizardry.wizardry.common.network.PacketRenderSpell;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects the spell render events of a server tick and sends them to each player as one {@link PacketRenderSpell}. <br/>
+ * Every connection keeps a dictionary of the ring chains its client already knows, so a chain is sent once
+ * and referenced by a short id afterwards. Spell data is sent as the fields which changed since the last data sent for the same chain.
+ * Batches are written in the binary form of {@link SpellCodec}.
+ * See {@link com.teamwizardry.wizardry.client.core.SpellRenderDictionary} for the client side.
+ */
+public class SpellRenderBatcher {
+
+	public static final SpellRenderBatcher INSTANCE = new SpellRenderBatcher();
+
+	/**
+	 * Same range the render packets used to be sent in.
+	 */
+	private static final double RANGE = 256;
+
+	/**
+	 * Once a dictionary grows past this, both sides start over.
+	 */
+	private static final int MAX_DICTIONARY_SIZE = 1024;
+
+	private final Map<UUID, Connection> connections = new HashMap<>();
+
+	private SpellRenderBatcher() {
+	}
+
+	/**
+	 * Queues a render event for every player in range of the target. Called by {@link com.teamwizardry.wizardry.api.spell.module.ModuleInstance#sendRenderPacket}.
+	 */
+	public void queue(@Nonnull World world, @Nonnull Vec3d target, @Nonnull SpellData spell, @Nonnull SpellRing spellRing) {
+		if (world.isRemote) return;
+
+		Map<String, byte[]> fields = null;
+		for (EntityPlayer player : world.playerEntities) {
+			if (!(player instanceof EntityPlayerMP) || player instanceof FakePlayer) continue;
+			if (player.getDistanceSq(target.x, target.y, target.z) >= RANGE * RANGE) continue;
+
+			if (fields == null) fields = SpellCodec.encodeFields(spell);
+			connections.computeIfAbsent(player.getUniqueID(), uuid -> new Connection())
+					.pending.add(new RenderEvent(spellRing, fields));
+		}
+	}
+
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) return;
+
+		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		if (server == null) return;
+
+		for (Map.Entry<UUID, Connection> entry : connections.entrySet()) {
+			Connection connection = entry.getValue();
+			if (connection.pending.isEmpty()) continue;
+
+			EntityPlayerMP player = server.getPlayerList().getPlayerByUUID(entry.getKey());
+			if (player == null) {
+				connection.pending.clear();
+				continue;
+			}
+
+			PacketHandler.NETWORK.sendTo(new PacketRenderSpell(connection.encodePending()), player);
+		}
+	}
+
+	@SubscribeEvent
+	public void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		connections.remove(event.player.getUniqueID());
+	}
+
+	/**
+	 * The server side state of one client.
+	 */
+	private static class Connection {
+
+		/**
+		 * Dictionary ids by ring content. Content tags of shared rings are shared too, so most lookups hit by instance.
+		 */
+		private final ConcurrentMap<NBTTagCompound, Integer> idsByInstance = new MapMaker().weakKeys().makeMap();
+		private final HashMap<NBTTagCompound, Integer> idsByContent = new HashMap<>();
+
+		/**
+		 * Last spell data sent for each dictionary id, which the next data for that id is encoded against.
+		 */
+		private final HashMap<Integer, Map<String, byte[]>> lastData = new HashMap<>();
+
+		private final List<RenderEvent> pending = new ArrayList<>();
+
+		/**
+		 * Tells the client to drop its dictionary, e.g. one left over from a previous server.
+		 */
+		private boolean reset = true;
+		private int nextId = 0;
+
+		private byte[] encodePending() {
+			if (idsByContent.size() + pending.size() > MAX_DICTIONARY_SIZE) {
+				idsByInstance.clear();
+				idsByContent.clear();
+				lastData.clear();
+				nextId = 0;
+				reset = true;
+			}
+
+			byte[] batch = SpellCodec.toBytes(out -> {
+				out.writeBoolean(reset);
+				out.writeVarInt(pending.size());
+				for (RenderEvent event : pending) {
+					boolean newRing = false;
+					Integer id = idsByInstance.get(event.ringContent);
+					if (id == null) {
+						id = idsByContent.get(event.ringContent);
+						if (id == null) {
+							id = nextId++;
+							idsByContent.put(event.ringContent, id);
+							newRing = true;
+						}
+						idsByInstance.put(event.ringContent, id);
+					}
+
+					out.writeVarInt(id);
+					out.writeBoolean(newRing);
+					if (newRing) out.writeRing(event.ring, false);
+
+					encodeData(out, lastData.get(id), event.data);
+					lastData.put(id, event.data);
+				}
+			});
+
+			reset = false;
+			pending.clear();
+			return batch;
+		}
+
+		private static void encodeData(SpellCodec.Writer out, @Nullable Map<String, byte[]> last, Map<String, byte[]> data) {
+			List<Map.Entry<String, byte[]>> changed = new ArrayList<>();
+			for (Map.Entry<String, byte[]> field : data.entrySet()) {
+				if (last == null || !Arrays.equals(field.getValue(), last.get(field.getKey())))
+					changed.add(field);
+			}
+
+			List<String> removed = new ArrayList<>();
+			if (last != null) {
+				for (String name : last.keySet()) {
+					if (!data.containsKey(name))
+						removed.add(name);
+				}
+			}
+
+			out.writeVarInt(changed.size());
+			for (Map.Entry<String, byte[]> field : changed)
+				out.writeField(field.getKey(), field.getValue());
+
+			out.writeVarInt(removed.size());
+			for (String name : removed)
+				out.writeName(name);
+		}
+	}
+
+	private static class RenderEvent {
+		private final SpellRing ring;
+		private final NBTTagCompound ringContent;
+		private final Map<String, byte[]> data;
+
+		RenderEvent(SpellRing ring, Map<String, byte[]> data) {
+			this.ring = ring;
+			this.ringContent = ring.getContentTag();
+			this.data = data;
+		}
+	}
+}
@@ -22,6 +22,13 @@ public class WizardryNemezManager {
 		return worldCap.addNemezDrive(pos, new NemezTracker());
 	}
 
+	/**
+	 * Has the block nemez drive at the given position synced to clients again, after recording into it.
+	 */
+	public static void markNemezDriveChanged(World world, BlockPos pos) {
+		WizardryWorldCapability.get(world).markNemezDriveDirty(pos);
+	}
+
 	public static NemezTracker getOrCreateNemezDrive(World world, Entity entity) {
 		WizardryWorld worldCap = WizardryWorldCapability.get(world);
 		HashMap<UUID, NemezTracker> nemezDrives = worldCap.getEntityNemezDrives();
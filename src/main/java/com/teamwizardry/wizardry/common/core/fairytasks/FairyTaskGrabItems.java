@@ -2,16 +2,15 @@ package com.teamwizardry.wizardry.common.core.fairytasks;
 
 import com.teamwizardry.wizardry.api.StateGraph;
 import com.teamwizardry.wizardry.api.entity.fairy.fairytasks.FairyTask;
+import com.teamwizardry.wizardry.api.entity.fairy.fairytasks.FairyTaskScheduler;
 import com.teamwizardry.wizardry.common.entity.EntityFairy;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemStack;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 
 import javax.annotation.Nullable;
-import java.util.List;
 
 public class FairyTaskGrabItems extends FairyTask {
 
@@ -60,26 +59,32 @@ public class FairyTaskGrabItems extends FairyTask {
 
 			.build();
 
-	private static List<EntityItem> getEntityItems(EntityFairy fairy) {
-		return fairy.world.getEntitiesWithinAABB(EntityItem.class, new AxisAlignedBB(fairy.getPosition()).grow(3), input -> input != null && !input.cannotPickup());
-	}
-
 	@Nullable
 	private static EntityItem getClosestStack(EntityFairy fairy) {
-		List<EntityItem> list = getEntityItems(fairy);
-		list.sort((o1, o2) -> o1.getDistanceSq(fairy) < o2.getDistanceSq(fairy) ? -1 : 1);
-
-		if (list.isEmpty()) return null;
-		else return list.get(0);
+		EntityItem closest = null;
+		double closestDist = Double.POSITIVE_INFINITY;
+		for (EntityItem item : FairyTaskScheduler.getNearbyItems(fairy)) {
+			double dist = item.getDistanceSq(fairy);
+			if (dist < closestDist) {
+				closest = item;
+				closestDist = dist;
+			}
+		}
+		return closest;
 	}
 
 	@Nullable
 	private static EntityItem getFarthestStack(EntityFairy fairy) {
-		List<EntityItem> list = getEntityItems(fairy);
-		list.sort((o1, o2) -> o1.getDistanceSq(fairy) < o2.getDistanceSq(fairy) ? 1 : -1);
-
-		if (list.isEmpty()) return null;
-		else return list.get(0);
+		EntityItem farthest = null;
+		double farthestDist = Double.NEGATIVE_INFINITY;
+		for (EntityItem item : FairyTaskScheduler.getNearbyItems(fairy)) {
+			double dist = item.getDistanceSq(fairy);
+			if (dist > farthestDist) {
+				farthest = item;
+				farthestDist = dist;
+			}
+		}
+		return farthest;
 	}
 
 	private static void popItemFromHand(EntityFairy fairy) {
@@ -57,6 +57,10 @@ public final class EntityMoment {
 		this(null, null, null, null, null, null, null, null, null);
 	}
 
+	static float getExhaustion(FoodStats stats) {
+		return (Float) exhaustionGetter.invoke(stats);
+	}
+
 	public static EntityMoment fromNBT(NBTTagCompound nbt) {
 		return new EntityMoment(nbt.hasKey("x") ? nbt.getDouble("x") : null,
 				nbt.hasKey("y") ? nbt.getDouble("y") : null,
@@ -6,9 +6,10 @@ import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.common.util.INBTSerializable;
+import net.minecraft.world.World;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Stack;
 
@@ -16,19 +17,22 @@ import java.util.Stack;
  * @author WireSegal
  * Created at 4:19 PM on 1/15/18.
  */
-public class NemezManager implements INBTSerializable<NBTTagList> {
+public class NemezManager implements NemezStore {
 	public static final int TIME_COMPRESSION_CONSTANT = 15;
 	private final Stack<Moment> moments = new Stack<>();
 	private transient Moment currentMoment = new Moment();
 
+	@Override
 	public void pushEntityData(Entity entity) {
 		currentMoment.addEntitySnapshot(entity);
 	}
 
+	@Override
 	public void pushBlockData(BlockPos pos, IBlockState state) {
 		currentMoment.addBlockSnapshot(pos, state);
 	}
 
+	@Override
 	public void pushMoment() {
 		moments.push(currentMoment);
 		currentMoment = new Moment();
@@ -42,14 +46,32 @@ public class NemezManager implements INBTSerializable<NBTTagList> {
 		return moments.pop();
 	}
 
+	@Override
+	public boolean hasMoment() {
+		return !moments.empty();
+	}
+
+	@Override
+	public void applyAndPop(World world, Collection<Entity> tracked) {
+		popMoment().apply(world, tracked);
+	}
+
+	@Override
+	public void applyPeek(World world, Collection<Entity> tracked, float partialTicks) {
+		peekAtMoment().apply(world, tracked, partialTicks);
+	}
+
+	@Override
 	public void collapse() {
 		compress(TIME_COMPRESSION_CONSTANT);
 	}
 
+	@Override
 	public boolean needsCompression(int maximumMoments) {
 		return moments.size() <= maximumMoments * 1.5;
 	}
 
+	@Override
 	public void compressDownTo(int maximumMoments) {
 		if (moments.size() <= maximumMoments) return;
 		compress((int) Math.ceil((float) maximumMoments / moments.size()));
@@ -79,11 +101,13 @@ public class NemezManager implements INBTSerializable<NBTTagList> {
 			moments.push(moment);
 	}
 
+	@Override
 	public void erase() {
 		moments.clear();
 		currentMoment = new Moment();
 	}
 
+	@Override
 	public NemezManager snapshot() {
 		NemezManager manager = new NemezManager();
 		for (Moment moment : moments)
@@ -92,6 +116,7 @@ public class NemezManager implements INBTSerializable<NBTTagList> {
 		return manager;
 	}
 
+	@Override
 	public NBTTagList serializeFirstN(int n) {
 		NBTTagList momentsSerialized = new NBTTagList();
 		int i = 0;
@@ -103,6 +128,7 @@ public class NemezManager implements INBTSerializable<NBTTagList> {
 		return momentsSerialized;
 	}
 
+	@Override
 	public void absorb(NBTTagList nbt) {
 		Stack<Moment> shifted = new Stack<>();
 		for (NBTBase momentUncast : nbt) {
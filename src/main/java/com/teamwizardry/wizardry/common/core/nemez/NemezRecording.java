@@ -0,0 +1,698 @@
+package com.teamwizardry.wizardry.common.core.nemez;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.FoodStats;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.Constants;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link NemezStore} keeping its samples in primitive columns instead of a stack of {@link Moment}s. <br/>
+ * Every entity and block gets a track, a ring buffer holding at most one sample per frame, the earliest one.
+ * Entity positions are stored as offsets from the first position of their track, and an entity sample is only
+ * added if it differs from the previous one. A frame without a sample for an entity replays the sample before it.
+ * <br/>
+ * Once more frames than the capacity are recorded, the oldest frames are dropped.
+ * Compressing merges neighbouring frames in place.
+ * <br/>
+ * <b>NOTE</b>: Snapshots share their tracks with the recording they are taken from. A shared track is copied
+ * by whichever side changes it first, so playing back a snapshot of a recording nobody records into copies nothing.
+ */
+public final class NemezRecording implements NemezStore {
+
+	private static final int INITIAL_TRACK_LENGTH = 16;
+
+	private final int capacity;
+	private final HashMap<String, EntityTrack> entities = new HashMap<>();
+	private final HashMap<BlockPos, BlockTrack> blocks = new HashMap<>();
+
+	/**
+	 * The oldest frame kept and the frame being recorded. The frames in between are complete.
+	 */
+	private int firstFrame = 0;
+	private int nextFrame = 0;
+
+	/**
+	 * Set once frames were played back or a snapshot was taken.
+	 * Samples at or after {@link #nextFrame} are then stale and get dropped before recording continues.
+	 */
+	private boolean rewound = false;
+
+	public NemezRecording(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public int getFrameCount() {
+		return nextFrame - firstFrame;
+	}
+
+	@Override
+	public void pushEntityData(Entity entity) {
+		trimRewound();
+		String id = entity.getCachedUniqueIdString();
+		EntityTrack track = entities.get(id);
+		if (track == null) {
+			track = new EntityTrack(entity.posX, entity.posY, entity.posZ, entity instanceof EntityLivingBase, entity instanceof EntityPlayer);
+			entities.put(id, track);
+		} else if (track.shared) {
+			track = track.copy();
+			entities.put(id, track);
+		}
+		track.record(nextFrame, entity, capacity + 1);
+	}
+
+	@Override
+	public void pushBlockData(BlockPos pos, IBlockState state) {
+		trimRewound();
+		BlockTrack track = blocks.get(pos);
+		if (track == null) {
+			track = new BlockTrack();
+			blocks.put(pos, track);
+		} else if (track.shared) {
+			track = track.copy();
+			blocks.put(pos, track);
+		}
+		track.record(nextFrame, Block.getStateId(state), capacity + 1);
+	}
+
+	@Override
+	public void pushMoment() {
+		trimRewound();
+		nextFrame++;
+		if (nextFrame - firstFrame > capacity) {
+			firstFrame = nextFrame - capacity;
+			evictOldFrames();
+		}
+	}
+
+	@Override
+	public boolean hasMoment() {
+		return nextFrame > firstFrame;
+	}
+
+	@Override
+	public void applyAndPop(World world, Collection<Entity> tracked) {
+		int frame = nextFrame - 1;
+		applyBlocks(world, frame);
+		for (Entity entity : tracked) {
+			EntityTrack track = entities.get(entity.getCachedUniqueIdString());
+			if (track == null) continue;
+			int index = track.newestAtOrBefore(frame);
+			if (index >= 0)
+				track.momentAt(index).apply(entity);
+		}
+		nextFrame = frame;
+		rewound = true;
+	}
+
+	@Override
+	public void applyPeek(World world, Collection<Entity> tracked, float partialTicks) {
+		int frame = nextFrame - 1;
+		applyBlocks(world, frame);
+		for (Entity entity : tracked) {
+			EntityTrack track = entities.get(entity.getCachedUniqueIdString());
+			if (track == null) continue;
+			int index = track.newestAtOrBefore(frame);
+			if (index > 0)
+				track.momentAt(index).apply(entity, track.momentAt(index - 1), partialTicks);
+			else if (index == 0)
+				track.momentAt(index).apply(entity);
+		}
+	}
+
+	/**
+	 * Restores the blocks which changed in the given frame.
+	 */
+	private void applyBlocks(World world, int frame) {
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet()) {
+			BlockTrack track = entry.getValue();
+			int index = track.newestAtOrBefore(frame);
+			if (index >= 0 && track.frameAt(index) == frame)
+				world.setBlockState(entry.getKey(), track.stateAt(index));
+		}
+	}
+
+	@Override
+	public void collapse() {
+		compress(NemezManager.TIME_COMPRESSION_CONSTANT);
+	}
+
+	@Override
+	public boolean needsCompression(int maximumMoments) {
+		return getFrameCount() > maximumMoments;
+	}
+
+	@Override
+	public void compressDownTo(int maximumMoments) {
+		if (!needsCompression(maximumMoments)) return;
+		compress((getFrameCount() + maximumMoments - 1) / maximumMoments);
+	}
+
+	/**
+	 * Merges every {@code factor} frames into one, keeping the earliest sample of each track among them.
+	 */
+	public void compress(int factor) {
+		if (factor <= 1 || !hasMoment()) return;
+		trimRewound();
+
+		int newNextFrame = firstFrame + (getFrameCount() + factor - 1) / factor;
+		for (Map.Entry<String, EntityTrack> entry : entities.entrySet())
+			mutable(entry).compress(firstFrame, nextFrame, newNextFrame, factor);
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet())
+			mutable(entry).compress(firstFrame, nextFrame, newNextFrame, factor);
+		nextFrame = newNextFrame;
+	}
+
+	@Override
+	public void erase() {
+		entities.clear();
+		blocks.clear();
+		firstFrame = 0;
+		nextFrame = 0;
+		rewound = false;
+	}
+
+	@Override
+	public NemezRecording snapshot() {
+		NemezRecording snapshot = new NemezRecording(capacity);
+		for (Map.Entry<String, EntityTrack> entry : entities.entrySet()) {
+			entry.getValue().shared = true;
+			snapshot.entities.put(entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet()) {
+			entry.getValue().shared = true;
+			snapshot.blocks.put(entry.getKey(), entry.getValue());
+		}
+		snapshot.firstFrame = firstFrame;
+		snapshot.nextFrame = nextFrame;
+		// Samples of the frame being recorded are not part of the snapshot
+		snapshot.rewound = true;
+		return snapshot;
+	}
+
+	@Override
+	public NBTTagList serializeFirstN(int n) {
+		return serialize(firstFrame, Math.min(nextFrame, firstFrame + n + 1));
+	}
+
+	@Override
+	public void absorb(NBTTagList nbt) {
+		NemezRecording older = new NemezRecording(capacity);
+		older.deserializeNBT(nbt);
+
+		int offset = older.nextFrame - firstFrame;
+		for (Map.Entry<String, EntityTrack> entry : entities.entrySet()) {
+			EntityTrack track = entry.getValue();
+			EntityTrack merged = older.entities.get(entry.getKey());
+			if (merged == null) {
+				merged = new EntityTrack(track.originX, track.originY, track.originZ, track.health != null, track.food != null);
+				older.entities.put(entry.getKey(), merged);
+			}
+			for (int i = 0; i < track.size && track.frameAt(i) < nextFrame; i++)
+				merged.record(track.frameAt(i) + offset, track.momentAt(i), capacity + 1);
+		}
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet()) {
+			BlockTrack track = entry.getValue();
+			BlockTrack merged = older.blocks.computeIfAbsent(entry.getKey(), pos -> new BlockTrack());
+			for (int i = 0; i < track.size && track.frameAt(i) < nextFrame; i++)
+				merged.record(track.frameAt(i) + offset, track.states[track.physical(i)], capacity + 1);
+		}
+
+		entities.clear();
+		entities.putAll(older.entities);
+		blocks.clear();
+		blocks.putAll(older.blocks);
+		nextFrame = older.nextFrame + getFrameCount();
+		firstFrame = 0;
+		rewound = false;
+		if (getFrameCount() > capacity) {
+			firstFrame = nextFrame - capacity;
+			evictOldFrames();
+		}
+	}
+
+	@Override
+	public NBTTagList serializeNBT() {
+		return serialize(firstFrame, nextFrame);
+	}
+
+	@Override
+	public void deserializeNBT(NBTTagList nbt) {
+		erase();
+		for (int frame = 0; frame < nbt.tagCount(); frame++) {
+			NBTTagCompound moment = nbt.getCompoundTagAt(frame);
+
+			NBTTagList blocksSerialized = moment.getTagList("blocks", Constants.NBT.TAG_COMPOUND);
+			for (int i = 0; i < blocksSerialized.tagCount(); i++) {
+				NBTTagCompound block = blocksSerialized.getCompoundTagAt(i);
+				NBTTagList states = block.getTagList("states", Constants.NBT.TAG_COMPOUND);
+				if (states.isEmpty()) continue;
+
+				IBlockState state = readState(states.getCompoundTagAt(0));
+				if (state != null)
+					blocks.computeIfAbsent(BlockPos.fromLong(block.getLong("pos")), pos -> new BlockTrack())
+							.record(frame, Block.getStateId(state), capacity + 1);
+			}
+
+			NBTTagCompound entitiesSerialized = moment.getCompoundTag("entities");
+			for (String id : entitiesSerialized.getKeySet()) {
+				NBTTagList moments = entitiesSerialized.getTagList(id, Constants.NBT.TAG_COMPOUND);
+				if (moments.isEmpty()) continue;
+
+				EntityMoment entityMoment = EntityMoment.fromNBT(moments.getCompoundTagAt(0));
+				EntityTrack track = entities.get(id);
+				if (track == null) {
+					track = new EntityTrack(orZero(entityMoment.x), orZero(entityMoment.y), orZero(entityMoment.z),
+							entityMoment.health != null, entityMoment.food != null);
+					entities.put(id, track);
+				}
+				track.record(frame, entityMoment, capacity + 1);
+			}
+		}
+		nextFrame = nbt.tagCount();
+		if (getFrameCount() > capacity) {
+			firstFrame = nextFrame - capacity;
+			evictOldFrames();
+		}
+	}
+
+	/**
+	 * Writes the frames from {@code from} up to {@code to} in the format of {@link Moment#serializeNBT()}.
+	 */
+	private NBTTagList serialize(int from, int to) {
+		NBTTagCompound[] moments = new NBTTagCompound[Math.max(to - from, 0)];
+		for (int i = 0; i < moments.length; i++) {
+			moments[i] = new NBTTagCompound();
+			moments[i].setTag("blocks", new NBTTagList());
+			moments[i].setTag("entities", new NBTTagCompound());
+		}
+
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet()) {
+			BlockTrack track = entry.getValue();
+			for (int i = 0; i < track.size; i++) {
+				int frame = track.frameAt(i);
+				if (frame < from) continue;
+				if (frame >= to) break;
+
+				IBlockState state = track.stateAt(i);
+				ResourceLocation regName = state.getBlock().getRegistryName();
+				if (regName == null) continue;
+
+				NBTTagCompound stateCompound = new NBTTagCompound();
+				stateCompound.setString("id", regName.toString());
+				stateCompound.setByte("data", (byte) state.getBlock().getMetaFromState(state));
+				NBTTagList states = new NBTTagList();
+				states.appendTag(stateCompound);
+
+				NBTTagCompound posCompound = new NBTTagCompound();
+				posCompound.setLong("pos", entry.getKey().toLong());
+				posCompound.setTag("states", states);
+				moments[frame - from].getTagList("blocks", Constants.NBT.TAG_COMPOUND).appendTag(posCompound);
+			}
+		}
+
+		for (Map.Entry<String, EntityTrack> entry : entities.entrySet()) {
+			EntityTrack track = entry.getValue();
+			for (int i = 0; i < track.size; i++) {
+				int frame = track.frameAt(i);
+				if (frame < from) continue;
+				if (frame >= to) break;
+
+				NBTTagList entityMoments = new NBTTagList();
+				entityMoments.appendTag(track.momentAt(i).serializeNBT());
+				moments[frame - from].getCompoundTag("entities").setTag(entry.getKey(), entityMoments);
+			}
+		}
+
+		NBTTagList momentsSerialized = new NBTTagList();
+		for (NBTTagCompound moment : moments)
+			momentsSerialized.appendTag(moment);
+		return momentsSerialized;
+	}
+
+	@SuppressWarnings("deprecation")
+	private static IBlockState readState(NBTTagCompound compound) {
+		Block block = Block.getBlockFromName(compound.getString("id"));
+		return block == null ? null : block.getStateFromMeta(compound.getByte("data"));
+	}
+
+	private static double orZero(Double value) {
+		return value == null ? 0 : value;
+	}
+
+	private void evictOldFrames() {
+		for (Map.Entry<String, EntityTrack> entry : entities.entrySet())
+			if (entry.getValue().startsBefore(firstFrame))
+				mutable(entry).evictBefore(firstFrame);
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet())
+			if (entry.getValue().startsBefore(firstFrame))
+				mutable(entry).evictBefore(firstFrame);
+	}
+
+	private void trimRewound() {
+		if (!rewound) return;
+		for (Map.Entry<String, EntityTrack> entry : entities.entrySet())
+			if (entry.getValue().endsAtOrAfter(nextFrame))
+				mutable(entry).truncateFrom(nextFrame);
+		for (Map.Entry<BlockPos, BlockTrack> entry : blocks.entrySet())
+			if (entry.getValue().endsAtOrAfter(nextFrame))
+				mutable(entry).truncateFrom(nextFrame);
+		rewound = false;
+	}
+
+	private static <T extends Track<T>> T mutable(Map.Entry<?, T> entry) {
+		T track = entry.getValue();
+		if (!track.shared) return track;
+
+		T copy = track.copy();
+		entry.setValue(copy);
+		return copy;
+	}
+
+	private static int[] unwrap(int[] column, int start, int size, int length) {
+		int[] result = new int[length];
+		int head = Math.min(size, column.length - start);
+		System.arraycopy(column, start, result, 0, head);
+		System.arraycopy(column, 0, result, head, size - head);
+		return result;
+	}
+
+	private static float[] unwrap(float[] column, int start, int size, int length) {
+		if (column == null) return null;
+		float[] result = new float[length];
+		int head = Math.min(size, column.length - start);
+		System.arraycopy(column, start, result, 0, head);
+		System.arraycopy(column, 0, result, head, size - head);
+		return result;
+	}
+
+	private static byte[] unwrap(byte[] column, int start, int size, int length) {
+		if (column == null) return null;
+		byte[] result = new byte[length];
+		int head = Math.min(size, column.length - start);
+		System.arraycopy(column, start, result, 0, head);
+		System.arraycopy(column, 0, result, head, size - head);
+		return result;
+	}
+
+	/**
+	 * A ring buffer of samples sorted by frame. Subclasses add one column per recorded value.
+	 */
+	private abstract static class Track<T extends Track<T>> {
+		int[] frames;
+		int start = 0;
+		int size = 0;
+		boolean shared = false;
+
+		Track(int length) {
+			frames = new int[length];
+		}
+
+		abstract T copy();
+
+		/**
+		 * Reallocates all columns with the given length, unwrapping the ring so it starts at slot 0.
+		 */
+		abstract void resize(int length);
+
+		abstract void move(int from, int to);
+
+		int physical(int index) {
+			int slot = start + index;
+			return slot < frames.length ? slot : slot - frames.length;
+		}
+
+		int frameAt(int index) {
+			return frames[physical(index)];
+		}
+
+		/**
+		 * Returns the slot to write a sample of the given frame into. A full track drops its oldest sample.
+		 */
+		int append(int frame, int maxSize) {
+			if (size == frames.length) {
+				if (size >= maxSize) {
+					start = physical(1);
+					size--;
+				} else resize(Math.min(frames.length * 2, maxSize));
+			}
+			int slot = physical(size++);
+			frames[slot] = frame;
+			return slot;
+		}
+
+		int newestAtOrBefore(int frame) {
+			int low = 0;
+			int high = size - 1;
+			int found = -1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (frameAt(mid) <= frame) {
+					found = mid;
+					low = mid + 1;
+				} else high = mid - 1;
+			}
+			return found;
+		}
+
+		boolean startsBefore(int frame) {
+			return size > 0 && frames[start] < frame;
+		}
+
+		boolean endsAtOrAfter(int frame) {
+			return size > 0 && frameAt(size - 1) >= frame;
+		}
+
+		/**
+		 * Drops the samples before the given frame, except for the newest of them,
+		 * which is moved to that frame because it still describes it.
+		 */
+		void evictBefore(int frame) {
+			while (size > 1 && frameAt(1) <= frame) {
+				start = physical(1);
+				size--;
+			}
+			if (size > 0 && frames[start] < frame)
+				frames[start] = frame;
+		}
+
+		void truncateFrom(int frame) {
+			while (size > 0 && frameAt(size - 1) >= frame)
+				size--;
+		}
+
+		void compress(int firstFrame, int oldNextFrame, int newNextFrame, int factor) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				int slot = physical(i);
+				int frame = frames[slot];
+				int mapped = frame < oldNextFrame ? firstFrame + (frame - firstFrame) / factor : newNextFrame + frame - oldNextFrame;
+				if (kept > 0 && frameAt(kept - 1) == mapped) continue;
+
+				int target = physical(kept++);
+				if (target != slot) move(slot, target);
+				frames[target] = mapped;
+			}
+			size = kept;
+		}
+	}
+
+	private static final class BlockTrack extends Track<BlockTrack> {
+		int[] states;
+
+		BlockTrack() {
+			this(INITIAL_TRACK_LENGTH);
+		}
+
+		private BlockTrack(int length) {
+			super(length);
+			states = new int[length];
+		}
+
+		IBlockState stateAt(int index) {
+			return Block.getStateById(states[physical(index)]);
+		}
+
+		void record(int frame, int stateId, int maxSize) {
+			if (size > 0 && frameAt(size - 1) == frame) return;
+			states[append(frame, maxSize)] = stateId;
+		}
+
+		@Override
+		BlockTrack copy() {
+			BlockTrack copy = new BlockTrack(0);
+			copy.frames = unwrap(frames, start, size, frames.length);
+			copy.states = unwrap(states, start, size, frames.length);
+			copy.size = size;
+			return copy;
+		}
+
+		@Override
+		void resize(int length) {
+			states = unwrap(states, start, size, length);
+			frames = unwrap(frames, start, size, length);
+			start = 0;
+		}
+
+		@Override
+		void move(int from, int to) {
+			states[to] = states[from];
+		}
+	}
+
+	private static final class EntityTrack extends Track<EntityTrack> {
+		final double originX, originY, originZ;
+		float[] x, y, z;
+		float[] yaw, pitch;
+		float[] health;
+		byte[] food;
+		float[] saturation, exhaustion;
+
+		EntityTrack(double originX, double originY, double originZ, boolean living, boolean player) {
+			this(originX, originY, originZ, living, player, INITIAL_TRACK_LENGTH);
+		}
+
+		private EntityTrack(double originX, double originY, double originZ, boolean living, boolean player, int length) {
+			super(length);
+			this.originX = originX;
+			this.originY = originY;
+			this.originZ = originZ;
+			x = new float[length];
+			y = new float[length];
+			z = new float[length];
+			yaw = new float[length];
+			pitch = new float[length];
+			if (living) health = new float[length];
+			if (player) {
+				food = new byte[length];
+				saturation = new float[length];
+				exhaustion = new float[length];
+			}
+		}
+
+		void record(int frame, Entity entity, int maxSize) {
+			float dx = (float) (entity.posX - originX);
+			float dy = (float) (entity.posY - originY);
+			float dz = (float) (entity.posZ - originZ);
+			float entityHealth = health != null && entity instanceof EntityLivingBase ? ((EntityLivingBase) entity).getHealth() : 0;
+			FoodStats stats = food != null && entity instanceof EntityPlayer ? ((EntityPlayer) entity).getFoodStats() : null;
+			int entityFood = stats != null ? stats.getFoodLevel() : 0;
+			float entitySaturation = stats != null ? stats.getSaturationLevel() : 0;
+			float entityExhaustion = stats != null ? EntityMoment.getExhaustion(stats) : 0;
+
+			if (size > 0) {
+				int last = physical(size - 1);
+				if (frames[last] == frame) return;
+				if (x[last] == dx && y[last] == dy && z[last] == dz
+						&& yaw[last] == entity.rotationYaw && pitch[last] == entity.rotationPitch
+						&& (health == null || health[last] == entityHealth)
+						&& (food == null || (food[last] == (byte) entityFood && saturation[last] == entitySaturation && exhaustion[last] == entityExhaustion)))
+					return;
+			}
+
+			write(append(frame, maxSize), dx, dy, dz, entity.rotationYaw, entity.rotationPitch, entityHealth, entityFood, entitySaturation, entityExhaustion);
+		}
+
+		/**
+		 * Records a saved moment. Values the moment leaves out are taken from the previous sample.
+		 */
+		void record(int frame, EntityMoment moment, int maxSize) {
+			if (size > 0 && frameAt(size - 1) == frame) return;
+
+			int last = size > 0 ? physical(size - 1) : -1;
+			float dx = moment.x != null ? (float) (moment.x - originX) : last >= 0 ? x[last] : 0;
+			float dy = moment.y != null ? (float) (moment.y - originY) : last >= 0 ? y[last] : 0;
+			float dz = moment.z != null ? (float) (moment.z - originZ) : last >= 0 ? z[last] : 0;
+			float momentYaw = moment.yaw != null ? moment.yaw : last >= 0 ? yaw[last] : 0;
+			float momentPitch = moment.pitch != null ? moment.pitch : last >= 0 ? pitch[last] : 0;
+			float momentHealth = moment.health != null ? moment.health : last >= 0 && health != null ? health[last] : 0;
+			int momentFood = moment.food != null ? moment.food : last >= 0 && food != null ? food[last] : 0;
+			float momentSaturation = moment.saturation != null ? moment.saturation : last >= 0 && saturation != null ? saturation[last] : 0;
+			float momentExhaustion = moment.exhaustion != null ? moment.exhaustion : last >= 0 && exhaustion != null ? exhaustion[last] : 0;
+
+			write(append(frame, maxSize), dx, dy, dz, momentYaw, momentPitch, momentHealth, momentFood, momentSaturation, momentExhaustion);
+		}
+
+		private void write(int slot, float dx, float dy, float dz, float yaw, float pitch, float health, int food, float saturation, float exhaustion) {
+			this.x[slot] = dx;
+			this.y[slot] = dy;
+			this.z[slot] = dz;
+			this.yaw[slot] = yaw;
+			this.pitch[slot] = pitch;
+			if (this.health != null) this.health[slot] = health;
+			if (this.food != null) {
+				this.food[slot] = (byte) food;
+				this.saturation[slot] = saturation;
+				this.exhaustion[slot] = exhaustion;
+			}
+		}
+
+		EntityMoment momentAt(int index) {
+			int slot = physical(index);
+			return new EntityMoment(originX + x[slot], originY + y[slot], originZ + z[slot], yaw[slot], pitch[slot],
+					health != null ? health[slot] : null,
+					food != null ? (int) food[slot] : null,
+					food != null ? saturation[slot] : null,
+					food != null ? exhaustion[slot] : null);
+		}
+
+		@Override
+		EntityTrack copy() {
+			EntityTrack copy = new EntityTrack(originX, originY, originZ, false, false, 0);
+			int length = frames.length;
+			copy.frames = unwrap(frames, start, size, length);
+			copy.x = unwrap(x, start, size, length);
+			copy.y = unwrap(y, start, size, length);
+			copy.z = unwrap(z, start, size, length);
+			copy.yaw = unwrap(yaw, start, size, length);
+			copy.pitch = unwrap(pitch, start, size, length);
+			copy.health = unwrap(health, start, size, length);
+			copy.food = unwrap(food, start, size, length);
+			copy.saturation = unwrap(saturation, start, size, length);
+			copy.exhaustion = unwrap(exhaustion, start, size, length);
+			copy.size = size;
+			return copy;
+		}
+
+		@Override
+		void resize(int length) {
+			x = unwrap(x, start, size, length);
+			y = unwrap(y, start, size, length);
+			z = unwrap(z, start, size, length);
+			yaw = unwrap(yaw, start, size, length);
+			pitch = unwrap(pitch, start, size, length);
+			health = unwrap(health, start, size, length);
+			food = unwrap(food, start, size, length);
+			saturation = unwrap(saturation, start, size, length);
+			exhaustion = unwrap(exhaustion, start, size, length);
+			frames = unwrap(frames, start, size, length);
+			start = 0;
+		}
+
+		@Override
+		void move(int from, int to) {
+			x[to] = x[from];
+			y[to] = y[from];
+			z[to] = z[from];
+			yaw[to] = yaw[from];
+			pitch[to] = pitch[from];
+			if (health != null) health[to] = health[from];
+			if (food != null) {
+				food[to] = food[from];
+				saturation[to] = saturation[from];
+				exhaustion[to] = exhaustion[from];
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.teamwizardry.wizardry.common.core.nemez;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.INBTSerializable;
+
+import java.util.Collection;
+
+/**
+ * The recording a {@link NemezTracker} writes into and plays back from. <br/>
+ * Both implementations save the same list of moments, oldest first, so saves and packets don't depend on the one in use.
+ *
+ * @see NemezManager
+ * @see NemezRecording
+ */
+public interface NemezStore extends INBTSerializable<NBTTagList> {
+
+	void pushEntityData(Entity entity);
+
+	void pushBlockData(BlockPos pos, IBlockState state);
+
+	/**
+	 * Ends the moment currently being recorded.
+	 */
+	void pushMoment();
+
+	boolean hasMoment();
+
+	/**
+	 * Applies the newest moment and removes it.
+	 */
+	void applyAndPop(World world, Collection<Entity> tracked);
+
+	/**
+	 * Applies the newest moment, interpolated towards the one before it, without removing it.
+	 */
+	void applyPeek(World world, Collection<Entity> tracked, float partialTicks);
+
+	void collapse();
+
+	boolean needsCompression(int maximumMoments);
+
+	void compressDownTo(int maximumMoments);
+
+	void erase();
+
+	NemezStore snapshot();
+
+	/**
+	 * Serializes the oldest moments, up to and including the moment at index {@code n}.
+	 */
+	NBTTagList serializeFirstN(int n);
+
+	/**
+	 * Adds the given moments as older than the moments already recorded.
+	 */
+	void absorb(NBTTagList nbt);
+}
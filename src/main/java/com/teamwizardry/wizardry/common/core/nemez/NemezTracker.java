@@ -1,5 +1,6 @@
 package com.teamwizardry.wizardry.common.core.nemez;
 
+import com.teamwizardry.wizardry.api.ConfigValues;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NBTTagList;
@@ -14,9 +15,13 @@ public class NemezTracker implements INBTSerializable<NBTTagList> {
 
 	public static final int MAXIMUM_MOMENTS = 6000;
 
-	private NemezManager manager = new NemezManager();
+	private NemezStore manager = createStore();
 	private Set<String> trackingEntities = new HashSet<>();
 
+	private static NemezStore createStore() {
+		return ConfigValues.columnarNemezRecording ? new NemezRecording(MAXIMUM_MOMENTS) : new NemezManager();
+	}
+
 	public Set<Entity> getTrackedEntities(World world) {
 		Set<Entity> tracking = new HashSet<>();
 		for (Entity inWorld : world.loadedEntityList)
@@ -37,7 +42,7 @@ public class NemezTracker implements INBTSerializable<NBTTagList> {
 	}
 
 	public boolean hasNext() {
-		return manager.peekAtMoment() != null;
+		return manager.hasMoment();
 	}
 
 	public void endUpdate() {
@@ -70,7 +75,7 @@ public class NemezTracker implements INBTSerializable<NBTTagList> {
 	}
 
 	public void applySnapshot(World world) {
-		manager.popMoment().apply(world, getTrackedEntities(world));
+		manager.applyAndPop(world, getTrackedEntities(world));
 	}
 
 	public void applySnapshot(World world, float partialTicks) {
@@ -78,7 +83,7 @@ public class NemezTracker implements INBTSerializable<NBTTagList> {
 			applySnapshot(world);
 			return;
 		}
-		manager.peekAtMoment().apply(world, getTrackedEntities(world), partialTicks);
+		manager.applyPeek(world, getTrackedEntities(world), partialTicks);
 	}
 
 	public NBTTagList nextNMoments(int seconds) {
@@ -0,0 +1,202 @@
+package com.teamwizardry.wizardry.common.core.version.manifest;
+
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.ConfigValues;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.ModContainer;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The json files every mod ships for our data categories, like {@code wizmodules} or {@code fluid_recipes}. <br/>
+ * Each mod is scanned once for all categories, and the contents are kept in memory so neither the manifest
+ * nor copying to the config folder has to open the jars again. Content hashes are computed in parallel.
+ * <br/>
+ * <b>NOTE</b>: Hashes are the same as the manifest has always used, the {@link String#hashCode()} of the file
+ * read line by line with {@code '\n'} line endings, so existing manifests stay valid.
+ */
+public final class InternalDataFiles {
+
+	private final Map<String, Map<String, DataFile>> categories = new HashMap<>();
+	private final Map<String, Map<String, DataFile>> categoryIds = new HashMap<>();
+
+	private InternalDataFiles() {
+	}
+
+	/**
+	 * Reads the files of the given categories from every loaded mod.
+	 * A file of a later mod replaces the file with the same path of an earlier one.
+	 */
+	public static InternalDataFiles scan(String... categories) {
+		InternalDataFiles files = new InternalDataFiles();
+		Set<String> wanted = new HashSet<>(Arrays.asList(categories));
+		for (String category : categories)
+			files.categories.put(category, new LinkedHashMap<>());
+
+		for (Map.Entry<String, ModContainer> entry : Loader.instance().getIndexedModList().entrySet()) {
+			String modId = entry.getKey();
+			CraftingHelper.findFiles(entry.getValue(), "assets/" + modId, null, (root, full) -> {
+				if (!Files.isRegularFile(full)) return true;
+
+				Path relative = root.relativize(full);
+				if (relative.getNameCount() < 2) return true;
+
+				String category = relative.getName(0).toString();
+				String path = relative.subpath(1, relative.getNameCount()).toString().replace('\\', '/');
+				if (!wanted.contains(category) || !path.endsWith(".json")) return true;
+
+				try {
+					DataFile file = new DataFile(modId, category, path, Files.readAllBytes(full));
+					DataFile previous = files.categories.get(category).put(path, file);
+					if (previous != null)
+						Wizardry.LOGGER.warn("    > File name conflict for " + category + "/" + path + " occurring in mods '" + modId + "' and '" + previous.modId + "'. Some stuff wont be available.");
+				} catch (IOException e) {
+					Wizardry.LOGGER.error("    > SOMETHING WENT WRONG! Could not read " + path + " in " + category + " from mod jar of '" + modId + "'! Report this to the devs on Github!", e);
+				}
+				return true;
+			}, false, false);
+		}
+
+		files.categories.values().stream()
+				.flatMap(category -> category.values().stream())
+				.parallel()
+				.forEach(file -> file.hash = hash(file.content));
+
+		for (Map.Entry<String, Map<String, DataFile>> category : files.categories.entrySet()) {
+			Map<String, DataFile> ids = new HashMap<>();
+			for (DataFile file : category.getValue().values())
+				ids.put(file.getId(), file);
+			files.categoryIds.put(category.getKey(), ids);
+		}
+		return files;
+	}
+
+	public Collection<DataFile> getFiles(String category) {
+		Map<String, DataFile> files = categories.get(category);
+		return files == null ? Collections.emptyList() : Collections.unmodifiableCollection(files.values());
+	}
+
+	/**
+	 * @return The file of the category with the given manifest id, the name without extension.
+	 */
+	@Nullable
+	public DataFile getFile(String category, String id) {
+		Map<String, DataFile> ids = categoryIds.get(category);
+		return ids == null ? null : ids.get(id);
+	}
+
+	/**
+	 * Copies every file of the category into the directory, keeping their paths.
+	 * Files whose content already hashes the same as the internal one are not written again.
+	 *
+	 * @return The number of files written.
+	 */
+	public int copyChanged(File directory, String category) {
+		List<DataFile> files = new ArrayList<>(getFiles(category));
+		boolean[] changed = new boolean[files.size()];
+		IntStream.range(0, files.size()).parallel().forEach(i -> {
+			DataFile file = files.get(i);
+			File target = new File(directory, file.path);
+			try {
+				changed[i] = !target.isFile() || !file.hash.equals(hash(Files.readAllBytes(target.toPath())));
+			} catch (IOException e) {
+				changed[i] = true;
+			}
+		});
+
+		int copied = 0;
+		for (int i = 0; i < files.size(); i++) {
+			if (!changed[i]) continue;
+
+			DataFile file = files.get(i);
+			if (file.write(new File(directory, file.path))) {
+				copied++;
+				if (ConfigValues.debugInfo)
+					Wizardry.LOGGER.info("    > " + category + " file " + file.path + " copied successfully from mod jar of '" + file.modId + "'.");
+			}
+		}
+		return copied;
+	}
+
+	/**
+	 * The manifest hash of the given file contents.
+	 */
+	public static String hash(byte[] content) {
+		String text = new String(content, Charset.defaultCharset());
+		int hash = 0;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '\r') {
+				// Same as BufferedReader.readLine, "\r\n" and a lone "\r" both end a line
+				if (i + 1 < length && text.charAt(i + 1) == '\n') i++;
+				c = '\n';
+			}
+			hash = 31 * hash + c;
+		}
+		char last = length == 0 ? '\n' : text.charAt(length - 1);
+		if (last != '\n' && last != '\r')
+			hash = 31 * hash + '\n';
+		return Integer.toString(hash);
+	}
+
+	public static final class DataFile {
+		private final String modId;
+		private final String category;
+		private final String path;
+		private final byte[] content;
+		private String hash;
+
+		DataFile(String modId, String category, String path, byte[] content) {
+			this.modId = modId;
+			this.category = category;
+			this.path = path;
+			this.content = content;
+		}
+
+		public String getModId() {
+			return modId;
+		}
+
+		public String getCategory() {
+			return category;
+		}
+
+		/**
+		 * @return The path of the file inside its category folder.
+		 */
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * @return The name of the file without extension, as used by the manifest.
+		 */
+		public String getId() {
+			return com.google.common.io.Files.getNameWithoutExtension(path);
+		}
+
+		public String getHash() {
+			return hash;
+		}
+
+		public boolean write(File target) {
+			try {
+				FileUtils.writeByteArrayToFile(target, content);
+				return true;
+			} catch (IOException e) {
+				Wizardry.LOGGER.error("    > SOMETHING WENT WRONG! Could not write " + target.getPath() + "!", e);
+				return false;
+			}
+		}
+	}
+}
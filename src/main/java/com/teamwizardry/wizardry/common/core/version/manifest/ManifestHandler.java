@@ -1,15 +1,11 @@
 package com.teamwizardry.wizardry.common.core.version.manifest;
 
 import com.google.common.io.Files;
-import com.teamwizardry.librarianlib.core.LibrarianLib;
 import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.ConfigValues;
-import com.teamwizardry.wizardry.crafting.mana.ManaRecipes;
-import net.minecraftforge.fml.common.Loader;
-import net.minecraftforge.fml.common.ModContainer;
-import org.apache.commons.io.FileUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -24,6 +20,7 @@ public class ManifestHandler {
 	private HashMap<String, HashMap<String, String>> externalManifestMap = new HashMap<>();
 	private HashMap<String, HashMap<String, String>> fileToMod = new HashMap<>();
 	private boolean generatedNewManifest = false;
+	private InternalDataFiles internalFiles;
 
 	private ManifestHandler() {
 	}
@@ -94,35 +91,30 @@ public class ManifestHandler {
 		}
 	}
 
+	/**
+	 * Scans every mod for the files of the given categories and adds their hashes to the internal manifest.
+	 * The scanned files are kept until {@link #releaseInternalFiles()}.
+	 */
 	public void loadNewInternalManifest(String... categories) {
-		Map<String, ModContainer> modList = Loader.instance().getIndexedModList();
-		for (Map.Entry<String, ModContainer> entry : modList.entrySet()) {
-			for (String category : categories) {
+		internalFiles = InternalDataFiles.scan(categories);
+		for (String category : categories)
+			for (InternalDataFiles.DataFile file : internalFiles.getFiles(category))
+				addItemToManifest(category, file.getModId(), file.getId(), file.getHash());
+	}
 
-				try {
-					for (String fileName : ManaRecipes.getResourceListing(entry.getKey(), category)) {
-						if (fileName.isEmpty()) continue;
-
-						InputStream stream = LibrarianLib.PROXY.getResource(entry.getKey(), category + "/" + fileName);
-						if (stream == null) {
-							Wizardry.LOGGER.error("    > SOMETHING WENT WRONG! Could not read " + fileName + " in " + category + " from mod jar! Report this to the devs on Github!");
-							continue;
-						}
-						try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, Charset.defaultCharset()))) {
-							StringBuilder sb = new StringBuilder();
-							String line;
-							while ((line = br.readLine()) != null) {
-								sb.append(line);
-								sb.append('\n');
-							}
-							addItemToManifest(category, entry.getKey(), Files.getNameWithoutExtension(fileName), sb.toString().hashCode() + "");
-						}
-					}
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			}
-		}
+	/**
+	 * @return The files found by the last {@link #loadNewInternalManifest(String...)}, or null if released.
+	 */
+	@Nullable
+	public InternalDataFiles getInternalFiles() {
+		return internalFiles;
+	}
+
+	/**
+	 * Drops the scanned file contents once nothing needs to copy them anymore.
+	 */
+	public void releaseInternalFiles() {
+		internalFiles = null;
 	}
 
 	private void generateFile(File directory, String category, String key) {
@@ -133,19 +125,14 @@ public class ManifestHandler {
 			return;
 		}
 
-		InputStream stream = LibrarianLib.PROXY.getResource(modId, category + "/" + key + ".json");
-		if (stream == null) {
+		InternalDataFiles.DataFile file = internalFiles == null ? null : internalFiles.getFile(category, key);
+		if (file == null) {
 			Wizardry.LOGGER.error("    > SOMETHING WENT WRONG! Could not read under " + category + " in " + key + " from mod jar! Report this to the devs on Github!");
 			return;
 		}
 
-		try {
-			FileUtils.copyInputStreamToFile(stream, new File(directory + "/" + category + "/", key + ".json"));
-			if (ConfigValues.debugInfo)
-				Wizardry.LOGGER.info("    > " + category + " in " + key + " copied successfully from mod jar.");
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		if (file.write(new File(directory + "/" + category + "/", key + ".json")) && ConfigValues.debugInfo)
+			Wizardry.LOGGER.info("    > " + category + " in " + key + " copied successfully from mod jar.");
 	}
 
 	private void deleteFile(File directory, String category, String key) {
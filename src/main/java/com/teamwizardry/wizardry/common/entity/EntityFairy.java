@@ -8,6 +8,7 @@ import com.teamwizardry.wizardry.api.NBTConstants.NBT;
 import com.teamwizardry.wizardry.api.entity.fairy.FairyData;
 import com.teamwizardry.wizardry.api.entity.fairy.fairytasks.FairyTaskController;
 import com.teamwizardry.wizardry.api.entity.fairy.fairytasks.FairyTaskRegistry;
+import com.teamwizardry.wizardry.api.entity.fairy.fairytasks.FairyTaskScheduler;
 import com.teamwizardry.wizardry.api.util.RandUtil;
 import com.teamwizardry.wizardry.api.util.RayTrace;
 import com.teamwizardry.wizardry.common.entity.ai.FairyMoveHelper;
@@ -39,11 +40,7 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
-import net.minecraftforge.fml.relauncher.Side;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -58,7 +55,6 @@ import static com.teamwizardry.wizardry.api.entity.fairy.fairytasks.FairyTaskReg
 /**
  * Created by Demoniaque on 8/21/2016.
  */
-@Mod.EventBusSubscriber
 public class EntityFairy extends EntityTameable implements EntityFlying {
 	private static final DataParameter<ItemStack> DATA_HELD_ITEM = EntityDataManager.createKey(EntityFairy.class, DataSerializers.ITEM_STACK);
 	private static final DataParameter<NBTTagCompound> DATA_FAIRY = EntityDataManager.createKey(EntityFairy.class, DataSerializers.COMPOUND_TAG);
@@ -260,29 +256,6 @@ public class EntityFairy extends EntityTameable implements EntityFlying {
 		return true;
 	}
 
-	@SubscribeEvent
-	public static void onStun(TickEvent.WorldTickEvent event) {
-		if (event.side == Side.CLIENT) return;
-
-		for (EntityFairy fairy : event.world.getEntities(EntityFairy.class, input -> input != null && !input.isDead)) {
-
-			fairy.stunned = false;
-
-			secondary:
-			for (EntityPlayer player : event.world.getEntitiesWithinAABB(EntityPlayer.class, fairy.getEntityBoundingBox().grow(5))) {
-
-				for (EnumHand hand : EnumHand.values()) {
-					ItemStack stack = player.getHeldItem(hand);
-
-					if (stack.getItem() == ModItems.FAIRY_BELL) {
-						fairy.stunned = true;
-						break secondary;
-					}
-				}
-			}
-		}
-	}
-
 	public void moveTo(@Nonnull BlockPos pos) {
 		Vec3d to = new Vec3d(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
 		moveTo(to);
@@ -341,8 +314,8 @@ public class EntityFairy extends EntityTameable implements EntityFlying {
 		}
 
 		ProjectileHelper.rotateTowardsMovement(this, 0.5F);
-		if (!world.isRemote && !isStunned())
-			fairyTaskController.tick(this);
+		if (!world.isRemote)
+			FairyTaskScheduler.schedule(this);
 
 		if (dataFairy != null && getNavigator().noPath())
 			if (!dataFairy.isDepressed) {
@@ -591,6 +564,10 @@ public class EntityFairy extends EntityTameable implements EntityFlying {
 		return stunned;
 	}
 
+	public void setStunned(boolean stunned) {
+		this.stunned = stunned;
+	}
+
 	@Override
 	public void readEntityFromNBT(NBTTagCompound compound) {
 		super.readEntityFromNBT(compound);
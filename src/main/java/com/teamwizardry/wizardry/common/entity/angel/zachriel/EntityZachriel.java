@@ -92,12 +92,7 @@ public class EntityZachriel extends EntityAngel {
 
 	@Override
 	public boolean attackEntityFrom(@Nonnull DamageSource source, float amount) {
-		if (arena == null) {
-			HashSet<UUID> players = new HashSet<>();
-			arena = new Arena(
-					getEntityWorld().provider.getDimension(), getPosition(), 50, 50, getEntityId(), players);
-			ArenaManager.INSTANCE.addArena(arena);
-		}
+		if (!world.isRemote) initArena();
 
 		if (burstTimer > 0) return false;
 		boolean result = super.attackEntityFrom(source, amount);
@@ -199,17 +194,12 @@ public class EntityZachriel extends EntityAngel {
 		{
 			//if (!isBeingBattled()) return;
 
-			if (arena == null) {
-				HashSet<UUID> players = new HashSet<>();
-				arena = new Arena(
-						getEntityWorld().provider.getDimension(), getPosition(), 50, 50, getEntityId(), players);
-				ArenaManager.INSTANCE.addArena(arena);
+			if (!world.isRemote) {
+				initArena();
+				for (EntityLivingBase targeted : arena.getVictims())
+					nemezDrive.trackEntity(targeted);
 			}
 
-
-			for (EntityLivingBase targeted : arena.getVictims())
-				nemezDrive.trackEntity(targeted);
-
 			if (burstTimer > 0) {
 				burstTimer--;
 				if (burstTimer == 0)
@@ -261,9 +251,24 @@ public class EntityZachriel extends EntityAngel {
 		nemezDrive.endUpdate();
 	}
 
+	/**
+	 * Picks the arena back up from the world after a reload, or opens a new one around Zachriel.
+	 */
+	private void initArena() {
+		if (arena != null) return;
+
+		arena = ArenaManager.INSTANCE.getArena(this);
+		if (arena == null) {
+			HashSet<UUID> players = new HashSet<>();
+			arena = new Arena(
+					getEntityWorld().provider.getDimension(), getPosition(), 50, 50, getEntityId(), players);
+			ArenaManager.INSTANCE.addArena(arena);
+		}
+	}
+
 	@Override
 	protected boolean processInteract(EntityPlayer player, EnumHand hand) {
-		if (player.getHeldItemMainhand().getItem() == ModItems.MAGIC_WAND) {
+		if (!player.world.isRemote && player.getHeldItemMainhand().getItem() == ModItems.MAGIC_WAND) {
 			HashSet<UUID> players = new HashSet<>();
 			players.add(player.getUniqueID());
 			ArenaManager.INSTANCE.addArena(new Arena(player.world.provider.getDimension(), getPosition(), 10, 10, getEntityId(), players));
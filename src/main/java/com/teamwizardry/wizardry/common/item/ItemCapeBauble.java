@@ -4,13 +4,12 @@ import baubles.api.BaubleType;
 import com.teamwizardry.librarianlib.features.base.item.ItemModBauble;
 import com.teamwizardry.librarianlib.features.helpers.NBTHelper;
 import com.teamwizardry.wizardry.Wizardry;
-import com.teamwizardry.wizardry.api.item.BaublesSupport;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentManager;
 import com.teamwizardry.wizardry.api.item.ICape;
 import com.teamwizardry.wizardry.api.spell.SpellModifierRegistry;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeModifier;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry;
 import com.teamwizardry.wizardry.api.spell.attribute.Operation;
-import com.teamwizardry.wizardry.init.ModItems;
 import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.item.EnumRarity;
@@ -62,6 +61,7 @@ public class ItemCapeBauble extends ItemModBauble implements ICape {
 	@Override
 	public void onEquippedOrLoadedIntoWorld(ItemStack stack, EntityLivingBase player)
 	{
+		EquipmentManager.invalidate(player);
 		SpellModifierRegistry.addModifier(player, CAPE_MODIFIER_LOC, (spell, data) -> {
 			List<AttributeModifier> modifiers = new LinkedList<>();
 			float capeReduction = getCapeReduction(player);
@@ -73,7 +73,7 @@ public class ItemCapeBauble extends ItemModBauble implements ICape {
 	
 	private final float getCapeReduction(EntityLivingBase caster)
 	{
-		ItemStack stack = BaublesSupport.getItem(caster, ModItems.CAPE);
+		ItemStack stack = EquipmentManager.getCape(caster);
 		if (stack != ItemStack.EMPTY) {
 			float time = NBTHelper.getInt(stack, "maxTick", 0);
 			return (float) MathHelper.clamp(1 - (time / 1000000.0), 0.25, 1);
@@ -84,6 +84,7 @@ public class ItemCapeBauble extends ItemModBauble implements ICape {
 	@Override
 	public void onUnequipped(ItemStack stack, EntityLivingBase player)
 	{
+		EquipmentManager.invalidate(player);
 		SpellModifierRegistry.removeModifier(player, CAPE_MODIFIER_LOC);
 	}
 
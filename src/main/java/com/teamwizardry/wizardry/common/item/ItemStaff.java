@@ -5,7 +5,7 @@ import com.teamwizardry.librarianlib.features.base.item.ItemMod;
 import com.teamwizardry.librarianlib.features.helpers.NBTHelper;
 import com.teamwizardry.librarianlib.features.utilities.client.TooltipHelper;
 import com.teamwizardry.wizardry.api.NBTConstants;
-import com.teamwizardry.wizardry.api.item.BaublesSupport;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentManager;
 import com.teamwizardry.wizardry.api.item.ICooldownSpellCaster;
 import com.teamwizardry.wizardry.api.item.INacreProduct;
 import com.teamwizardry.wizardry.api.item.ISpellCaster;
@@ -73,7 +73,7 @@ public class ItemStaff extends ItemMod implements INacreProduct.INacreDecayProdu
 	public boolean itemInteractionForEntity(ItemStack stack, EntityPlayer playerIn, EntityLivingBase target, EnumHand hand) {
 		if (playerIn.isSneaking()) return false;
 		if (isCoolingDown(playerIn.world, stack)) return false;
-		if (BaublesSupport.getItem(playerIn, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO).isEmpty())
+		if (!EquipmentManager.hasHalo(playerIn))
 			return false;
 		if (requiresBowAction(stack)) return false;
 
@@ -104,7 +104,7 @@ public class ItemStaff extends ItemMod implements INacreProduct.INacreDecayProdu
 
 		if (isCoolingDown(world, stack)) return EnumActionResult.PASS;
 		if (requiresBowAction(stack)) return EnumActionResult.PASS;
-		if (BaublesSupport.getItem(player, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO).isEmpty())
+		if (!EquipmentManager.hasHalo(player))
 			return EnumActionResult.PASS;
 
 		SpellData spell = new SpellData();
@@ -126,8 +126,8 @@ public class ItemStaff extends ItemMod implements INacreProduct.INacreDecayProdu
 
 		if (player.isSneaking()) return new ActionResult<>(EnumActionResult.PASS, stack);
 
-		boolean hasHalo = BaublesSupport.getItem(player, ModItems.CREATIVE_HALO, ModItems.FAKE_HALO, ModItems.REAL_HALO).isEmpty();
-		if (isCoolingDown(world, stack) || hasHalo) {
+		boolean hasHalo = EquipmentManager.hasHalo(player);
+		if (isCoolingDown(world, stack) || !hasHalo) {
 			return new ActionResult<>(EnumActionResult.FAIL, stack);
 		} else {
 			if (requiresBowAction(stack))
@@ -4,6 +4,7 @@ import baubles.api.BaubleType;
 import com.teamwizardry.librarianlib.features.base.item.ItemModBauble;
 import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentManager;
 import com.teamwizardry.wizardry.api.capability.player.mana.ManaManager;
 import com.teamwizardry.wizardry.api.item.halo.IHalo;
 import com.teamwizardry.wizardry.api.spell.SpellModifierRegistry;
@@ -65,6 +66,7 @@ public class ItemCreativeHaloBauble extends ItemModBauble implements IHalo {
 	@Override
 	public void onEquippedOrLoadedIntoWorld(ItemStack stack, EntityLivingBase player)
 	{
+		EquipmentManager.invalidate(player);
 		SpellModifierRegistry.addModifier(player, CREATIVE_HALO_MODIFIER_LOC, (spell, data) -> {
 			List<AttributeModifier> modifiers = new LinkedList<>();
 			modifiers.add(new AttributeModifier(AttributeRegistry.MANA, 0, Operation.MULTIPLY));
@@ -76,6 +78,7 @@ public class ItemCreativeHaloBauble extends ItemModBauble implements IHalo {
 	@Override
 	public void onUnequipped(ItemStack stack, EntityLivingBase player)
 	{
+		EquipmentManager.invalidate(player);
 		SpellModifierRegistry.removeModifier(player, CREATIVE_HALO_MODIFIER_LOC);
 	}
 
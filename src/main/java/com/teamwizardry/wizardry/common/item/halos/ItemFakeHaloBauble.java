@@ -3,6 +3,7 @@ package com.teamwizardry.wizardry.common.item.halos;
 import baubles.api.BaubleType;
 import com.teamwizardry.librarianlib.features.base.item.ItemModBauble;
 import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentManager;
 import com.teamwizardry.wizardry.api.capability.player.mana.ManaManager;
 import com.teamwizardry.wizardry.api.item.halo.IHalo;
 import com.teamwizardry.wizardry.init.ModBlocks;
@@ -56,6 +57,16 @@ public class ItemFakeHaloBauble extends ItemModBauble implements IHalo {
 		}
 	}
 
+	@Override
+	public void onEquippedOrLoadedIntoWorld(ItemStack stack, EntityLivingBase player) {
+		EquipmentManager.invalidate(player);
+	}
+
+	@Override
+	public void onUnequipped(ItemStack stack, EntityLivingBase player) {
+		EquipmentManager.invalidate(player);
+	}
+
 	@Nonnull
 	@Optional.Method(modid = "baubles")
 	@Override
@@ -6,11 +6,11 @@ import com.teamwizardry.wizardry.api.spell.annotation.RegisterModule;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry;
 import com.teamwizardry.wizardry.api.spell.module.IModuleEffect;
 import com.teamwizardry.wizardry.api.spell.module.ModuleInstanceEffect;
+import com.teamwizardry.wizardry.api.util.BlockEditQueue;
 import com.teamwizardry.wizardry.api.util.BlockUtils;
 import com.teamwizardry.wizardry.api.util.RenderUtils;
 import com.teamwizardry.wizardry.client.fx.LibParticles;
 import com.teamwizardry.wizardry.common.module.shapes.ModuleShapeZone;
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -19,6 +19,7 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
@@ -63,14 +64,18 @@ public class ModuleEffectBreak implements IModuleEffect {
 			float hardness = state.getBlockHardness(world, pos);
 			return hardness < 0 || hardness > strength;
 		});
+		BlockEditQueue.Job job = BlockEditQueue.get((WorldServer) world).newJob(BlockUtils.makeBreaker(world, targetPos, caster));
+		boolean taxed = true;
 		for (BlockPos pos : blocks) {
-			if (!spellRing.taxCaster(world, spell, 1 / range, false)) return false;
-			IBlockState state = world.getBlockState(pos);
-			BlockUtils.breakBlock(world, pos, state, BlockUtils.makeBreaker(world, pos, caster));
-			world.playEvent(2001, pos, Block.getStateId(state));
+			if (!spellRing.taxCaster(world, spell, 1 / range, false)) {
+				taxed = false;
+				break;
+			}
+			job.breakBlock(pos);
 		}
+		job.submit();
 
-		return true;
+		return taxed;
 	}
 
 	@Override
@@ -7,10 +7,12 @@ import com.teamwizardry.wizardry.api.spell.annotation.RegisterModule;
 import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry;
 import com.teamwizardry.wizardry.api.spell.module.IModuleEffect;
 import com.teamwizardry.wizardry.api.spell.module.ModuleInstanceEffect;
+import com.teamwizardry.wizardry.api.util.BlockEditQueue;
 import com.teamwizardry.wizardry.api.util.BlockUtils;
 import com.teamwizardry.wizardry.api.util.RenderUtils;
 import com.teamwizardry.wizardry.client.fx.LibParticles;
 import com.teamwizardry.wizardry.common.module.shapes.ModuleShapeZone;
+import net.minecraft.block.SoundType;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
@@ -19,11 +21,14 @@ import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
@@ -76,13 +81,24 @@ public class ModuleEffectPlace implements IModuleEffect, IBlockSelectable {
 				blocks.add(targetPos);
 			}
 
-			for (BlockPos pos : blocks) {
-				if (!spellRing.taxCaster(world, spell, 1 / area, false)) return false;
-
-				ItemStack availableStack = instance.getAvailableStack(stacks);
-				if (availableStack == null) return true;
-
-				BlockUtils.placeBlock(world, pos, facing, availableStack);
+			EntityPlayer player = (EntityPlayer) caster;
+			BlockEditQueue.Job job = BlockEditQueue.get((WorldServer) world).newJob(BlockUtils.makePlacer(world, targetPos, caster));
+			try {
+				for (BlockPos pos : blocks) {
+					if (!spellRing.taxCaster(world, spell, 1 / area, false)) return false;
+
+					ItemStack availableStack = instance.getAvailableStack(stacks);
+					if (availableStack == null) return true;
+
+					// Items are only used up once their block is placed, edits may still be skipped until then
+					BlockPos placePos = pos.offset(facing);
+					ItemBlock itemBlock = (ItemBlock) availableStack.getItem();
+					IBlockState placed = itemBlock.getBlock().getStateForPlacement(world, placePos, facing, 0, 0, 0,
+							itemBlock.getMetadata(availableStack.getMetadata()), player, EnumHand.MAIN_HAND);
+					job.place(placePos, placed, true, replaced -> onPlaced(world, instance, player, selected, placePos, placed, replaced));
+				}
+			} finally {
+				job.submit();
 			}
 
 		} else {
@@ -100,6 +116,23 @@ public class ModuleEffectPlace implements IModuleEffect, IBlockSelectable {
 		return true;
 	}
 
+	/**
+	 * Finishes a placement like {@link ItemBlock} does and uses up an item for it.
+	 * If the items ran out while the edit waited, the replaced block is put back.
+	 */
+	private static void onPlaced(World world, ModuleInstanceEffect instance, EntityPlayer player, IBlockState selected, BlockPos pos, IBlockState placed, IBlockState replaced) {
+		ItemStack stack = instance.getAvailableStack(instance.getAllOfStackFromInventory(player, selected));
+		if (stack == null) {
+			world.setBlockState(pos, replaced);
+			return;
+		}
+
+		placed.getBlock().onBlockPlacedBy(world, pos, placed, player, stack);
+		SoundType sound = placed.getBlock().getSoundType(placed, world, pos, player);
+		world.playSound(null, pos, sound.getPlaceSound(), SoundCategory.BLOCKS, (sound.getVolume() + 1.0F) / 2.0F, sound.getPitch() * 0.8F);
+		stack.shrink(1);
+	}
+
 	@Override
 	@SideOnly(Side.CLIENT)
 	public void renderSpell(World world, ModuleInstanceEffect instance, @Nonnull SpellData spell, @Nonnull SpellRing spellRing) {
@@ -17,6 +17,7 @@ import com.teamwizardry.wizardry.api.spell.attribute.AttributeRegistry;
 import com.teamwizardry.wizardry.api.spell.module.IModuleEffect;
 import com.teamwizardry.wizardry.api.spell.module.ModuleInstanceEffect;
 import com.teamwizardry.wizardry.api.spell.module.ModuleRegistry;
+import com.teamwizardry.wizardry.api.util.BlockEditQueue;
 import com.teamwizardry.wizardry.api.util.BlockUtils;
 import com.teamwizardry.wizardry.api.util.RandUtil;
 import com.teamwizardry.wizardry.api.util.RenderUtils;
@@ -40,11 +41,13 @@ import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -119,17 +122,7 @@ public class ModuleEffectSubstitution implements IModuleEffect, IBlockSelectable
 
 				double area = spellRing.getAttributeValue(world, AttributeRegistry.AREA, spell);
 
-				ItemStack stackBlock = null;
-				for (ItemStack stack : ((EntityPlayer) caster).inventory.mainInventory) {
-					if (stack.isEmpty()) continue;
-					if (!(stack.getItem() instanceof ItemBlock)) continue;
-					Block block = ((ItemBlock) stack.getItem()).getBlock();
-					if (block != state.getBlock()) continue;
-
-					stackBlock = stack;
-					break;
-				}
-
+				ItemStack stackBlock = findStack((EntityPlayer) caster, state.getBlock());
 				if (stackBlock == null) return false;
 
 				Set<BlockPos> blocks = BlockUtils.blocksInSquare(targetBlock, facing, Math.min(stackBlock.getCount(), (int) area), (int) ((Math.sqrt(area)+1)/2), pos -> {
@@ -142,17 +135,17 @@ public class ModuleEffectSubstitution implements IModuleEffect, IBlockSelectable
 
 				if (blocks.isEmpty()) return true;
 
-				for (BlockPos pos : blocks) {
-					if (stackBlock.isEmpty()) return true;
-					if (!spellRing.taxCaster(world, spell, 1 / area, false)) return false;
-					if (world.isAirBlock(pos)) continue;
-					if (world.getBlockState(pos).getBlock() == state.getBlock()) continue;
-
-					stackBlock.shrink(1);
+				BlockEditQueue.Job job = BlockEditQueue.get((WorldServer) world).newJob((EntityPlayerMP) caster);
+				try {
+					for (BlockPos pos : blocks) {
+						if (!spellRing.taxCaster(world, spell, 1 / area, false)) return false;
+						if (world.isAirBlock(pos)) continue;
+						if (world.getBlockState(pos).getBlock() == state.getBlock()) continue;
 
-					IBlockState oldState = world.getBlockState(pos);
-					BlockUtils.placeBlock(world, pos, state, (EntityPlayerMP) caster);
-					((EntityPlayer) caster).inventory.addItemStackToInventory(new ItemStack(oldState.getBlock().getItemDropped(oldState, world.rand, 0)));
+						job.place(pos, state, false, oldState -> onSubstituted(world, (EntityPlayer) caster, pos, state, oldState));
+					}
+				} finally {
+					job.submit();
 				}
 			}
 			return true;
@@ -161,6 +154,33 @@ public class ModuleEffectSubstitution implements IModuleEffect, IBlockSelectable
 		return false;
 	}
 
+	@Nullable
+	private static ItemStack findStack(EntityPlayer player, Block block) {
+		for (ItemStack stack : player.inventory.mainInventory) {
+			if (stack.isEmpty()) continue;
+			if (!(stack.getItem() instanceof ItemBlock)) continue;
+			if (((ItemBlock) stack.getItem()).getBlock() != block) continue;
+
+			return stack;
+		}
+		return null;
+	}
+
+	/**
+	 * Uses up an item for a substituted block and hands out the drop of the replaced one.
+	 * If the items ran out while the edit waited, the replaced block is put back.
+	 */
+	private static void onSubstituted(World world, EntityPlayer player, BlockPos pos, IBlockState placed, IBlockState replaced) {
+		ItemStack stack = findStack(player, placed.getBlock());
+		if (stack == null) {
+			world.setBlockState(pos, replaced);
+			return;
+		}
+
+		stack.shrink(1);
+		player.inventory.addItemStackToInventory(new ItemStack(replaced.getBlock().getItemDropped(replaced, world.rand, 0)));
+	}
+
 	@Override
 	@SideOnly(Side.CLIENT)
 	public void renderSpell(World world, ModuleInstanceEffect instance, @Nonnull SpellData spell, @Nonnull SpellRing spellRing) {
@@ -229,6 +229,7 @@ public class ModuleEffectPhase implements IModuleEffect, IDelayedModule {
 
 			nemezDrive.endUpdate();
 			nemezDrive.collapse();
+			WizardryNemezManager.markNemezDriveChanged(world, targetPos);
 
 			//spell.addData(SpellData.DefaultKeys.NEMEZ, nemezDrive.serializeNBT());
 			spell.addData(SpellData.DefaultKeys.BLOCK_SET, new BlockSet(poses));
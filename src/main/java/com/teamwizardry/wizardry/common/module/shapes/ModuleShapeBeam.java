@@ -1,7 +1,8 @@
 package com.teamwizardry.wizardry.common.module.shapes;
 
-import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.spell.ContinuousCastManager;
+import com.teamwizardry.wizardry.api.spell.ContinuousCastSession;
 import com.teamwizardry.wizardry.api.spell.IContinuousModule;
 import com.teamwizardry.wizardry.api.spell.SpellData;
 import com.teamwizardry.wizardry.api.spell.SpellRing;
@@ -22,15 +23,11 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
 
 import static com.teamwizardry.wizardry.api.spell.SpellData.DefaultKeys.LOOK;
 
@@ -38,14 +35,11 @@ import static com.teamwizardry.wizardry.api.spell.SpellData.DefaultKeys.LOOK;
  * Created by Demoniaque.
  */
 @RegisterModule(ID="shape_beam")
-@Mod.EventBusSubscriber(modid = Wizardry.MODID)
 public class ModuleShapeBeam implements IModuleShape, IContinuousModule {
 
 	public static final String BEAM_OFFSET = "beam offset";
 	public static final String BEAM_CAST = "beam cast";
 
-	public static final HashMap<ItemStack, BeamTicker> beamTickMap = new HashMap<>();
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -70,18 +64,6 @@ public class ModuleShapeBeam implements IModuleShape, IContinuousModule {
 		return false;
 	}
 
-	/**
-	 * {@inheritDoc}
-	 */
-	@SubscribeEvent
-	public static void tick(TickEvent.PlayerTickEvent event) {
-		if (event.phase != TickEvent.Phase.END) return;
-		if (event.side == Side.SERVER) return;
-
-		ItemStack stack = event.player.getHeldItemMainhand();
-		beamTickMap.keySet().removeIf(itemStack -> !ItemStack.areItemStacksEqual(itemStack, stack));
-	}
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -91,45 +73,42 @@ public class ModuleShapeBeam implements IModuleShape, IContinuousModule {
 		Vec3d position = spell.getOrigin(world);
 		Entity caster = spell.getCaster(world);
 
-		if (look == null || position == null || caster == null) return false;
-		ItemStack stack = ((EntityLivingBase) caster).getHeldItemMainhand();
-		if (stack.isEmpty()) return true;
-		beamTickMap.putIfAbsent(stack, new BeamTicker());
-
-		BeamTicker ticker = beamTickMap.get(stack);
+		if (look == null || position == null || !(caster instanceof EntityLivingBase)) return false;
+		ContinuousCastSession session = ContinuousCastManager.getSession((EntityLivingBase) caster);
+		if (((EntityLivingBase) caster).getHeldItem(session.getHand()).isEmpty()) return true;
 
 		double range = spellRing.getAttributeValue(world, AttributeRegistry.RANGE, spell);
 		double potency = spellRing.getAttributeValue(world, AttributeRegistry.POTENCY, spell);
 
-		double beamOffset = ticker.ticks + potency;
-		ticker.cast = false;
+		double beamOffset = session.getCharge() + potency;
+		session.setFired(false);
 
 		if (beamOffset >= ConfigValues.beamTimer) {
 			beamOffset %= ConfigValues.beamTimer;
 			if (!spellRing.taxCaster(world, spell, true)) {
-				ticker.ticks = beamOffset;
+				session.setCharge(beamOffset);
 				return false;
 			}
 
 			IShapeOverrides overrides = spellRing.getOverrideHandler().getConsumerInterface(IShapeOverrides.class);
 			overrides.onRunBeam(world, spell, spellRing);
 
-			RayTraceResult trace = new RayTrace(world, look, position, range)
+			RayTraceResult trace = session.trace(look, position, range, () -> new RayTrace(world, look, position, range)
 					.setEntityFilter(input -> input != caster)
 					.setReturnLastUncollidableBlock(true)
 					.setIgnoreBlocksWithoutBoundingBoxes(true)
-					.trace();
+					.trace());
 
 			spell.processTrace(trace, look.scale(range));
 
 			if (spellRing.getChildRing() != null)
 				spellRing.getChildRing().runSpellRing(world, spell, true);
 
-			ticker.cast = true;
+			session.setFired(true);
 			instance.sendRenderPacket(world, spell, spellRing);    // Is already executed via SpellRing.runSpellRing() ???
 		}
 
-		ticker.ticks = beamOffset;
+		session.setCharge(beamOffset);
 		return true;
 	}
 
@@ -194,15 +173,6 @@ public class ModuleShapeBeam implements IModuleShape, IContinuousModule {
 		LibParticles.SHAPE_BEAM(world, target, spell.getOriginHand(world), RandUtil.nextBoolean() ? spellRing.getPrimaryColor() : spellRing.getSecondaryColor());
 	}
 
-	public static class BeamTicker {
-
-		boolean cast = false;
-		double ticks = 0;
-
-		BeamTicker() {
-		}
-	}
-	
 	///////////
 	
 	@ModuleOverride("shape_beam_render")
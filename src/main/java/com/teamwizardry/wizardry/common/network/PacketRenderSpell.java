@@ -2,11 +2,9 @@ package com.teamwizardry.wizardry.common.network;
 
 import com.teamwizardry.librarianlib.core.LibrarianLib;
 import com.teamwizardry.librarianlib.features.network.PacketBase;
-import com.teamwizardry.librarianlib.features.saving.SaveMethodGetter;
-import com.teamwizardry.librarianlib.features.saving.SaveMethodSetter;
-import com.teamwizardry.wizardry.api.spell.SpellData;
-import com.teamwizardry.wizardry.api.spell.SpellRing;
-import net.minecraft.nbt.NBTTagCompound;
+import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.common.core.SpellRenderBatcher;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
@@ -17,45 +15,35 @@ import javax.annotation.Nonnull;
  */
 public class PacketRenderSpell extends PacketBase {
 
-	public NBTTagCompound spellData;
-	public SpellRing spellRing;
+	/**
+	 * All spell render events of one server tick for one player, encoded by {@link SpellRenderBatcher}.
+	 */
+	public byte[] batch;
 
 	public PacketRenderSpell() {
 	}
 
-	public PacketRenderSpell(SpellData spellData, SpellRing spellRing) {
-		this.spellData = spellData.serializeNBT();
-		this.spellRing = spellRing;
+	public PacketRenderSpell(byte[] batch) {
+		this.batch = batch;
 	}
 
-	@SaveMethodGetter(saveName = "module_saver")
-	public NBTTagCompound getter() {
-		NBTTagCompound compound = new NBTTagCompound();
-
-		if (spellData == null || spellRing == null) return compound;
-
-		compound.setTag("spell_data", spellData);
-		compound.setTag("spell_ring", spellRing.serializeNBT());
-		return compound;
+	@Override
+	public void writeCustomBytes(@Nonnull ByteBuf buf) {
+		buf.writeBytes(batch);
 	}
 
-	@SaveMethodSetter(saveName = "module_saver")
-	public void setter(NBTTagCompound compound) {
-		if (compound.hasKey("spell_data")) spellData = compound.getCompoundTag("spell_data");
-		if (compound.hasKey("spell_ring")) spellRing = SpellRing.deserializeRing(compound.getCompoundTag("spell_ring"));
+	@Override
+	public void readCustomBytes(@Nonnull ByteBuf buf) {
+		batch = new byte[buf.readableBytes()];
+		buf.readBytes(batch);
 	}
 
 	@Override
 	public void handle(@Nonnull MessageContext messageContext) {
 		if (messageContext.side.isServer()) return;
 		World world = LibrarianLib.PROXY.getClientPlayer().world;
-		if (world == null || spellRing == null || spellData == null) return;
-
-		SpellData data = new SpellData();
-		data.deserializeNBT(spellData);
+		if (world == null || batch == null) return;
 
-		if (spellRing.getModule() != null) {
-			spellRing.getModule().renderSpell(world, data, spellRing);
-		}
+		Wizardry.PROXY.renderSpellBatch(world, batch);
 	}
 }
@@ -0,0 +1,36 @@
+package com.teamwizardry.wizardry.common.network.capability;
+
+import com.teamwizardry.librarianlib.core.LibrarianLib;
+import com.teamwizardry.librarianlib.features.autoregister.PacketRegister;
+import com.teamwizardry.librarianlib.features.network.PacketBase;
+import com.teamwizardry.librarianlib.features.saving.Save;
+import com.teamwizardry.wizardry.api.block.TemporaryBlocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import org.jetbrains.annotations.NotNull;
+
+@PacketRegister(Side.CLIENT)
+public class PacketSyncTemporaryBlocks extends PacketBase {
+
+	@Save
+	public NBTTagCompound compound;
+
+	public PacketSyncTemporaryBlocks(NBTTagCompound compound) {
+		this.compound = compound;
+	}
+
+	public PacketSyncTemporaryBlocks() {
+	}
+
+	@Override
+	public void handle(@NotNull MessageContext ctx) {
+		if (ctx.side.isServer()) return;
+
+		World world = LibrarianLib.PROXY.getClientPlayer().world;
+		if (world == null) return;
+
+		TemporaryBlocks.apply(world, compound);
+	}
+}
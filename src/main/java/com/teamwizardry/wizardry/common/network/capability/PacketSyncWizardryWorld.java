@@ -4,8 +4,7 @@ import com.teamwizardry.librarianlib.core.LibrarianLib;
 import com.teamwizardry.librarianlib.features.autoregister.PacketRegister;
 import com.teamwizardry.librarianlib.features.network.PacketBase;
 import com.teamwizardry.librarianlib.features.saving.Save;
-import com.teamwizardry.wizardry.api.capability.world.WizardryWorld;
-import com.teamwizardry.wizardry.api.capability.world.WizardryWorldCapability;
+import com.teamwizardry.wizardry.api.capability.world.WizardryWorldSync;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -33,9 +32,6 @@ public class PacketSyncWizardryWorld extends PacketBase {
 		World world = LibrarianLib.PROXY.getClientPlayer().world;
 		if (world == null) return;
 
-		WizardryWorld cap = WizardryWorldCapability.get(world);
-		if (cap != null) {
-			cap.deserializeNBT(compound);
-		}
+		WizardryWorldSync.apply(world, compound);
 	}
 }
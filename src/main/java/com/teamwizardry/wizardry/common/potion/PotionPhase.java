@@ -1,5 +1,6 @@
 package com.teamwizardry.wizardry.common.potion;
 
+import com.teamwizardry.wizardry.api.entity.EntityEffects;
 import com.teamwizardry.wizardry.api.events.EntityMoveEvent;
 import com.teamwizardry.wizardry.api.events.PlayerClipEvent;
 import com.teamwizardry.wizardry.init.ModPotions;
@@ -20,8 +21,7 @@ import net.minecraft.util.ReportedException;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -34,17 +34,17 @@ public class PotionPhase extends PotionBase {
 
 	public PotionPhase() {
 		super("phase", false, 0xDAEFE7);
-		MinecraftForge.EVENT_BUS.register(this);
+		EntityEffects.registerPotion(this, EntityEffects.MOVE | EntityEffects.CLIP);
+		EntityEffects.addClipListener(EventPriority.NORMAL, this::playerClipEvent);
+		EntityEffects.addMoveListener(EventPriority.NORMAL, this::entityMove);
 	}
 
-	@SubscribeEvent
 	public void playerClipEvent(PlayerClipEvent event) {
 		if (event.player.isPotionActive(ModPotions.PHASE)) {
 			event.noClip = true;
 		}
 	}
 
-	@SubscribeEvent
 	public void entityMove(EntityMoveEvent event) {
 		if (!(event.entity instanceof EntityLivingBase)) return;
 		EntityLivingBase base = (EntityLivingBase) event.entity;
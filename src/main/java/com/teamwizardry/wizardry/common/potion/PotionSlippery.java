@@ -1,5 +1,6 @@
 package com.teamwizardry.wizardry.common.potion;
 
+import com.teamwizardry.wizardry.api.entity.EntityEffects;
 import com.teamwizardry.wizardry.api.events.EntityTravelEvent;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.EntityLivingBase;
@@ -10,8 +11,7 @@ import net.minecraft.util.DamageSource;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
 
 /**
  * Created by Demoniaque.
@@ -20,11 +20,10 @@ public class PotionSlippery extends PotionBase {
 
 	public PotionSlippery() {
 		super("slippery", false, 0xABFCF0);
-		MinecraftForge.EVENT_BUS.register(this);
+		EntityEffects.registerPotion(this, EntityEffects.TRAVEL);
+		EntityEffects.addTravelListener(EventPriority.NORMAL, this::entityMove);
 	}
 
-	@SuppressWarnings("unused")
-	@SubscribeEvent
 	public void entityMove(EntityTravelEvent event) {
 		if (!event.entity.isPotionActive(this)) return;
 		event.setCanceled(true); // TODO: 10/6/18 fix your shit demoniaque
@@ -2,6 +2,7 @@ package com.teamwizardry.wizardry.common.potion;
 
 import com.teamwizardry.librarianlib.features.forgeevents.EntityUpdateEvent;
 import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.entity.EntityEffects;
 import com.teamwizardry.wizardry.api.events.EntityMoveEvent;
 import com.teamwizardry.wizardry.api.events.SpellCastEvent;
 import com.teamwizardry.wizardry.api.spell.SpellData;
@@ -42,6 +43,8 @@ public class PotionTimeSlow extends PotionBase {
 
 	public PotionTimeSlow() {
 		super("time_slow", false, 0xE8CA0D);
+		EntityEffects.registerPotion(this, EntityEffects.MOVE);
+		EntityEffects.addMoveListener(EventPriority.HIGHEST, PotionTimeSlow::entityMove);
 	}
 
 	@Override
@@ -102,7 +105,6 @@ public class PotionTimeSlow extends PotionBase {
 		}
 	}
 	
-	@SubscribeEvent(priority = EventPriority.HIGHEST)
 	public static void entityMove(EntityMoveEvent event) {
 		float scale = timeScale(event.entity);
 
@@ -137,7 +137,7 @@ public class TileCraftingPlate extends TileManaNode {
 			//markDirty();
 		}
 
-		if (!((BlockCraftingPlate) getBlockType()).testStructure(getWorld(), getPos()).isEmpty()) return;
+		if (!((BlockCraftingPlate) getBlockType()).getStructureErrors(getWorld(), getPos()).isEmpty()) return;
 
 		if (getStructurePos() != getPos()) {
 			setStructurePos(getPos());
@@ -64,7 +64,7 @@ public class TileManaBattery extends TileManaNode implements IManaGenerator {
 	public void update() {
 		super.update();
 
-		if (getBlockType() == ModBlocks.MANA_BATTERY && !((BlockManaBattery) getBlockType()).testStructure(getWorld(), getPos()).isEmpty())
+		if (getBlockType() == ModBlocks.MANA_BATTERY && !((BlockManaBattery) getBlockType()).getStructureErrors(getWorld(), getPos()).isEmpty())
 			return;
 
 		if (getStructurePos() != getPos()) {
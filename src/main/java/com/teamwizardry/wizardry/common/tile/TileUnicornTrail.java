@@ -2,63 +2,42 @@ package com.teamwizardry.wizardry.common.tile;
 
 import com.teamwizardry.librarianlib.features.autoregister.TileRegister;
 import com.teamwizardry.librarianlib.features.base.block.tile.TileMod;
-import com.teamwizardry.librarianlib.features.math.interpolate.StaticInterp;
-import com.teamwizardry.librarianlib.features.math.interpolate.numeric.InterpFloatInOut;
-import com.teamwizardry.librarianlib.features.particle.ParticleBuilder;
-import com.teamwizardry.librarianlib.features.particle.ParticleSpawner;
 import com.teamwizardry.librarianlib.features.saving.Save;
 import com.teamwizardry.librarianlib.features.utilities.client.ClientRunnable;
 import com.teamwizardry.wizardry.Wizardry;
-import com.teamwizardry.wizardry.api.util.RandUtil;
+import com.teamwizardry.wizardry.api.block.TemporaryBlocks;
 import com.teamwizardry.wizardry.api.util.RandUtilSeed;
-import com.teamwizardry.wizardry.api.util.interp.InterpScale;
-import net.minecraft.util.ITickable;
-import net.minecraft.util.ResourceLocation;
-import net.minecraft.util.math.Vec3d;
+import com.teamwizardry.wizardry.client.core.TemporaryBlockEmitter;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import static com.teamwizardry.wizardry.api.NBTConstants.MISC.SPARKLE_BLURRED;
-
 /**
  * Created by Demoniaque.
+ * <br/>
+ * Only kept so unicorn trails of old saves still load. Trails are {@link TemporaryBlocks temporary blocks} now,
+ * so a loaded trail hands the rest of its lifetime over to them instead of ticking.
  */
 @TileRegister(Wizardry.MODID + ":unicorn_trail")
-public class TileUnicornTrail extends TileMod implements ITickable {
+public class TileUnicornTrail extends TileMod {
 
 	@Save
 	public long savedTime = System.currentTimeMillis();
 
 	@Override
-	public void update() {
-		RandUtilSeed seed = new RandUtilSeed(getPos().toLong());
-		if (System.currentTimeMillis() - savedTime >= seed.nextInt(3000, 5000)) {
-			getWorld().setBlockToAir(getPos());
-		} else {
-			if (RandUtil.nextInt(20) == 0)
-				ClientRunnable.run(new ClientRunnable() {
-					@Override
-					@SideOnly(Side.CLIENT)
-					public void runIfClient() {
-						ParticleBuilder builder = new ParticleBuilder(50);
-						builder.setRender(new ResourceLocation(Wizardry.MODID, SPARKLE_BLURRED));
-						builder.disableMotionCalculation();
-						builder.setAlphaFunction(new InterpFloatInOut(0.3f, 0f));
-						builder.setScaleFunction(new InterpScale(0.3f, 0f));
-						ParticleSpawner.spawn(builder, world, new StaticInterp<>(new Vec3d(getPos()).add(0.5, 0.5, 0.5)), 2, 0, (aFloat, particleBuilder) -> {
-							particleBuilder.setPositionOffset(new Vec3d(
-									RandUtil.nextDouble(-0.5, 0.5),
-									RandUtil.nextDouble(-0.5, 0.5),
-									RandUtil.nextDouble(-0.5, 0.5)
-							));
-							particleBuilder.setMotion(new Vec3d(
-									RandUtil.nextDouble(-0.1, 0.1),
-									RandUtil.nextDouble(-0.1, 0.1),
-									RandUtil.nextDouble(-0.1, 0.1)
-							));
-						});
-					}
-				});
+	public void onLoad() {
+		if (world.isRemote) {
+			ClientRunnable.run(new ClientRunnable() {
+				@Override
+				@SideOnly(Side.CLIENT)
+				public void runIfClient() {
+					TemporaryBlockEmitter.register(world.getBlockState(getPos()).getBlock(), TemporaryBlockEmitter.SPARKLE);
+				}
+			});
+			return;
 		}
+
+		// Trails used to last 3 to 5 seconds from when they were placed
+		long lifetime = new RandUtilSeed(getPos().toLong()).nextInt(3000, 5000) - (System.currentTimeMillis() - savedTime);
+		TemporaryBlocks.register(world, getPos(), (int) Math.max(lifetime / 50, 1));
 	}
 }
@@ -0,0 +1,231 @@
+package com.teamwizardry.wizardry.common.world;
+
+import com.teamwizardry.wizardry.Wizardry;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.IChunkGenerator;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Generates every chunk of a square region ahead of time, a little every tick. <br/>
+ * For {@link IAsyncChunkGenerator}s the terrain is filled in on a worker thread, the server thread only creates,
+ * populates and unloads the finished chunks. Other generators generate on the server thread.
+ * Either way the server thread spends at most {@link #TICK_BUDGET_NANOS} per tick on it.
+ * Progress is reported to whoever started it in chunks per second.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class ChunkPregenerator {
+
+	private static final long TICK_BUDGET_NANOS = 20_000_000L;
+
+	/**
+	 * Chunks created per tick at most, so the provider can unload them as fast as they are made.
+	 */
+	private static final int MAX_CHUNKS_PER_TICK = 64;
+
+	/**
+	 * Chunks handed to the worker thread ahead of the server thread.
+	 */
+	private static final int LOOKAHEAD = 128;
+
+	private static final int REPORT_INTERVAL = 100;
+
+	private static final Map<Integer, ChunkPregenerator> running = new HashMap<>();
+
+	private final WorldServer world;
+	private final ICommandSender sender;
+	private final int minX, minZ, size;
+	private final int total;
+
+	private final IAsyncChunkGenerator asyncGenerator;
+	private final ExecutorService worker;
+	private final BlockingQueue<Long> requested = new LinkedBlockingQueue<>();
+	private final ConcurrentLinkedQueue<GeneratedChunk> generated = new ConcurrentLinkedQueue<>();
+	private volatile boolean cancelled = false;
+
+	private int nextIndex = 0;
+	private int inFlight = 0;
+	private int done = 0;
+	private int created = 0;
+	private final long startTime = System.nanoTime();
+	private long lastReportTime = startTime;
+	private int lastReportDone = 0;
+	private int ticks = 0;
+
+	private ChunkPregenerator(WorldServer world, ICommandSender sender, int centerX, int centerZ, int radius) {
+		this.world = world;
+		this.sender = sender;
+		this.minX = centerX - radius;
+		this.minZ = centerZ - radius;
+		this.size = radius * 2 + 1;
+		this.total = size * size;
+
+		IChunkGenerator generator = world.getChunkProvider().chunkGenerator;
+		if (generator instanceof IAsyncChunkGenerator) {
+			asyncGenerator = (IAsyncChunkGenerator) generator;
+			worker = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Wizardry Pregenerator DIM" + world.provider.getDimension());
+				thread.setDaemon(true);
+				return thread;
+			});
+			worker.execute(this::runWorker);
+		} else {
+			asyncGenerator = null;
+			worker = null;
+		}
+	}
+
+	/**
+	 * Starts generating the chunks within {@code radius} chunks of the given chunk, replacing a run in the same world.
+	 */
+	public static void start(WorldServer world, ICommandSender sender, int centerX, int centerZ, int radius) {
+		stop(world.provider.getDimension());
+		running.put(world.provider.getDimension(), new ChunkPregenerator(world, sender, centerX, centerZ, radius));
+	}
+
+	/**
+	 * @return Whether a run was going on in the dimension.
+	 */
+	public static boolean stop(int dimension) {
+		ChunkPregenerator pregenerator = running.remove(dimension);
+		if (pregenerator == null) return false;
+
+		pregenerator.cancel();
+		return true;
+	}
+
+	private void cancel() {
+		cancelled = true;
+		if (worker != null) worker.shutdownNow();
+	}
+
+	private void runWorker() {
+		try {
+			while (!cancelled) {
+				long pos = requested.take();
+				int x = (int) pos;
+				int z = (int) (pos >>> 32);
+				generated.add(new GeneratedChunk(x, z, asyncGenerator.generatePrimer(x, z)));
+			}
+		} catch (InterruptedException ignored) {
+		} catch (RuntimeException e) {
+			Wizardry.LOGGER.error("Chunk pregeneration of dimension " + world.provider.getDimension() + " failed", e);
+			cancelled = true;
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END || event.world.isRemote) return;
+
+		ChunkPregenerator pregenerator = running.get(event.world.provider.getDimension());
+		if (pregenerator == null || pregenerator.world != event.world) return;
+
+		if (pregenerator.tick()) {
+			running.remove(event.world.provider.getDimension());
+			pregenerator.cancel();
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		ChunkPregenerator pregenerator = running.get(event.getWorld().provider.getDimension());
+		if (pregenerator != null && pregenerator.world == event.getWorld())
+			stop(event.getWorld().provider.getDimension());
+	}
+
+	/**
+	 * @return Whether the run is over.
+	 */
+	private boolean tick() {
+		if (cancelled) {
+			sender.sendMessage(new TextComponentTranslation("wizardry.command.pregen.failed", world.provider.getDimension()));
+			return true;
+		}
+
+		long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+		ChunkProviderServer provider = world.getChunkProvider();
+		int createdThisTick = 0;
+
+		if (asyncGenerator != null) {
+			// Finish what the worker filled in, then hand it more
+			GeneratedChunk chunk;
+			while (createdThisTick < MAX_CHUNKS_PER_TICK && System.nanoTime() < deadline && (chunk = generated.poll()) != null) {
+				inFlight--;
+				done++;
+				if (provider.isChunkGeneratedAt(chunk.x, chunk.z)) continue;
+
+				Chunk newChunk = asyncGenerator.createChunk(chunk.x, chunk.z, chunk.primer);
+				provider.loadedChunks.put(ChunkPos.asLong(chunk.x, chunk.z), newChunk);
+				newChunk.onLoad();
+				newChunk.populate(provider, asyncGenerator);
+				provider.queueUnload(newChunk);
+				createdThisTick++;
+			}
+
+			while (inFlight < LOOKAHEAD && nextIndex < total && System.nanoTime() < deadline) {
+				int x = minX + nextIndex % size;
+				int z = minZ + nextIndex / size;
+				nextIndex++;
+				if (provider.isChunkGeneratedAt(x, z)) {
+					done++;
+					continue;
+				}
+
+				inFlight++;
+				requested.add((long) z << 32 | (x & 0xFFFFFFFFL));
+			}
+		} else {
+			while (createdThisTick < MAX_CHUNKS_PER_TICK && nextIndex < total && System.nanoTime() < deadline) {
+				int x = minX + nextIndex % size;
+				int z = minZ + nextIndex / size;
+				nextIndex++;
+				done++;
+				if (provider.isChunkGeneratedAt(x, z)) continue;
+
+				provider.queueUnload(provider.provideChunk(x, z));
+				createdThisTick++;
+			}
+		}
+		created += createdThisTick;
+
+		boolean finished = done >= total;
+		if (finished) {
+			double seconds = (System.nanoTime() - startTime) / 1.0e9;
+			sender.sendMessage(new TextComponentTranslation("wizardry.command.pregen.finished",
+					world.provider.getDimension(), created, String.format("%.1f", seconds), String.format("%.1f", seconds > 0 ? created / seconds : 0)));
+		} else if (++ticks % REPORT_INTERVAL == 0) {
+			long now = System.nanoTime();
+			double seconds = (now - lastReportTime) / 1.0e9;
+			sender.sendMessage(new TextComponentTranslation("wizardry.command.pregen.progress",
+					world.provider.getDimension(), done, total, String.format("%.1f", seconds > 0 ? (done - lastReportDone) / seconds : 0)));
+			lastReportTime = now;
+			lastReportDone = done;
+		}
+		return finished;
+	}
+
+	private static final class GeneratedChunk {
+		private final int x;
+		private final int z;
+		private final ChunkPrimer primer;
+
+		GeneratedChunk(int x, int z, ChunkPrimer primer) {
+			this.x = x;
+			this.z = z;
+			this.primer = primer;
+		}
+	}
+}
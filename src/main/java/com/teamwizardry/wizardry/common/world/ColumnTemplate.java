@@ -0,0 +1,105 @@
+package com.teamwizardry.wizardry.common.world;
+
+import com.teamwizardry.librarianlib.features.methodhandles.MethodHandleHelper;
+import kotlin.jvm.functions.Function1;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.util.Arrays;
+
+/**
+ * An immutable column of block states which is copied into a {@link ChunkPrimer} by array. <br/>
+ * A primer keeps the 256 blocks of a column next to each other, so a whole column, or a run of it,
+ * is one {@link System#arraycopy} instead of a {@link ChunkPrimer#setBlockState} per block.
+ * Templates only read the primer's array and never touch the world, so filling primers is safe off the server thread.
+ */
+public final class ColumnTemplate {
+
+	private static final Function1<ChunkPrimer, Object> dataGetter = MethodHandleHelper.wrapperForGetter(ChunkPrimer.class, "field_177860_a", "data");
+
+	public static final int HEIGHT = 256;
+
+	private final char[] ids;
+
+	private ColumnTemplate(char[] ids) {
+		this.ids = ids;
+	}
+
+	/**
+	 * @return The id a primer stores for the given state.
+	 */
+	public static char getId(IBlockState state) {
+		return (char) Block.BLOCK_STATE_IDS.get(state);
+	}
+
+	/**
+	 * @return The array backing the primer, indexed by {@code x << 12 | z << 8 | y}.
+	 */
+	public static char[] getData(ChunkPrimer primer) {
+		return (char[]) dataGetter.invoke(primer);
+	}
+
+	public static int getColumnIndex(int x, int z) {
+		return x << 12 | z << 8;
+	}
+
+	/**
+	 * Copies the whole column to the given column of the primer data.
+	 */
+	public void copyTo(char[] data, int x, int z) {
+		System.arraycopy(ids, 0, data, getColumnIndex(x, z), HEIGHT);
+	}
+
+	/**
+	 * Copies the blocks from {@code fromY} to {@code toY}, both inclusive, to the given column of the primer data.
+	 */
+	public void copyTo(char[] data, int x, int z, int fromY, int toY) {
+		fromY = Math.max(fromY, 0);
+		toY = Math.min(toY, HEIGHT - 1);
+		if (toY < fromY) return;
+		System.arraycopy(ids, fromY, data, getColumnIndex(x, z) + fromY, toY - fromY + 1);
+	}
+
+	/**
+	 * Copies the column to every column of the primer data.
+	 */
+	public void fill(char[] data) {
+		for (int x = 0; x < 16; x++)
+			for (int z = 0; z < 16; z++)
+				copyTo(data, x, z);
+	}
+
+	public Builder toBuilder() {
+		return new Builder(ids.clone());
+	}
+
+	public static Builder builder() {
+		return new Builder(new char[HEIGHT]);
+	}
+
+	public static final class Builder {
+		private final char[] ids;
+
+		private Builder(char[] ids) {
+			this.ids = ids;
+		}
+
+		public Builder set(int y, IBlockState state) {
+			ids[y] = getId(state);
+			return this;
+		}
+
+		/**
+		 * Sets the blocks from {@code fromY} to {@code toY}, both inclusive.
+		 */
+		public Builder fill(int fromY, int toY, IBlockState state) {
+			Arrays.fill(ids, fromY, toY + 1, getId(state));
+			return this;
+		}
+
+		public ColumnTemplate build() {
+			return new ColumnTemplate(ids.clone());
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.teamwizardry.wizardry.common.world;
+
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.gen.IChunkGenerator;
+
+/**
+ * A chunk generator whose terrain can be filled in off the server thread. <br/>
+ * {@link #generatePrimer(int, int)} must not touch the world or any shared mutable state,
+ * the chunk itself is then created on the server thread by {@link #createChunk(int, int, ChunkPrimer)}.
+ * {@link IChunkGenerator#generateChunk(int, int)} should be the two of them in a row.
+ *
+ * @see ChunkPregenerator
+ */
+public interface IAsyncChunkGenerator extends IChunkGenerator {
+
+	/**
+	 * Fills in the blocks of a chunk. Can be called from any thread.
+	 */
+	ChunkPrimer generatePrimer(int x, int z);
+
+	/**
+	 * Creates the chunk from a primer of {@link #generatePrimer(int, int)}. Only called on the server thread.
+	 */
+	Chunk createChunk(int x, int z, ChunkPrimer primer);
+}
@@ -2,6 +2,8 @@ package com.teamwizardry.wizardry.common.world.trickery;
 
 import com.teamwizardry.wizardry.api.util.RandUtil;
 import com.teamwizardry.wizardry.common.entity.EntityFairy;
+import com.teamwizardry.wizardry.common.world.ColumnTemplate;
+import com.teamwizardry.wizardry.common.world.IAsyncChunkGenerator;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.init.Blocks;
@@ -10,7 +12,6 @@ import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
-import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraft.world.gen.NoiseGeneratorOctaves;
 import net.minecraft.world.gen.NoiseGeneratorPerlin;
 
@@ -21,7 +22,7 @@ import java.util.*;
 /**
  * Created by Demoniaque44
  */
-public class ChunkGeneratorTorikki implements IChunkGenerator {
+public class ChunkGeneratorTorikki implements IAsyncChunkGenerator {
 	protected static final IBlockState AIR = Blocks.AIR.getDefaultState();
 	protected static final IBlockState DIRT = Blocks.DIRT.getDefaultState();
 	protected static final IBlockState BEDROCK = Blocks.BEDROCK.getDefaultState();
@@ -31,6 +32,24 @@ public class ChunkGeneratorTorikki implements IChunkGenerator {
 	private NoiseGeneratorOctaves lperlinNoise2;
 	private World world;
 	private final Random rand;
+
+	/**
+	 * Bedrock at both ends and dirt up to 64 and from 193.
+	 */
+	private final ColumnTemplate column = ColumnTemplate.builder()
+			.set(1, BEDROCK)
+			.fill(2, 64, DIRT)
+			.fill(193, 254, DIRT)
+			.set(255, BEDROCK)
+			.build();
+
+	/**
+	 * {@link #column} with the dirt of the lower half raised to 127.
+	 */
+	private final ColumnTemplate mirroredColumn = column.toBuilder()
+			.fill(65, 127, DIRT)
+			.build();
+
 	public ChunkGeneratorTorikki(World worldIn) {
 
 		this.world = worldIn;
@@ -70,51 +89,32 @@ public class ChunkGeneratorTorikki implements IChunkGenerator {
 	 */
 	//0-15 for local, 16*chunk + 0-15 for noise
 	private void generate(int chunkX, int chunkZ, ChunkPrimer primer) {
-		//go through x
-		for (int locX = 0; locX < 16; locX++) {
-			//go through y (irrelevant of chunk location)
-			for (int locY = 0; locY < 256; locY++) {
-				//and now for z
-				for (int locZ = 0; locZ < 16; locZ++) {
-					if ((locY <= 64 && locY > 1) || (locY > 192 && locY < 255)) {
-						primer.setBlockState(locX, locY, locZ, DIRT);
-					} else if (locY == 1 || locY == 255) {
-						primer.setBlockState(locX, locY, locZ, BEDROCK);
-					}
-				}
-				//if the noise <1, air, else torikki Grass?
-			}
-		}
-		//mirroring!
-		for (int locX = 0; locX < 16; locX++) {
-			for (int locY = 65; locY < 128; locY++) {
-				for (int locZ = 0; locZ < 16; locZ++) {
-					if(.5 <noise.getValue(chunkZ, chunkX)){
-						primer.setBlockState(locX,locY,locZ,DIRT);
-					}
-				}
-			}
-		}
+		//mirroring! the noise only depends on the chunk, so every column of it is the same
+		ColumnTemplate template = .5 < noise.getValue(chunkZ, chunkX) ? mirroredColumn : column;
+		template.fill(ColumnTemplate.getData(primer));
 	}
-	@Nonnull
+
 	@Override
-	public Chunk generateChunk(int x, int z) {
-		this.rand.setSeed((long)x * 341873128712L + (long)z * 132897987541L);
+	public ChunkPrimer generatePrimer(int x, int z) {
 		ChunkPrimer chunkprimer = new ChunkPrimer();
-
 		generate(x, z, chunkprimer);
+		return chunkprimer;
+	}
 
-		Chunk chunk = new Chunk(world, chunkprimer, x, z);
-
-		byte[] biomeArray = chunk.getBiomeArray();
-		for (int i = 0; i < biomeArray.length; ++i) {
-			biomeArray[i] = (byte) 42;
-		}
-
+	@Override
+	public Chunk createChunk(int x, int z, ChunkPrimer primer) {
+		Chunk chunk = new Chunk(world, primer, x, z);
+		Arrays.fill(chunk.getBiomeArray(), (byte) 42);
 		chunk.generateSkylightMap();
 		return chunk;
 	}
 
+	@Nonnull
+	@Override
+	public Chunk generateChunk(int x, int z) {
+		return createChunk(x, z, generatePrimer(x, z));
+	}
+
 	@Override
 	public void populate(int x, int z) {
 
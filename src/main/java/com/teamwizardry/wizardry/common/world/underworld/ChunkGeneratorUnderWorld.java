@@ -1,7 +1,6 @@
 package com.teamwizardry.wizardry.common.world.underworld;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -10,9 +9,10 @@ import javax.annotation.Nullable;
 import com.teamwizardry.wizardry.api.util.RandUtil;
 import com.teamwizardry.wizardry.api.util.RandUtilSeed;
 import com.teamwizardry.wizardry.common.block.BlockCloud;
+import com.teamwizardry.wizardry.common.world.ColumnTemplate;
+import com.teamwizardry.wizardry.common.world.IAsyncChunkGenerator;
 import com.teamwizardry.wizardry.init.ModBlocks;
 
-import kotlin.Pair;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
@@ -21,13 +21,12 @@ import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
-import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraft.world.gen.NoiseGeneratorPerlin;
 
 /**
  * Created by Demoniaque44
  */
-public class ChunkGeneratorUnderWorld implements IChunkGenerator
+public class ChunkGeneratorUnderWorld implements IAsyncChunkGenerator
 {
 	private static final int UPPER_LEVEL = 102;
 	private static final int LOWER_LEVEL = 105;
@@ -43,6 +42,11 @@ public class ChunkGeneratorUnderWorld implements IChunkGenerator
 
 	private World world;
 
+	private final ColumnTemplate cloudColumn = ColumnTemplate.builder()
+			.fill(0, ColumnTemplate.HEIGHT - 1, ModBlocks.CLOUD.getDefaultState())
+			.build();
+	private final char litCloud = ColumnTemplate.getId(ModBlocks.CLOUD.getDefaultState().withProperty(BlockCloud.HAS_LIGHT_VALUE, true));
+
 	public ChunkGeneratorUnderWorld(World worldIn)
 	{
 		this.world = worldIn;
@@ -58,69 +62,65 @@ public class ChunkGeneratorUnderWorld implements IChunkGenerator
 		lower = new NoiseGeneratorPerlin(rand.random, 4);
 	}
 
-	private List<Pair<BlockPos, BlockPos>> generate(int chunkX, int chunkZ, ChunkPrimer primer)
+	private CloudPrimer generate(int chunkX, int chunkZ)
 	{
-		double[][] upperValues = new double[16][16];
-		double[][] lowerValues = new double[16][16];
+		CloudPrimer primer = new CloudPrimer();
+		char[] data = ColumnTemplate.getData(primer);
 		for (int x = 0; x < 16; x++)
 		{
 			for (int z = 0; z < 16; z++)
 			{
-				upperValues[x][z] = upper.getValue((chunkX * 16 + x) / UPPER_X_SCALE, (chunkZ * 16 + z) / UPPER_Z_SCALE);
-				lowerValues[x][z] = lower.getValue((chunkX * 16 + x) / LOWER_X_SCALE, (chunkZ * 16 + z) / LOWER_Z_SCALE);
+				int minY = (int) (lower.getValue((chunkX * 16 + x) / LOWER_X_SCALE, (chunkZ * 16 + z) / LOWER_Z_SCALE) * LOWER_Y_SCALE + LOWER_LEVEL);
+				int maxY = (int) (upper.getValue((chunkX * 16 + x) / UPPER_X_SCALE, (chunkZ * 16 + z) / UPPER_Z_SCALE) * UPPER_Y_SCALE + UPPER_LEVEL);
+				primer.minY[x << 4 | z] = minY;
+				primer.maxY[x << 4 | z] = maxY;
+				if (minY > maxY || minY < 0 || minY >= ColumnTemplate.HEIGHT) continue;
+
+				// if (y >= minY + 6 && y <= maxY - 6)
+				// primer.setBlockState(x, y, z,
+				// ModFluids.LETHE.getActualBlock().getDefaultState());
+				// else
+				data[ColumnTemplate.getColumnIndex(x, z) | minY] = litCloud;
+				cloudColumn.copyTo(data, x, z, minY + 1, maxY);
 			}
 		}
+		return primer;
+	}
 
-		List<Pair<BlockPos, BlockPos>> litBlocks = new LinkedList<>();
-		for (int x = 0; x < 16; x++)
+	@Override
+	public ChunkPrimer generatePrimer(int x, int z)
+	{
+		return generate(x, z);
+	}
+
+	@Override
+	public Chunk createChunk(int x, int z, ChunkPrimer primer)
+	{
+		Chunk chunk = new Chunk(world, primer, x, z);
+		if (!(primer instanceof CloudPrimer)) return chunk;
+
+		// Light up the bottom of the clouds, the bounds of each column are a "side effect" of
+		// actually generating them
+		CloudPrimer clouds = (CloudPrimer) primer;
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		for (int column = 0; column < 256; column++)
 		{
-			for (int z = 0; z < 16; z++)
+			int minY = clouds.minY[column];
+			int maxY = clouds.maxY[column];
+			for (int i = 0; i < 15 && minY + i <= maxY; i++)
 			{
-				int minY = (int) (lowerValues[x][z] * LOWER_Y_SCALE + LOWER_LEVEL);
-				int maxY = (int) (upperValues[x][z] * UPPER_Y_SCALE + UPPER_LEVEL);
-				litBlocks.add(new Pair<>(new BlockPos(chunkX * 16 + x, minY, chunkZ * 16 + z), new BlockPos(chunkX * 16 + x, maxY, chunkZ * 16 + z)));
-				for (int y = minY; y <= maxY; y++)
-				{
-					if (y == minY)
-						primer.setBlockState(x, y, z, ModBlocks.CLOUD.getDefaultState().withProperty(BlockCloud.HAS_LIGHT_VALUE, true));
-					else
-					{
-						// if (y >= minY + 6 && y <= maxY - 6)
-						// primer.setBlockState(x, y, z,
-						// ModFluids.LETHE.getActualBlock().getDefaultState());
-						// else
-						primer.setBlockState(x, y, z, ModBlocks.CLOUD.getDefaultState());
-					}
-				}
+				pos.setPos(x * 16 + (column >> 4), minY + i, z * 16 + (column & 15));
+				chunk.setLightFor(EnumSkyBlock.BLOCK, pos, 15 - i);
 			}
 		}
-		return litBlocks;
+		return chunk;
 	}
 
 	@Nonnull
 	@Override
 	public Chunk generateChunk(int x, int z)
 	{
-		ChunkPrimer chunkprimer = new ChunkPrimer();
-
-		// Get a list of blocks to check lighting for, as a "side effect" of
-		// actually generating the clouds
-		List<Pair<BlockPos, BlockPos>> litBlocks = generate(x, z, chunkprimer);
-
-		Chunk chunk = new Chunk(world, chunkprimer, x, z);
-
-		litBlocks.forEach(pair ->
-		{
-			BlockPos lower = pair.getFirst();
-			BlockPos upper = pair.getSecond();
-			for (int i = 0; i < 15; i++)
-			{
-				if (lower.getY() + i > upper.getY()) return;
-				chunk.setLightFor(EnumSkyBlock.BLOCK, lower.up(i), 15 - i);
-			}
-		});
-		
-		return chunk;
+		return createChunk(x, z, generatePrimer(x, z));
 	}
 
 	@Override
@@ -167,4 +167,13 @@ public class ChunkGeneratorUnderWorld implements IChunkGenerator
 	{
 		return false;
 	}
+
+	/**
+	 * A primer which remembers the lowest and highest cloud of each column, indexed by {@code x << 4 | z}.
+	 */
+	private static final class CloudPrimer extends ChunkPrimer
+	{
+		private final int[] minY = new int[256];
+		private final int[] maxY = new int[256];
+	}
 }
@@ -3,19 +3,16 @@ package com.teamwizardry.wizardry.crafting.burnable;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
 import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.util.JsonFiles;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
 import net.minecraftforge.common.crafting.CraftingHelper;
 import net.minecraftforge.common.crafting.JsonContext;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 public class FireRecipeLoader {
 	public static final FireRecipeLoader INSTANCE = new FireRecipeLoader();
@@ -32,38 +29,14 @@ public class FireRecipeLoader {
 
 		JsonContext context = new JsonContext("minecraft");
 
-		LinkedList<File> recipeFiles = new LinkedList<>();
-		Stack<File> toProcess = new Stack<>();
-		toProcess.push(directory);
-
-		while (!toProcess.isEmpty()) {
-			File file = toProcess.pop();
-			if (file.isDirectory()) {
-				File[] children = file.listFiles();
-				if (children != null) for (File child : children)
-					toProcess.push(child);
-			} else if (file.isFile())
-				if (file.getName().endsWith(".json"))
-					recipeFiles.add(file);
-		}
+		List<JsonFiles.ParsedFile> recipeFiles = JsonFiles.parseAll(JsonFiles.listJsonFiles(directory));
 
-		for (File file : recipeFiles) {
+		for (JsonFiles.ParsedFile parsed : recipeFiles) {
+			File file = parsed.getFile();
 			try {
-				if (!file.exists()) {
-					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! " + file.getPath() + " can NOT be found. Ignoring file...");
-					continue;
-				}
-
-				JsonElement element;
-				try {
-					element = new JsonParser().parse(new FileReader(file));
-				} catch (FileNotFoundException e) {
-					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! " + file.getPath() + " can NOT be found. Ignoring file...");
-					continue;
-				}
-
+				JsonElement element = parsed.getElement();
 				if (element == null) {
-					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! Could not parse " + file.getPath() + ". Ignoring file...");
+					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! Could not parse " + file.getPath() + ". Ignoring file...", parsed.getError());
 					continue;
 				}
 
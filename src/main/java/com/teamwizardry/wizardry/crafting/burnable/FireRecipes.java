@@ -2,16 +2,14 @@ package com.teamwizardry.wizardry.crafting.burnable;
 
 import com.teamwizardry.librarianlib.core.LibrarianLib;
 import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.common.core.version.manifest.InternalDataFiles;
 import net.minecraft.item.crafting.Ingredient;
-import net.minecraftforge.fml.common.Loader;
-import net.minecraftforge.fml.common.ModContainer;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
-import java.util.Map;
 
 import static com.teamwizardry.wizardry.crafting.mana.ManaRecipes.getResourceListing;
 
@@ -47,26 +45,12 @@ public class FireRecipes {
 		}
 	}
 	
-	public void copyAllRecipes(File directory)
+	/**
+	 * Copies the fire recipes of every mod into the directory, skipping files which are already up to date.
+	 */
+	public void copyAllRecipes(File directory, InternalDataFiles files)
 	{
-		Map<String, ModContainer> modList = Loader.instance().getIndexedModList();
-		for (Map.Entry<String, ModContainer> entry : modList.entrySet() ) {
-			for (String recipeName : getResourceListing(entry.getKey(), "fire_recipes")) {
-				if (recipeName.isEmpty()) continue;
-	
-				InputStream stream = LibrarianLib.PROXY.getResource(entry.getKey(), "fire_recipes/" + recipeName);
-				if (stream == null) {
-					Wizardry.LOGGER.fatal("    > SOMETHING WENT WRONG! Could not read recipe " + recipeName + " from mod jar of '" + entry.getKey() + "'! Report this to the devs on Github!");
-					continue;
-				}
-				
-				try {
-					FileUtils.copyInputStreamToFile(stream, new File(directory, recipeName));
-					Wizardry.LOGGER.info("    > Fire recipe " + recipeName + " copied successfully from mod jar.");
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			}
-		}
+		int copied = files.copyChanged(directory, "fire_recipes");
+		Wizardry.LOGGER.info("    > " + copied + " fire recipes copied from mod jars.");
 	}
 }
@@ -20,6 +20,10 @@ public abstract class FluidCraftInstance {
 		this.fluid = fluid;
 	}
 
+	public String getName() {
+		return name;
+	}
+
 	public Fluid getFluid() {
 		return fluid;
 	}
@@ -0,0 +1,179 @@
+package com.teamwizardry.wizardry.crafting.mana;
+
+import com.google.common.collect.MapMaker;
+import com.teamwizardry.wizardry.Wizardry;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import java.util.*;
+
+/**
+ * Caches the fluid pools searched by fluid recipes, so a pool is only searched again once a block in or around it changed. <br/>
+ * A pool is every block of the fluid connected to the top of the fluid column a position is in,
+ * as far as {@link #MAX_VISITED} blocks are searched. <br/>
+ * <b>NOTE</b>: Block changes made without notifying neighbours don't drop a pool,
+ * so the sources of a cached pool are checked again whenever it is looked up.
+ */
+@Mod.EventBusSubscriber(modid = Wizardry.MODID)
+public final class FluidPoolCache {
+
+	private static final int MAX_VISITED = 1000;
+
+	/**
+	 * Pools in unloaded chunks are only dropped by a change next to them, so the cache starts over past this many pools.
+	 */
+	private static final int MAX_POOLS = 256;
+
+	private static final Map<World, FluidPoolCache> caches = new MapMaker().weakKeys().makeMap();
+
+	/**
+	 * Every pool by each position searched for it, including the blocks around the fluid.
+	 */
+	private final HashMap<BlockPos, List<Pool>> poolsByPos = new HashMap<>();
+	private int poolCount = 0;
+
+	private FluidPoolCache() {
+	}
+
+	public static Pool getPool(World world, BlockPos pos, Block block) {
+		if (world.getBlockState(pos).getBlock() != block)
+			return Pool.EMPTY;
+
+		FluidPoolCache cache = caches.computeIfAbsent(world, key -> new FluidPoolCache());
+		List<Pool> pools = cache.poolsByPos.get(pos);
+		if (pools != null)
+			for (Pool pool : pools) {
+				if (pool.block != block || !pool.contains(pos)) continue;
+				if (pool.hasSources(world)) return pool;
+
+				cache.remove(pool);
+				break;
+			}
+
+		Pool pool = Pool.search(world, pos, block);
+		cache.add(pool);
+		return pool;
+	}
+
+	@SubscribeEvent
+	public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+		FluidPoolCache cache = caches.get(event.getWorld());
+		if (cache == null) return;
+
+		List<Pool> pools = cache.poolsByPos.get(event.getPos());
+		if (pools == null) return;
+
+		for (Pool pool : pools.toArray(new Pool[0]))
+			cache.remove(pool);
+	}
+
+	private void add(Pool pool) {
+		if (poolCount >= MAX_POOLS) {
+			poolsByPos.clear();
+			poolCount = 0;
+		}
+
+		for (BlockPos pos : pool.visited)
+			poolsByPos.computeIfAbsent(pos, key -> new ArrayList<>(1)).add(pool);
+		poolCount++;
+	}
+
+	private void remove(Pool pool) {
+		for (BlockPos pos : pool.visited) {
+			List<Pool> pools = poolsByPos.get(pos);
+			if (pools == null) continue;
+			pools.remove(pool);
+			if (pools.isEmpty()) poolsByPos.remove(pos);
+		}
+		poolCount--;
+	}
+
+	public static final class Pool {
+
+		private static final Pool EMPTY = new Pool(null);
+
+		private final Block block;
+		private final Set<BlockPos> fluid = new HashSet<>();
+		private final Set<BlockPos> visited = new HashSet<>();
+
+		/**
+		 * Source blocks, nearest to the top of the pool first.
+		 */
+		private final List<BlockPos> sources = new ArrayList<>();
+
+		private Pool(Block block) {
+			this.block = block;
+		}
+
+		private static Pool search(World world, BlockPos pos, Block block) {
+			Pool pool = new Pool(block);
+			IBlockState sourceBlock = block.getDefaultState();
+
+			BlockPos.MutableBlockPos topPos = new BlockPos.MutableBlockPos(pos);
+			IBlockState stateAt = world.getBlockState(topPos);
+			boolean lastWasFluid = false;
+			while (stateAt.getBlock() == block) {
+				pool.fluid.add(topPos.toImmutable());
+				lastWasFluid = stateAt == sourceBlock;
+				stateAt = world.getBlockState(topPos.move(EnumFacing.UP));
+			}
+			pool.visited.add(topPos.toImmutable());
+			BlockPos top = topPos.move(EnumFacing.DOWN).toImmutable();
+
+			Deque<BlockPos> positions = new ArrayDeque<>();
+			positions.add(top);
+			pool.visited.add(top);
+			if (lastWasFluid)
+				pool.sources.add(top);
+
+			while (!positions.isEmpty() && pool.visited.size() < MAX_VISITED) {
+				BlockPos point = positions.poll();
+				for (EnumFacing facing : EnumFacing.VALUES) {
+					BlockPos neighbour = point.offset(facing);
+					if (!pool.visited.add(neighbour)) continue;
+
+					stateAt = world.getBlockState(neighbour);
+					if (stateAt.getBlock() == block) {
+						pool.fluid.add(neighbour);
+						positions.add(neighbour);
+						if (stateAt == sourceBlock)
+							pool.sources.add(neighbour);
+					}
+				}
+			}
+			return pool;
+		}
+
+		public boolean contains(BlockPos pos) {
+			return fluid.contains(pos);
+		}
+
+		/**
+		 * @return whether all source blocks found by the search still are.
+		 */
+		private boolean hasSources(World world) {
+			IBlockState sourceBlock = block.getDefaultState();
+			for (BlockPos source : sources)
+				if (world.getBlockState(source) != sourceBlock)
+					return false;
+			return true;
+		}
+
+		public int getSourceCount() {
+			return sources.size();
+		}
+
+		/**
+		 * @return up to {@code needed} source blocks of the pool, nearest to its top first.
+		 */
+		public List<BlockPos> getSources(int needed) {
+			return Collections.unmodifiableList(sources.subList(0, Math.min(Math.max(needed, 0), sources.size())));
+		}
+	}
+}
@@ -6,11 +6,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.teamwizardry.librarianlib.features.network.PacketHandler;
 import com.teamwizardry.wizardry.api.util.PosUtils;
 import com.teamwizardry.wizardry.api.util.RandUtil;
@@ -25,7 +23,6 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
@@ -37,58 +34,13 @@ import net.minecraftforge.fml.common.network.NetworkRegistry;
 
 public class FluidRecipeBuilder
 {
-    private static Set<BlockPos> allLiquidInPool(World world, BlockPos pos, int needed, Fluid fluid) {
-        if (needed <= 0) return Sets.newHashSet();
+    private static List<BlockPos> allLiquidInPool(World world, BlockPos pos, int needed, Fluid fluid) {
+        if (needed <= 0) return Collections.emptyList();
 
         Block block = fluid.getBlock();
-        if (block == null) return Sets.newHashSet();
+        if (block == null) return Collections.emptyList();
 
-        IBlockState sourceBlock = block.getDefaultState();
-
-        BlockPos.MutableBlockPos topPos = new BlockPos.MutableBlockPos(pos);
-        IBlockState stateAt = world.getBlockState(topPos);
-        boolean lastWasFluid = false;
-        while (stateAt.getBlock() == block) {
-            lastWasFluid = stateAt == sourceBlock;
-            stateAt = world.getBlockState(topPos.setPos(topPos.getX(), topPos.getY() + 1, topPos.getZ()));
-        }
-        topPos.setPos(topPos.getX(), topPos.getY() - 1, topPos.getZ());
-
-        BlockPos.MutableBlockPos tool = new BlockPos.MutableBlockPos();
-        Set<BlockPos> positions = Sets.newHashSet(topPos.toImmutable());
-
-        Set<BlockPos> visited = Sets.newHashSet(positions);
-        Set<BlockPos> resultants = Sets.newHashSet();
-        if (lastWasFluid)
-            resultants.addAll(positions);
-
-        while (resultants.size() < needed && !positions.isEmpty() && visited.size() < 1000) {
-            BlockPos point = positions.iterator().next();
-            positions.remove(point);
-            for (int index = EnumFacing.VALUES.length - 1; index >= 0; index--) {
-                EnumFacing facing = EnumFacing.byIndex(index);
-                tool.setPos(point.getX() + facing.getXOffset(),
-                        point.getY() + facing.getYOffset(),
-                        point.getZ() + facing.getZOffset());
-
-                if (!visited.contains(tool)) {
-                    BlockPos immutable = tool.toImmutable();
-                    visited.add(immutable);
-                    stateAt = world.getBlockState(tool);
-                    if (stateAt.getBlock() == block) {
-                        positions.add(immutable);
-                        if (stateAt == sourceBlock) {
-                            resultants.add(immutable);
-
-                            if (resultants.size() >= needed)
-                                return resultants;
-                        }
-                    }
-                }
-            }
-        }
-
-        return resultants;
+        return FluidPoolCache.getPool(world, pos, block).getSources(needed);
     }
     
     public static FluidCrafter buildFluidCrafter(String identifier, ItemStack outputItem, Ingredient input, List<Ingredient> extraInputs, Fluid fluid, int duration, int required, boolean consume, boolean explode, boolean bubbling, boolean harp, boolean instant) {
@@ -372,6 +324,10 @@ public class FluidRecipeBuilder
             return this;
         }
 
+        public String getIdentifier() {
+            return identifier;
+        }
+
         public Fluid getFluid() {
             return fluid;
         }
@@ -1,19 +1,16 @@
 package com.teamwizardry.wizardry.crafting.mana;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 import com.google.common.collect.Multimap;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.util.JsonFiles;
 import com.teamwizardry.wizardry.common.block.fluid.ModFluids;
 import com.teamwizardry.wizardry.crafting.mana.FluidRecipeBuilder.FluidCrafter;
 
@@ -44,39 +41,15 @@ public class FluidRecipeLoader {
 
 		JsonContext context = new JsonContext("minecraft");
 
-		LinkedList<File> recipeFiles = new LinkedList<>();
-		Stack<File> toProcess = new Stack<>();
-		toProcess.push(directory);
-
-		while (!toProcess.isEmpty()) {
-			File file = toProcess.pop();
-			if (file.isDirectory()) {
-				File[] children = file.listFiles();
-				if (children != null) for (File child : children)
-					toProcess.push(child);
-			} else if (file.isFile())
-				if (file.getName().endsWith(".json"))
-					recipeFiles.add(file);
-		}
+		List<JsonFiles.ParsedFile> recipeFiles = JsonFiles.parseAll(JsonFiles.listJsonFiles(directory));
 
 		fileLoop:
-		for (File file : recipeFiles) {
+		for (JsonFiles.ParsedFile parsed : recipeFiles) {
+			File file = parsed.getFile();
 			try {
-				if (!file.exists()) {
-					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! " + file.getPath() + " can NOT be found. Ignoring file...");
-					continue;
-				}
-
-				JsonElement element;
-				try {
-					element = new JsonParser().parse(new FileReader(file));
-				} catch (FileNotFoundException e) {
-					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! " + file.getPath() + " can NOT be found. Ignoring file...");
-					continue;
-				}
-
+				JsonElement element = parsed.getElement();
 				if (element == null) {
-					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! Could not parse " + file.getPath() + ". Ignoring file...");
+					Wizardry.LOGGER.error("  > SOMETHING WENT WRONG! Could not parse " + file.getPath() + ". Ignoring file...", parsed.getError());
 					continue;
 				}
 
@@ -7,24 +7,25 @@ import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.item.IPotionEffectExplodable;
 import com.teamwizardry.wizardry.api.util.RandUtil;
 import com.teamwizardry.wizardry.common.block.fluid.ModFluids;
+import com.teamwizardry.wizardry.common.core.version.manifest.InternalDataFiles;
 import com.teamwizardry.wizardry.init.ModSounds;
 import net.minecraft.block.Block;
 import net.minecraft.entity.item.EntityItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.crafting.CraftingHelper;
 import net.minecraftforge.fml.common.Loader;
-import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.oredict.OreDictionary;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public class ManaRecipes {
 	public static final ManaRecipes INSTANCE = new ManaRecipes();
@@ -32,11 +33,72 @@ public class ManaRecipes {
 	public static final HashMap<String, FluidRecipeBuilder.FluidCrafter> RECIPE_REGISTRY = new HashMap<>();
 	public static final HashMultimap<Ingredient, FluidRecipeBuilder.FluidCrafter> RECIPES = HashMultimap.create();
 
+	/**
+	 * {@link #RECIPES} by the item and metadata of the stacks their input matches. Rebuilt by {@link #indexRecipes()}.
+	 */
+	private static final HashMap<Integer, List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>>> RECIPES_BY_STACK = new HashMap<>();
+	private static final HashMap<Item, List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>>> RECIPES_BY_ITEM = new HashMap<>();
+
+	/**
+	 * Recipes whose input doesn't list its matching stacks, which are checked for every item.
+	 */
+	private static final List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>> UNINDEXED_RECIPES = new ArrayList<>();
+
 	public static final String EXPLODABLE = "explodable";
 
 	public void loadRecipes(File directory) {
 		FluidRecipeLoader.INSTANCE.setDirectory(directory);
 		FluidRecipeLoader.INSTANCE.processRecipes(RECIPE_REGISTRY, RECIPES);
+		indexRecipes();
+	}
+
+	/**
+	 * Rebuilds the lookup used by {@link #getRecipes(ItemStack)}. Call after changing {@link #RECIPES}.
+	 */
+	public static void indexRecipes() {
+		RECIPES_BY_STACK.clear();
+		RECIPES_BY_ITEM.clear();
+		UNINDEXED_RECIPES.clear();
+
+		for (Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter> entry : RECIPES.entries()) {
+			ItemStack[] stacks = entry.getKey().getMatchingStacks();
+			if (stacks.length == 0) {
+				UNINDEXED_RECIPES.add(entry);
+				continue;
+			}
+
+			for (ItemStack stack : stacks) {
+				List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>> entries = stack.getMetadata() == OreDictionary.WILDCARD_VALUE
+						? RECIPES_BY_ITEM.computeIfAbsent(stack.getItem(), item -> new ArrayList<>())
+						: RECIPES_BY_STACK.computeIfAbsent(getStackKey(stack.getItem(), stack.getMetadata()), key -> new ArrayList<>());
+				if (!entries.contains(entry))
+					entries.add(entry);
+			}
+		}
+	}
+
+	/**
+	 * @return every recipe whose input matches the given stack.
+	 */
+	public static List<FluidRecipeBuilder.FluidCrafter> getRecipes(ItemStack stack) {
+		if (stack.isEmpty()) return Collections.emptyList();
+
+		List<FluidRecipeBuilder.FluidCrafter> recipes = new ArrayList<>();
+		addMatching(recipes, RECIPES_BY_STACK.get(getStackKey(stack.getItem(), stack.getMetadata())), stack);
+		addMatching(recipes, RECIPES_BY_ITEM.get(stack.getItem()), stack);
+		addMatching(recipes, UNINDEXED_RECIPES, stack);
+		return recipes;
+	}
+
+	private static void addMatching(List<FluidRecipeBuilder.FluidCrafter> recipes, List<Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter>> entries, ItemStack stack) {
+		if (entries == null) return;
+		for (Map.Entry<Ingredient, FluidRecipeBuilder.FluidCrafter> entry : entries)
+			if (!recipes.contains(entry.getValue()) && entry.getKey().apply(stack))
+				recipes.add(entry.getValue());
+	}
+
+	private static int getStackKey(Item item, int meta) {
+		return Item.getIdFromItem(item) << 16 | (meta & 0xFFFF);
 	}
 
 	public static String[] getResourceListing(String mod, String path) {
@@ -70,26 +132,12 @@ public class ManaRecipes {
 
 	}
 	
-	public void copyAllRecipes(File directory) {
-		Map<String, ModContainer> modList = Loader.instance().getIndexedModList();
-		for (Map.Entry<String, ModContainer> entry : modList.entrySet() ) {
-			for (String recipeName : getResourceListing(entry.getKey(), "fluid_recipes")) {
-				if (recipeName.isEmpty()) continue;
-	
-				InputStream stream = LibrarianLib.PROXY.getResource(entry.getKey(), "fluid_recipes/" + recipeName);
-				if (stream == null) {
-					Wizardry.LOGGER.fatal("    > SOMETHING WENT WRONG! Could not read recipe " + recipeName + " from mod jar of '" + entry.getKey() + "'! Report this to the devs on Github!");
-					continue;
-				}
-	
-				try {
-					FileUtils.copyInputStreamToFile(stream, new File(directory, recipeName));
-					Wizardry.LOGGER.info("    > Mana recipe " + recipeName + " copied successfully from mod jar.");
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			}
-		}
+	/**
+	 * Copies the fluid recipes of every mod into the directory, skipping files which are already up to date.
+	 */
+	public void copyAllRecipes(File directory, InternalDataFiles files) {
+		int copied = files.copyChanged(directory, "fluid_recipes");
+		Wizardry.LOGGER.info("    > " + copied + " mana recipes copied from mod jars.");
 	}
 
 	public static class ExplodableCrafter extends FluidCraftInstance {
@@ -1,6 +1,10 @@
 package com.teamwizardry.wizardry.init;
 
 import com.teamwizardry.wizardry.Wizardry;
+import com.teamwizardry.wizardry.api.capability.player.equipment.DefaultEquipmentCapability;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentCapabilityProvider;
+import com.teamwizardry.wizardry.api.capability.player.equipment.EquipmentCapabilityStorage;
+import com.teamwizardry.wizardry.api.capability.player.equipment.IEquipmentCapability;
 import com.teamwizardry.wizardry.api.capability.player.mana.DefaultManaCapability;
 import com.teamwizardry.wizardry.api.capability.player.mana.IManaCapability;
 import com.teamwizardry.wizardry.api.capability.player.mana.ManaCapabilityProvider;
@@ -27,6 +31,7 @@ public class ModCapabilities {
 	public static void preInit() {
 		CapabilityManager.INSTANCE.register(IManaCapability.class, new ManaCapabilityStorage(), DefaultManaCapability::new);
 		CapabilityManager.INSTANCE.register(IMiscCapability.class, new MiscCapabilityStorage(), DefaultMiscCapability::new);
+		CapabilityManager.INSTANCE.register(IEquipmentCapability.class, new EquipmentCapabilityStorage(), DefaultEquipmentCapability::new);
 	}
 
 	@SubscribeEvent
@@ -37,6 +42,9 @@ public class ModCapabilities {
 
 			MiscCapabilityProvider miscCap = new MiscCapabilityProvider(new DefaultMiscCapability());
 			e.addCapability(new ResourceLocation(Wizardry.MODID, "capability_misc"), miscCap);
+
+			EquipmentCapabilityProvider equipmentCap = new EquipmentCapabilityProvider(new DefaultEquipmentCapability());
+			e.addCapability(new ResourceLocation(Wizardry.MODID, "capability_equipment"), equipmentCap);
 		}
 	}
 
@@ -4,6 +4,8 @@ import com.teamwizardry.librarianlib.features.methodhandles.MethodHandleHelper;
 import com.teamwizardry.librarianlib.features.utilities.client.CustomBlockMapSprites;
 import com.teamwizardry.wizardry.Wizardry;
 import com.teamwizardry.wizardry.api.ConfigValues;
+import com.teamwizardry.wizardry.api.spell.module.ModuleRegistry;
+import com.teamwizardry.wizardry.client.core.SpellRenderDictionary;
 import com.teamwizardry.wizardry.client.cosmetics.CapeHandler;
 import com.teamwizardry.wizardry.client.render.item.RenderHaloEntity;
 import com.teamwizardry.wizardry.common.core.version.VersionChecker;
@@ -22,11 +24,13 @@ import net.minecraft.client.renderer.block.model.ModelResourceLocation;
 import net.minecraft.client.renderer.entity.Render;
 import net.minecraft.client.renderer.entity.RenderLiving;
 import net.minecraft.client.renderer.entity.RenderPlayer;
+import net.minecraft.client.resources.IReloadableResourceManager;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
 import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
@@ -76,6 +80,9 @@ public class ClientProxy extends CommonProxy {
 
 		MinecraftForge.EVENT_BUS.register(CapeHandler.instance());
 
+		// Module lists are sorted by translated name
+		((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(resourceManager -> ModuleRegistry.INSTANCE.sortModules());
+
 		Map<String, RenderPlayer> skinMap = Minecraft.getMinecraft().getRenderManager().getSkinMap();
 		for (RenderPlayer render : skinMap.values()) {
 			//	render.addLayer(new BloodRenderLayer(render));
@@ -102,4 +109,9 @@ public class ClientProxy extends CommonProxy {
 			itemStackMainHandHandler.invoke(Minecraft.getMinecraft().getItemRenderer(), stack);
 		else itemStackOffHandHandler.invoke(Minecraft.getMinecraft().getItemRenderer(), stack);
 	}
+
+	@Override
+	public void renderSpellBatch(World world, byte[] batch) {
+		SpellRenderDictionary.renderBatch(world, batch);
+	}
 }
@@ -17,6 +17,8 @@ import com.teamwizardry.wizardry.client.gui.GuiHandler;
 import com.teamwizardry.wizardry.client.gui.book.PageWizardryStructure;
 import com.teamwizardry.wizardry.common.advancement.AchievementEvents;
 import com.teamwizardry.wizardry.common.core.EventHandler;
+import com.teamwizardry.wizardry.common.core.SpellRenderBatcher;
+import com.teamwizardry.wizardry.common.core.version.manifest.InternalDataFiles;
 import com.teamwizardry.wizardry.common.core.version.manifest.ManifestHandler;
 import com.teamwizardry.wizardry.common.core.version.manifest.ManifestUpgrader;
 import com.teamwizardry.wizardry.common.item.ItemBook;
@@ -32,6 +34,7 @@ import com.teamwizardry.wizardry.init.plugin.PluginLoaderContext;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumHand;
 import net.minecraft.world.DimensionType;
+import net.minecraft.world.World;
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
@@ -56,6 +59,12 @@ public class CommonProxy {
 	public void setItemStackHandHandler(EnumHand hand, ItemStack stack) {
 	}
 
+	/**
+	 * Renders the spell render events of a {@link PacketRenderSpell}. Does nothing but on the client.
+	 */
+	public void renderSpellBatch(World world, byte[] batch) {
+	}
+
 	public void preInit(FMLPreInitializationEvent event) {
 		directory = new File(event.getModConfigurationDirectory(), Wizardry.MODID);
 		if (!directory.exists()) if (!directory.mkdirs())
@@ -67,9 +76,14 @@ public class CommonProxy {
 		maniUpgrader.changeCategoryName("modules", "wizmodules");
 		maniUpgrader.finalizeUpgrade();
 
+		long start = System.nanoTime();
 		ManifestHandler.INSTANCE.loadNewInternalManifest("wizmodules", "fluid_recipes", "fire_recipes");
+		logPhase("Scanning mod jars", start);
+
+		start = System.nanoTime();
 		ManifestHandler.INSTANCE.loadExternalManifest(directory);
 		ManifestHandler.INSTANCE.processComparisons(directory, "wizmodules", "fluid_recipes", "fire_recipes");
+		logPhase("Updating config files from the manifest", start);
 
 		new ModTab();
 		ModBlocks.init();
@@ -87,6 +101,7 @@ public class CommonProxy {
 //		DimensionManager.registerDimension(ConfigValues.torikkiID, Wizardry.torikki);
 
 		MinecraftForge.EVENT_BUS.register(ArenaManager.INSTANCE);
+		MinecraftForge.EVENT_BUS.register(SpellRenderBatcher.INSTANCE);
 		MinecraftForge.EVENT_BUS.register(new WorldProviderUnderWorld());
 		MinecraftForge.EVENT_BUS.register(new EventHandler());
 		MinecraftForge.EVENT_BUS.register(new AchievementEvents());
@@ -123,6 +138,10 @@ public class CommonProxy {
 	public void init(FMLInitializationEvent event) {
 		ModStructures.init();
 
+		InternalDataFiles internalFiles = ManifestHandler.INSTANCE.getInternalFiles();
+		boolean copyInternal = ConfigValues.useInternalValues && internalFiles != null;
+		long start;
+
 		manaRecipeLoading:
 		{
 			File recipeDirectory = new File(directory, "fluid_recipes");
@@ -132,9 +151,11 @@ public class CommonProxy {
 					break manaRecipeLoading;
 				}
 			}
-			if (ConfigValues.useInternalValues)
-				ManaRecipes.INSTANCE.copyAllRecipes(recipeDirectory);
+			start = System.nanoTime();
+			if (copyInternal)
+				ManaRecipes.INSTANCE.copyAllRecipes(recipeDirectory, internalFiles);
 			ManaRecipes.INSTANCE.loadRecipes(recipeDirectory);
+			logPhase("Loading mana recipes", start);
 		}
 		fireRecipeLoading:
 		{
@@ -145,9 +166,11 @@ public class CommonProxy {
 					break fireRecipeLoading;
 				}
 			}
-			if (ConfigValues.useInternalValues)
-				FireRecipes.INSTANCE.copyAllRecipes(recipeDirectory);
+			start = System.nanoTime();
+			if (copyInternal)
+				FireRecipes.INSTANCE.copyAllRecipes(recipeDirectory, internalFiles);
 			FireRecipes.INSTANCE.loadRecipes(recipeDirectory);
+			logPhase("Loading fire recipes", start);
 		}
 
 		moduleLoading:
@@ -159,16 +182,24 @@ public class CommonProxy {
 					break moduleLoading;
 				}
 
+			start = System.nanoTime();
 			ModuleRegistry.INSTANCE.loadUnprocessedModules();
 			ModuleRegistry.INSTANCE.loadOverrideDefaults();
-			if (ConfigValues.useInternalValues)
-				ModuleRegistry.INSTANCE.copyAllModules(moduleDirectory);
+			if (copyInternal)
+				ModuleRegistry.INSTANCE.copyAllModules(moduleDirectory, internalFiles);
 			ModuleRegistry.INSTANCE.loadModules(moduleDirectory);
+			logPhase("Loading modules", start);
 		}
 
+		ManifestHandler.INSTANCE.releaseInternalFiles();
+
 		ProcessData.INSTANCE.registerAnnotatedDataTypes();
 	}
 
+	private static void logPhase(String phase, long start) {
+		Wizardry.LOGGER.info("    > " + phase + " took " + (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
 	public void postInit(FMLPostInitializationEvent event) {
 	}
 